@@ -0,0 +1,61 @@
+package mst.bench;
+
+import mst.Edge;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded random graphs for the benchmarks: a random spanning path keeps the graph
+ * connected, the remaining edges are uniform random pairs.
+ */
+public final class BenchmarkGraphs {
+
+    public enum WeightDistribution {
+        UNIFORM,            // Uniform doubles in [0, 1000)
+        SMALL_INTEGERS,     // Integers in [1, 10], lots of ties
+        EXPONENTIAL         // Exponential with mean 100, skewed towards light edges
+    }
+
+    private BenchmarkGraphs() {
+    }
+
+    public static List<Edge> randomConnectedEdges(int vertices, int averageDegree,
+                                                  WeightDistribution weights, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long target = Math.max((long) vertices * averageDegree / 2, vertices - 1L);
+        int edgeCount = (int) Math.min(target, (long) vertices * (vertices - 1) / 2);
+        List<Edge> edges = new ArrayList<>(edgeCount);
+
+        int[] order = new int[vertices];
+        for (int i = 0; i < vertices; i++) {
+            int j = random.nextInt(i + 1);
+            order[i] = order[j];
+            order[j] = i;
+        }
+        for (int i = 1; i < vertices; i++) {
+            edges.add(new Edge(order[i - 1], order[i], nextWeight(random, weights)));
+        }
+
+        while (edges.size() < edgeCount) {
+            int u = random.nextInt(vertices);
+            int v = random.nextInt(vertices);
+            if (u != v) {
+                edges.add(new Edge(u, v, nextWeight(random, weights)));
+            }
+        }
+        return edges;
+    }
+
+    private static double nextWeight(SplittableRandom random, WeightDistribution weights) {
+        switch (weights) {
+            case SMALL_INTEGERS:
+                return 1 + random.nextInt(10);
+            case EXPONENTIAL:
+                return -100.0 * Math.log(1.0 - random.nextDouble());
+            default:
+                return random.nextDouble() * 1000.0;
+        }
+    }
+}
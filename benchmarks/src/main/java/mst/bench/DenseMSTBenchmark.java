@@ -0,0 +1,59 @@
+package mst.bench;
+
+import mst.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Complete graphs, where the O(V^2) array-scan Prim competes with the heap and sort engines,
+ * plus the same scan over a weight function with no edge list at all.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class DenseMSTBenchmark {
+
+    @Param({"500", "2000"})
+    public int vertices;
+
+    private Graph graph;
+    private double[][] matrix;
+    private final PrimAlgorithm primDense = new PrimAlgorithm(PrimAlgorithm.Mode.DENSE);
+    private final PrimAlgorithm primIndexed = new PrimAlgorithm(PrimAlgorithm.Mode.INDEXED_HEAP);
+    private final KruskalAlgorithm kruskalRadix = new KruskalAlgorithm(KruskalAlgorithm.Mode.RADIX_SORT);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphGenerator.complete(vertices, 42).toGraph();
+        matrix = new double[vertices][vertices];
+        for (int edge = 0; edge < graph.getEdgeCount(); edge++) {
+            int u = graph.getEdgeSource(edge);
+            int v = graph.getEdgeDestination(edge);
+            matrix[u][v] = matrix[v][u] = graph.getEdgeWeight(edge);
+        }
+    }
+
+    @Benchmark
+    public MSTResult primDense() {
+        return primDense.findMST(graph);
+    }
+
+    @Benchmark
+    public MSTResult primDenseMatrix() {
+        return primDense.findMST(vertices, WeightFunction.ofMatrix(matrix));
+    }
+
+    @Benchmark
+    public MSTResult primIndexedHeap() {
+        return primIndexed.findMST(graph);
+    }
+
+    @Benchmark
+    public MSTResult kruskalRadixSort() {
+        return kruskalRadix.findMST(graph);
+    }
+}
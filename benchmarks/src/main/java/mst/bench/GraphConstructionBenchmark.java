@@ -0,0 +1,68 @@
+package mst.bench;
+
+import mst.Edge;
+import mst.Graph;
+import mst.GraphBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building a Graph (edge arrays and CSR adjacency) from an edge list or from
+ * primitive arrays through a GraphBuilder
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class GraphConstructionBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int vertices;
+
+    @Param({"4", "16"})
+    public int averageDegree;
+
+    private List<Edge> edges;
+    private int[] sources;
+    private int[] destinations;
+    private double[] weights;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        edges = BenchmarkGraphs.randomConnectedEdges(vertices, averageDegree,
+                BenchmarkGraphs.WeightDistribution.UNIFORM, 42);
+        sources = new int[edges.size()];
+        destinations = new int[edges.size()];
+        weights = new double[edges.size()];
+        for (int i = 0; i < edges.size(); i++) {
+            sources[i] = edges.get(i).getSource();
+            destinations[i] = edges.get(i).getDestination();
+            weights[i] = edges.get(i).getWeight();
+        }
+    }
+
+    @Benchmark
+    public Graph fromEdgeList() {
+        return new Graph(vertices, edges);
+    }
+
+    @Benchmark
+    public Graph builderBulk() {
+        GraphBuilder builder = new GraphBuilder(sources.length);
+        builder.addEdges(sources, destinations, weights);
+        return builder.build(vertices);
+    }
+
+    @Benchmark
+    public Graph builderPerEdge() {
+        GraphBuilder builder = new GraphBuilder(sources.length);
+        for (int i = 0; i < sources.length; i++) {
+            builder.addEdge(sources[i], destinations[i], weights[i]);
+        }
+        return builder.build(vertices);
+    }
+}
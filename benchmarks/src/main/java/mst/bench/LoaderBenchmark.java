@@ -0,0 +1,73 @@
+package mst.bench;
+
+import mst.BinaryGraphFormat;
+import mst.Edge;
+import mst.Graph;
+import mst.JsonGraphReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming JSON parse versus memory-mapped binary load of the same graph
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class LoaderBenchmark {
+
+    @Param({"10000", "100000"})
+    public int vertices;
+
+    @Param({"8"})
+    public int averageDegree;
+
+    private byte[] json;
+    private Path binaryFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<Edge> edges = BenchmarkGraphs.randomConnectedEdges(vertices, averageDegree,
+                BenchmarkGraphs.WeightDistribution.UNIFORM, 42);
+        Graph graph = new Graph(vertices, edges);
+
+        StringBuilder sb = new StringBuilder("[{\"vertices\":").append(vertices).append(",\"edges\":[");
+        for (int i = 0; i < edges.size(); i++) {
+            Edge edge = edges.get(i);
+            if (i > 0) sb.append(',');
+            sb.append(String.format(Locale.ROOT, "[%d,%d,%.6f]", edge.getSource(), edge.getDestination(), edge.getWeight()));
+        }
+        sb.append("]}]");
+        json = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+        binaryFile = Files.createTempFile("mst-bench", ".mstg");
+        BinaryGraphFormat.write(graph, binaryFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(binaryFile);
+    }
+
+    @Benchmark
+    public Graph jsonStreaming() {
+        Reader source = new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8);
+        try (JsonGraphReader reader = new JsonGraphReader(new BufferedReader(source))) {
+            return reader.next();
+        }
+    }
+
+    @Benchmark
+    public List<Graph> binaryMapped() throws IOException {
+        return BinaryGraphFormat.load(binaryFile);
+    }
+}
@@ -0,0 +1,71 @@
+package mst.bench;
+
+import mst.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MST engines on the same generated graph, so results are directly comparable.
+ * JIT warm-up happens in the warmup iterations instead of inside the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class MSTBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int vertices;
+
+    @Param({"4", "32"})
+    public int averageDegree;
+
+    @Param({"UNIFORM", "SMALL_INTEGERS"})
+    public BenchmarkGraphs.WeightDistribution weights;
+
+    private Graph graph;
+    private final PrimAlgorithm primLazy = new PrimAlgorithm(PrimAlgorithm.Mode.LAZY_HEAP);
+    private final PrimAlgorithm primIndexed = new PrimAlgorithm(PrimAlgorithm.Mode.INDEXED_HEAP);
+    private final KruskalAlgorithm kruskal = new KruskalAlgorithm(KruskalAlgorithm.Mode.COMPARISON_SORT);
+    private final KruskalAlgorithm kruskalRadix = new KruskalAlgorithm(KruskalAlgorithm.Mode.RADIX_SORT);
+    private final KruskalAlgorithm filterKruskal = new KruskalAlgorithm(KruskalAlgorithm.Mode.FILTER);
+    private final BoruvkaAlgorithm boruvka = new BoruvkaAlgorithm();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = new Graph(vertices, BenchmarkGraphs.randomConnectedEdges(vertices, averageDegree, weights, 42));
+    }
+
+    @Benchmark
+    public MSTResult primLazyHeap() {
+        return primLazy.findMST(graph);
+    }
+
+    @Benchmark
+    public MSTResult primIndexedHeap() {
+        return primIndexed.findMST(graph);
+    }
+
+    @Benchmark
+    public MSTResult kruskalComparisonSort() {
+        return kruskal.findMST(graph);
+    }
+
+    @Benchmark
+    public MSTResult kruskalRadixSort() {
+        return kruskalRadix.findMST(graph);
+    }
+
+    @Benchmark
+    public MSTResult filterKruskal() {
+        return filterKruskal.findMST(graph);
+    }
+
+    @Benchmark
+    public MSTResult boruvkaParallel() {
+        return boruvka.findMST(graph);
+    }
+}
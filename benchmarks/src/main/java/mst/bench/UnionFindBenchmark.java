@@ -0,0 +1,105 @@
+package mst.bench;
+
+import mst.ConcurrentUnionFind;
+import mst.UnionFind;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.*;
+
+/**
+ * The same random workload of alternating unions and connectivity queries on UnionFind in
+ * one thread and on ConcurrentUnionFind split across worker threads. Every invocation
+ * starts from singleton sets, so the score is the time for the whole workload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class UnionFindBenchmark {
+    private static final int OPERATIONS = 4_000_000;
+
+    @Param({"1000000"})
+    public int elements;
+
+    private int[] xs;
+    private int[] ys;
+
+    /**
+     * Worker threads for the concurrent runs; a separate state so the sequential run is not repeated per count
+     */
+    @State(Scope.Benchmark)
+    public static class Workers {
+        @Param({"1", "2", "4", "8"})
+        public int threads;
+
+        private ExecutorService executor;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            executor = Executors.newFixedThreadPool(threads);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            executor.shutdownNow();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        xs = new int[OPERATIONS];
+        ys = new int[OPERATIONS];
+        for (int i = 0; i < OPERATIONS; i++) {
+            xs[i] = random.nextInt(elements);
+            ys[i] = random.nextInt(elements);
+        }
+    }
+
+    @Benchmark
+    public int sequential() {
+        UnionFind uf = new UnionFind(elements);
+        int connected = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            if ((i & 1) == 0) {
+                uf.union(xs[i], ys[i]);
+            } else if (uf.connected(xs[i], ys[i])) {
+                connected++;
+            }
+        }
+        return connected;
+    }
+
+    @Benchmark
+    public int concurrent(Workers workers) throws InterruptedException, ExecutionException {
+        ConcurrentUnionFind uf = new ConcurrentUnionFind(elements);
+        int chunk = (OPERATIONS + workers.threads - 1) / workers.threads;
+        List<Callable<Integer>> tasks = new ArrayList<>(workers.threads);
+        for (int t = 0; t < workers.threads; t++) {
+            int from = t * chunk;
+            int to = Math.min(from + chunk, OPERATIONS);
+            tasks.add(() -> {
+                int connected = 0;
+                for (int i = from; i < to; i++) {
+                    if ((i & 1) == 0) {
+                        uf.union(xs[i], ys[i]);
+                    } else if (uf.connected(xs[i], ys[i])) {
+                        connected++;
+                    }
+                }
+                return connected;
+            });
+        }
+
+        int connected = 0;
+        for (Future<Integer> future : workers.executor.invokeAll(tasks)) {
+            connected += future.get();
+        }
+        return connected;
+    }
+}
@@ -0,0 +1,72 @@
+package mst;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Runs, for each graph, the registered engine the cost model predicts to be fastest
+ * for its vertex and edge counts and the available cores. Engines are created on first
+ * use and reused, so like any engine an instance serves one thread at a time.
+ */
+public class AdaptiveMSTAlgorithm implements MSTAlgorithm {
+    private final MSTAlgorithmRegistry registry;
+    private final MSTCostModel model;
+    private final int cores;
+    private final Map<String, MSTAlgorithm> engines = new HashMap<>();
+    private String lastChoice;
+
+    public AdaptiveMSTAlgorithm() {
+        this(MSTAlgorithmRegistry.defaults(), MSTCostModel.defaults());
+    }
+
+    /**
+     * @param registry engines to choose from; only those the model covers are candidates
+     */
+    public AdaptiveMSTAlgorithm(MSTAlgorithmRegistry registry, MSTCostModel model) {
+        this(registry, model, Runtime.getRuntime().availableProcessors());
+    }
+
+    public AdaptiveMSTAlgorithm(MSTAlgorithmRegistry registry, MSTCostModel model, int cores) {
+        this.registry = registry;
+        this.model = model;
+        this.cores = cores;
+    }
+
+    public MSTCostModel getModel() { return model; }
+
+    /**
+     * Engine used by the last findMST call, null before the first
+     */
+    public String getLastChoice() { return lastChoice; }
+
+    @Override
+    public String getName() {
+        return "auto";
+    }
+
+    /**
+     * The chosen engine's name, so cached results are shared with it and differ between cost models
+     */
+    @Override
+    public String getEngineName(Graph graph) {
+        return choose(graph);
+    }
+
+    /**
+     * Name of the engine findMST would run for the graph
+     */
+    public String choose(Graph graph) {
+        String choice = model.fastest(registry.getNames(), graph.getVertices(), graph.getEdgeCount(), cores);
+        if (choice == null) {
+            throw new IllegalStateException("Cost model covers none of the registered algorithms: "
+                    + String.join(", ", registry.getNames()));
+        }
+        return choice;
+    }
+
+    @Override
+    public MSTResult findMST(Graph graph) {
+        lastChoice = choose(graph);
+        return engines.computeIfAbsent(lastChoice, registry::create).findMST(graph);
+    }
+}
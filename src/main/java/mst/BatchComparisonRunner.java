@@ -0,0 +1,290 @@
+package mst;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs the per-graph comparison jobs of a suite concurrently.
+ * Results come back in input order. Before a graph is handed to a worker, the submitting
+ * thread reserves the job's estimated memory from a shared budget, so a lazily loaded
+ * graph source is also throttled and large graphs cannot pile up and exhaust the heap.
+ * The reservation covers the job's result too, so it is only returned once the consumer
+ * has taken the result, and finished results waiting behind a slow job count as well.
+ */
+public class BatchComparisonRunner {
+
+    public enum ExecutorKind {
+        PLATFORM,   // Fixed pool of platform threads
+        VIRTUAL     // One virtual thread per job (Java 21+), falls back to PLATFORM
+    }
+
+    private static final int KB = 1024;
+
+    private final ExecutorKind executorKind;
+    private final int maxConcurrentJobs;
+    private final long memoryBudgetBytes;
+    private final boolean exclusiveTiming;
+    private final int warmupRuns;
+
+    // Held around each timed findMST call when exclusiveTiming is on
+    private final ReentrantLock timingLock = new ReentrantLock();
+
+    public BatchComparisonRunner(int maxConcurrentJobs) {
+        this(ExecutorKind.PLATFORM, maxConcurrentJobs, Runtime.getRuntime().maxMemory() / 2, false, 0);
+    }
+
+    /**
+     * @param maxConcurrentJobs jobs allowed to run at the same time
+     * @param memoryBudgetBytes estimated bytes all running and queued jobs may use together
+     * @param exclusiveTiming   measure one algorithm run at a time; other jobs keep running
+     *                          their untimed work (warm-up, result building) meanwhile
+     * @param warmupRuns        untimed runs of each algorithm on the graph before measuring
+     */
+    public BatchComparisonRunner(ExecutorKind executorKind, int maxConcurrentJobs, long memoryBudgetBytes,
+                                 boolean exclusiveTiming, int warmupRuns) {
+        if (maxConcurrentJobs < 1) {
+            throw new IllegalArgumentException("maxConcurrentJobs must be at least 1: " + maxConcurrentJobs);
+        }
+        this.executorKind = executorKind;
+        this.maxConcurrentJobs = maxConcurrentJobs;
+        this.memoryBudgetBytes = Math.max(memoryBudgetBytes, KB);
+        this.exclusiveTiming = exclusiveTiming;
+        this.warmupRuns = warmupRuns;
+    }
+
+    /**
+     * Rough peak footprint of one job comparing Prim and comparison-sort Kruskal
+     */
+    public static long estimateJobBytes(Graph graph) {
+        return estimateJobBytes(graph, List.of("prim", "kruskal"));
+    }
+
+    /**
+     * Rough peak footprint of one comparison job: the graph's edge and CSR arrays, the
+     * working memory of the hungriest engine (engines run one after another), and the
+     * tree every engine keeps until the job ends
+     *
+     * @param algorithms names of the compared engines, e.g. from --algorithms
+     */
+    public static long estimateJobBytes(Graph graph, List<String> algorithms) {
+        long vertices = graph.getVertices();
+        long edges = graph.getEdgeCount();
+        long graphBytes = edges * (4 + 4 + 8) + 2 * edges * (4 + 8) + 4 * vertices;
+        long working = 0;
+        for (String algorithm : algorithms) {
+            working = Math.max(working, engineBytes(algorithm, vertices, edges));
+        }
+        long treeBytes = algorithms.size() * vertices * (32 + 8);
+        return graphBytes + working + treeBytes;
+    }
+
+    /**
+     * Working memory of one engine run besides the graph, by registry name.
+     * Unknown engines, and auto, which may pick any of them, get the largest estimate.
+     */
+    private static long engineBytes(String algorithm, long vertices, long edges) {
+        long unionFind = vertices * (4 + 4);
+        long primArrays = vertices * (1 + 8 + 4);
+        switch (algorithm) {
+            case "prim":
+                return primArrays + 2 * edges * 32;     // Queue entries, up to one per relaxation
+            case "prim-dense":
+                return primArrays;
+            case "kruskal":
+                return edges * (32 + 8 + 8);            // Edge objects, the graph's list and the sorted copy
+            case "kruskal-radix":
+                return 2 * edges * (8 + 4) + unionFind; // Keys and order, plus their scratch copies
+            case "kruskal-filter":
+                return edges * (8 + 4) + unionFind;
+            case "kruskal-external":
+                return Math.min(edges, ExternalKruskalAlgorithm.DEFAULT_RUN_EDGES) * 40L + unionFind;
+            case "boruvka":
+                return vertices * (4 * 5) + 2 * edges * 4;
+            default:
+                if (algorithm.startsWith("prim-indexed")) {
+                    return primArrays + vertices * (4 + 4 + 8);
+                }
+                if (algorithm.startsWith("components-")) {
+                    // Component labels and the copied subgraphs, then the inner engine on them
+                    long split = vertices * (4 * 4) + edges * (4 + 4 + 8) + 2 * edges * (4 + 8);
+                    return split + engineBytes(algorithm.substring("components-".length()), vertices, edges);
+                }
+                long largest = 0;
+                for (String known : new String[]{"prim", "kruskal", "kruskal-radix", "kruskal-external", "boruvka"}) {
+                    largest = Math.max(largest, engineBytes(known, vertices, edges));
+                }
+                return largest;
+        }
+    }
+
+    /**
+     * @param algorithms factories of the compared engines, called once per job
+     */
+    public List<MSTComparison.ComparisonResult> run(Iterable<Graph> graphs,
+                                                    List<Supplier<MSTAlgorithm>> algorithms) {
+        return run(graphs, algorithms, null);
+    }
+
+    /**
+     * @param cache results already cached skip warm-up and measurement, new ones are added; may be null
+     */
+    public List<MSTComparison.ComparisonResult> run(Iterable<Graph> graphs,
+                                                    List<Supplier<MSTAlgorithm>> algorithms,
+                                                    MSTResultCache cache) {
+        List<MSTComparison.ComparisonResult> results = new ArrayList<>();
+        run(graphs, algorithms, cache, results::add);
+        return results;
+    }
+
+    /**
+     * Hands each result to the consumer on the calling thread, in input order, as soon as it
+     * and all earlier ones are done, so callers can stream results out without collecting them
+     */
+    public void run(Iterable<Graph> graphs,
+                    List<Supplier<MSTAlgorithm>> algorithms,
+                    MSTResultCache cache,
+                    Consumer<MSTComparison.ComparisonResult> consumer) {
+        List<String> names = new ArrayList<>(algorithms.size());
+        for (Supplier<MSTAlgorithm> factory : algorithms) {
+            names.add(factory.get().getName());
+        }
+        int budgetPermits = (int) Math.min(memoryBudgetBytes / KB, Integer.MAX_VALUE);
+        Semaphore memory = new Semaphore(budgetPermits);
+        Semaphore slots = new Semaphore(maxConcurrentJobs);
+        ExecutorService executor = createExecutor();
+        Deque<PendingJob> pending = new ArrayDeque<>();
+
+        try {
+            int graphId = 0;
+            for (Graph graph : graphs) {
+                int id = ++graphId;
+                // A job bigger than the whole budget still runs, just alone
+                int permits = (int) Math.min(Math.max(estimateJobBytes(graph, names) / KB, 1), budgetPermits);
+                while (!memory.tryAcquire(permits)) {
+                    // Only consumed results give memory back, so wait for the oldest job
+                    deliver(pending.poll(), memory, consumer);
+                }
+                slots.acquireUninterruptibly();
+
+                try {
+                    Future<MSTComparison.ComparisonResult> result = executor.submit(() -> {
+                        try {
+                            return runJob(id, graph, algorithms, cache);
+                        } finally {
+                            slots.release();
+                        }
+                    });
+                    pending.add(new PendingJob(result, permits));
+                } catch (RejectedExecutionException e) {
+                    slots.release();
+                    memory.release(permits);
+                    throw e;
+                }
+
+                while (!pending.isEmpty() && pending.peek().result.isDone()) {
+                    deliver(pending.poll(), memory, consumer);
+                }
+            }
+
+            while (!pending.isEmpty()) {
+                deliver(pending.poll(), memory, consumer);
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Batch comparison interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Batch comparison job failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            for (PendingJob job : pending) {
+                job.result.cancel(true);
+            }
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Hand the job's result to the consumer, waiting for it if needed, then return its memory
+     */
+    private static void deliver(PendingJob job, Semaphore memory, Consumer<MSTComparison.ComparisonResult> consumer)
+            throws InterruptedException, ExecutionException {
+        try {
+            consumer.accept(job.result.get());
+        } finally {
+            memory.release(job.permits);
+        }
+    }
+
+    private static class PendingJob {
+        final Future<MSTComparison.ComparisonResult> result;
+        final int permits;
+
+        PendingJob(Future<MSTComparison.ComparisonResult> result, int permits) {
+            this.result = result;
+            this.permits = permits;
+        }
+    }
+
+    private MSTComparison.ComparisonResult runJob(int graphId, Graph graph,
+                                                  List<Supplier<MSTAlgorithm>> factories, MSTResultCache cache) {
+        int count = factories.size();
+        MSTAlgorithm[] algorithms = new MSTAlgorithm[count];
+        MSTResult[] results = new MSTResult[count];
+        for (int i = 0; i < count; i++) {
+            algorithms[i] = factories.get(i).get();
+            results[i] = cache != null ? cache.get(graph, algorithms[i]) : null;
+        }
+
+        for (int run = 0; run < warmupRuns; run++) {
+            for (int i = 0; i < count; i++) {
+                if (results[i] == null) algorithms[i].findMST(graph);
+            }
+        }
+
+        Map<String, MSTResult> runs = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            MSTAlgorithm algorithm = algorithms[i];
+            if (results[i] == null) {
+                results[i] = timed(() -> algorithm.findMST(graph));
+                if (cache != null) cache.put(graph, algorithm, results[i]);
+            }
+            runs.put(algorithm.getName(), results[i]);
+        }
+
+        return MSTComparison.ComparisonResult.of(graphId, graph, runs);
+    }
+
+    private <T> T timed(Supplier<T> run) {
+        if (!exclusiveTiming) {
+            return run.get();
+        }
+        timingLock.lock();
+        try {
+            return run.get();
+        } finally {
+            timingLock.unlock();
+        }
+    }
+
+    private ExecutorService createExecutor() {
+        if (executorKind == ExecutorKind.VIRTUAL) {
+            try {
+                // Looked up reflectively so the project still builds and runs on Java 11
+                Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (ExecutorService) factory.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                System.err.println("Virtual threads not available on this JVM, using platform threads");
+            }
+        }
+        return Executors.newFixedThreadPool(maxConcurrentJobs);
+    }
+}
@@ -0,0 +1,416 @@
+package mst;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Versioned binary graph file format, so test sets are parsed from JSON once and
+ * afterwards loaded with a handful of memory-mapped bulk reads.
+ *
+ * Layout (little-endian, every section starts on an 8-byte boundary):
+ *   file header   int magic "MSTG", int version, int graphCount, int reserved
+ *   graph header  int vertices, int edgeCount, int flags, int reserved, long nameBytes
+ *   names         int[vertices + 1] offsets into a UTF-8 blob, byte[nameBytes]   (FLAG_NAMES)
+ *   edges         int[edgeCount] sources, int[edgeCount] destinations, double[edgeCount] weights
+ *   adjacency     int[vertices + 1] offsets, int[2 * edgeCount] targets, double[2 * edgeCount] weights (FLAG_CSR)
+ */
+public final class BinaryGraphFormat {
+    public static final int MAGIC = 0x4753544D; // "MSTG" read as a little-endian int
+    public static final int VERSION = 1;
+    public static final int FLAG_NAMES = 1;
+    public static final int FLAG_CSR = 2;
+
+    private static final int FILE_HEADER_BYTES = 16;
+    private static final int GRAPH_HEADER_BYTES = 24;
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private BinaryGraphFormat() {
+    }
+
+    /**
+     * Convert a JSON file from resources (either format) to the binary format, one graph at a time
+     */
+    public static int convertJson(String filename, Path target) throws IOException {
+        try (JsonGraphReader reader = JsonGraphReader.open(filename)) {
+            return write(() -> reader, target);
+        }
+    }
+
+    public static int write(Graph graph, Path target) throws IOException {
+        return write(Collections.singletonList(graph), target);
+    }
+
+    /**
+     * Write graphs to the target file, returns the number of graphs written
+     */
+    public static int write(Iterable<Graph> graphs, Path target) throws IOException {
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            SectionWriter out = new SectionWriter(channel);
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putInt(0); // Graph count, patched below
+            out.putInt(0);
+
+            int graphCount = 0;
+            for (Graph graph : graphs) {
+                writeGraph(out, graph);
+                graphCount++;
+            }
+            out.flush();
+
+            ByteBuffer count = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            count.putInt(graphCount).flip();
+            channel.write(count, 8);
+            return graphCount;
+        }
+    }
+
+    /**
+     * Stream a generated graph straight to a single-graph file without building it in memory.
+     * The three edge arrays are filled side by side through positional writers; no adjacency
+     * is stored, load() builds it.
+     */
+    public static void write(GraphGenerator generator, Path target) throws IOException {
+        int vertices = generator.getVertices();
+        long edgeCount = generator.getEdgeCount();
+        if (edgeCount > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("Too many edges for one graph: " + edgeCount);
+        }
+
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            SectionWriter out = new SectionWriter(channel);
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putInt(1);
+            out.putInt(0);
+            out.putInt(vertices);
+            out.putInt((int) edgeCount);
+            out.putInt(0);
+            out.putInt(0);
+            out.putLong(0);
+            out.flush();
+
+            long sourcesAt = FILE_HEADER_BYTES + GRAPH_HEADER_BYTES;
+            long destinationsAt = aligned(sourcesAt + edgeCount * Integer.BYTES);
+            long weightsAt = aligned(destinationsAt + edgeCount * Integer.BYTES);
+            SectionWriter sources = new SectionWriter(channel, sourcesAt, BUFFER_BYTES / 4);
+            SectionWriter destinations = new SectionWriter(channel, destinationsAt, BUFFER_BYTES / 4);
+            SectionWriter weights = new SectionWriter(channel, weightsAt, BUFFER_BYTES / 2);
+
+            long[] written = {0};
+            generator.generate((source, destination, weight) -> {
+                try {
+                    sources.putInt(source);
+                    destinations.putInt(destination);
+                    weights.putDouble(weight);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                written[0]++;
+            });
+            if (written[0] != edgeCount) {
+                throw new IllegalStateException("Generator produced " + written[0] + " edges, expected " + edgeCount);
+            }
+
+            sources.flush();
+            destinations.flush();
+            weights.flush();
+        }
+    }
+
+    private static void writeGraph(SectionWriter out, Graph graph) throws IOException {
+        int vertices = graph.getVertices();
+        int edgeCount = graph.getEdgeCount();
+        byte[][] names = encodeNames(graph);
+        long nameBytes = 0;
+        if (names != null) {
+            for (byte[] name : names) {
+                nameBytes += name.length;
+            }
+        }
+
+        out.putInt(vertices);
+        out.putInt(edgeCount);
+        out.putInt(FLAG_CSR | (names != null ? FLAG_NAMES : 0));
+        out.putInt(0);
+        out.putLong(nameBytes);
+
+        if (names != null) {
+            int offset = 0;
+            out.putInt(0);
+            for (byte[] name : names) {
+                offset += name.length;
+                out.putInt(offset);
+            }
+            out.align();
+            for (byte[] name : names) {
+                out.putBytes(name);
+            }
+            out.align();
+        }
+
+        for (int i = 0; i < edgeCount; i++) out.putInt(graph.getEdgeSource(i));
+        out.align();
+        for (int i = 0; i < edgeCount; i++) out.putInt(graph.getEdgeDestination(i));
+        out.align();
+        for (int i = 0; i < edgeCount; i++) out.putDouble(graph.getEdgeWeight(i));
+
+        int slots = 2 * edgeCount;
+        for (int v = 0; v < vertices; v++) out.putInt(graph.getNeighborStart(v));
+        out.putInt(slots);
+        out.align();
+        for (int slot = 0; slot < slots; slot++) out.putInt(graph.getNeighbor(slot));
+        out.align();
+        for (int slot = 0; slot < slots; slot++) out.putDouble(graph.getNeighborWeight(slot));
+    }
+
+    /**
+     * Node names in index order, or null when the graph does not name every vertex
+     */
+    private static byte[][] encodeNames(Graph graph) {
+        if (!graph.hasNodeNames()) return null;
+        NodeDictionary nodes = graph.getNodes();
+
+        byte[][] names = new byte[graph.getVertices()][];
+        for (int v = 0; v < names.length; v++) {
+            names[v] = nodes.getName(v).getBytes(StandardCharsets.UTF_8);
+        }
+        return names;
+    }
+
+    /**
+     * Load all graphs from a binary file. Every section is mapped with FileChannel.map and
+     * moved into the graph's primitive arrays with one bulk get; the stored adjacency is
+     * reused as is, so nothing is parsed or sorted.
+     */
+    public static List<Graph> load(Path source) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            ByteBuffer header = map(channel, 0, FILE_HEADER_BYTES);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a binary graph file: " + source);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported binary graph version " + version + " in " + source);
+            }
+            int graphCount = header.getInt();
+
+            List<Graph> graphs = new ArrayList<>(graphCount);
+            long[] position = {FILE_HEADER_BYTES};
+            for (int g = 0; g < graphCount; g++) {
+                graphs.add(readGraph(channel, position));
+            }
+            return graphs;
+        }
+    }
+
+    /**
+     * Push the edges of the file's first graph to the sink in stored order without loading
+     * the graph: the three edge sections are mapped a window at a time. Returns the vertex count.
+     */
+    public static int streamEdges(Path source, EdgeSink sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            ByteBuffer fileHeader = map(channel, 0, FILE_HEADER_BYTES);
+            if (fileHeader.getInt() != MAGIC) {
+                throw new IOException("Not a binary graph file: " + source);
+            }
+            int version = fileHeader.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported binary graph version " + version + " in " + source);
+            }
+            if (fileHeader.getInt() < 1) {
+                throw new IOException("No graph in " + source);
+            }
+
+            ByteBuffer header = map(channel, FILE_HEADER_BYTES, GRAPH_HEADER_BYTES);
+            int vertices = header.getInt();
+            int edgeCount = header.getInt();
+            int flags = header.getInt();
+            header.getInt();
+            long nameBytes = header.getLong();
+
+            long position = FILE_HEADER_BYTES + GRAPH_HEADER_BYTES;
+            if ((flags & FLAG_NAMES) != 0) {
+                position = aligned(position + (long) (vertices + 1) * Integer.BYTES);
+                position = aligned(position + nameBytes);
+            }
+            long sourcesAt = position;
+            long destinationsAt = aligned(sourcesAt + (long) edgeCount * Integer.BYTES);
+            long weightsAt = aligned(destinationsAt + (long) edgeCount * Integer.BYTES);
+
+            int window = BUFFER_BYTES / Double.BYTES;
+            for (int from = 0; from < edgeCount; from += window) {
+                int count = Math.min(window, edgeCount - from);
+                IntBuffer sources = map(channel, sourcesAt + (long) from * Integer.BYTES,
+                        (long) count * Integer.BYTES).asIntBuffer();
+                IntBuffer destinations = map(channel, destinationsAt + (long) from * Integer.BYTES,
+                        (long) count * Integer.BYTES).asIntBuffer();
+                DoubleBuffer weights = map(channel, weightsAt + (long) from * Double.BYTES,
+                        (long) count * Double.BYTES).asDoubleBuffer();
+                for (int i = 0; i < count; i++) {
+                    sink.addEdge(sources.get(i), destinations.get(i), weights.get(i));
+                }
+            }
+            return vertices;
+        }
+    }
+
+    private static Graph readGraph(FileChannel channel, long[] position) throws IOException {
+        ByteBuffer header = map(channel, position[0], GRAPH_HEADER_BYTES);
+        int vertices = header.getInt();
+        int edgeCount = header.getInt();
+        int flags = header.getInt();
+        header.getInt();
+        long nameBytes = header.getLong();
+        position[0] += GRAPH_HEADER_BYTES;
+
+        NodeDictionary nodes = new NodeDictionary((flags & FLAG_NAMES) != 0 ? vertices : 0);
+        if ((flags & FLAG_NAMES) != 0) {
+            int[] offsets = readInts(channel, position, vertices + 1);
+            ByteBuffer blob = map(channel, position[0], nameBytes);
+            position[0] = aligned(position[0] + nameBytes);
+            byte[] bytes = new byte[(int) nameBytes];
+            blob.get(bytes);
+            for (int v = 0; v < vertices; v++) {
+                nodes.add(new String(bytes, offsets[v], offsets[v + 1] - offsets[v], StandardCharsets.UTF_8));
+            }
+        }
+
+        int[] sources = readInts(channel, position, edgeCount);
+        int[] destinations = readInts(channel, position, edgeCount);
+        double[] weights = readDoubles(channel, position, edgeCount);
+
+        if ((flags & FLAG_CSR) == 0) {
+            return new Graph(vertices, sources, destinations, weights, edgeCount, nodes);
+        }
+        int[] neighborOffsets = readInts(channel, position, vertices + 1);
+        int[] neighborTargets = readInts(channel, position, 2 * edgeCount);
+        double[] neighborWeights = readDoubles(channel, position, 2 * edgeCount);
+        return new Graph(vertices, sources, destinations, weights, edgeCount, nodes,
+                neighborOffsets, neighborTargets, neighborWeights);
+    }
+
+    private static int[] readInts(FileChannel channel, long[] position, int count) throws IOException {
+        int[] values = new int[count];
+        long bytes = (long) count * Integer.BYTES;
+        map(channel, position[0], bytes).asIntBuffer().get(values);
+        position[0] = aligned(position[0] + bytes);
+        return values;
+    }
+
+    private static double[] readDoubles(FileChannel channel, long[] position, int count) throws IOException {
+        double[] values = new double[count];
+        long bytes = (long) count * Double.BYTES;
+        map(channel, position[0], bytes).asDoubleBuffer().get(values);
+        position[0] = aligned(position[0] + bytes);
+        return values;
+    }
+
+    private static ByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        if (position + size > channel.size()) {
+            throw new IOException("Truncated binary graph file at offset " + position);
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        return buffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static long aligned(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    /**
+     * Buffered little-endian writer starting at a given file offset. Writes are positional,
+     * so several writers can fill different sections of the same file side by side.
+     */
+    private static class SectionWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private long bufferStart;
+        private long position;
+
+        SectionWriter(FileChannel channel) {
+            this(channel, 0, BUFFER_BYTES);
+        }
+
+        SectionWriter(FileChannel channel, long position, int bufferBytes) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(bufferBytes).order(ByteOrder.LITTLE_ENDIAN);
+            this.bufferStart = position;
+            this.position = position;
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+            position += Integer.BYTES;
+        }
+
+        void putLong(long value) throws IOException {
+            ensure(Long.BYTES);
+            buffer.putLong(value);
+            position += Long.BYTES;
+        }
+
+        void putDouble(double value) throws IOException {
+            ensure(Double.BYTES);
+            buffer.putDouble(value);
+            position += Double.BYTES;
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            for (int offset = 0; offset < bytes.length; ) {
+                ensure(1);
+                int length = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, length);
+                offset += length;
+                position += length;
+            }
+        }
+
+        void align() throws IOException {
+            while ((position & 7) != 0) {
+                ensure(1);
+                buffer.put((byte) 0);
+                position++;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                bufferStart += channel.write(buffer, bufferStart);
+            }
+            buffer.clear();
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+    }
+
+    /**
+     * Usage: BinaryGraphFormat <json resource> <output file>
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BinaryGraphFormat <json resource> <output file>");
+            System.exit(1);
+        }
+        int graphCount = convertJson(args[0], Path.of(args[1]));
+        System.out.printf("Converted %d graphs from %s to %s%n", graphCount, args[0], args[1]);
+    }
+}
@@ -0,0 +1,304 @@
+package mst;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Parallel Boruvka MST on a ForkJoinPool. Each round every component picks its cheapest
+ * outgoing edge in parallel, the picked edges are linked through a concurrent union-find,
+ * and edges that became internal are dropped. Edges are ordered by (weight, edge index),
+ * the same order KruskalAlgorithm sorts by, so both return exactly the same edge set.
+ * Workers count their edges, finds and unions per chunk, so counting adds no shared
+ * writes inside the loops. The pool is created on the first run and reused by later
+ * ones; its daemon workers exit on their own once idle.
+ */
+public class BoruvkaAlgorithm implements MSTAlgorithm {
+    private static final int GRAIN_SIZE = 4096;
+
+    private final int parallelism;
+    private final MSTMetrics metrics;
+    private ForkJoinPool pool;
+    private int rounds;
+
+    public BoruvkaAlgorithm() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public BoruvkaAlgorithm(int parallelism) {
+        this(parallelism, MSTMetrics.NOOP);
+    }
+
+    /**
+     * @param metrics sink every run also publishes its counters and phase times to
+     */
+    public BoruvkaAlgorithm(int parallelism, MSTMetrics metrics) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Run on the caller's pool, e.g. one shared by several engines; the engine never shuts it down
+     */
+    public BoruvkaAlgorithm(ForkJoinPool pool, MSTMetrics metrics) {
+        this(pool.getParallelism(), metrics);
+        this.pool = pool;
+    }
+
+    public int getParallelism() { return parallelism; }
+    public int getRounds() { return rounds; }
+
+    @Override
+    public MSTMetrics getMetrics() { return metrics; }
+
+    @Override
+    public String getName() {
+        return "boruvka";
+    }
+
+    @Override
+    public MSTResult findMST(Graph graph) {
+        rounds = 0;
+        long startTime = System.nanoTime();
+        CountingMetrics run = new CountingMetrics();
+
+        if (pool == null) {
+            pool = new ForkJoinPool(parallelism);
+        }
+        int[] accepted = run(graph, pool, run, startTime);
+        List<Edge> mstEdges = new ArrayList<>(accepted.length);
+        double totalWeight = 0.0;
+        for (int edge : accepted) {
+            double weight = graph.getEdgeWeight(edge);
+            mstEdges.add(new Edge(graph.getEdgeSource(edge), graph.getEdgeDestination(edge), weight));
+            totalWeight += weight;
+        }
+
+        run.add(MSTMetrics.Counter.ROUNDS, rounds);
+        long executionTime = System.nanoTime() - startTime;
+        run.publishTo(metrics);
+        return new MSTResult(mstEdges, totalWeight, executionTime, run);
+    }
+
+    /**
+     * Returns the indices of the accepted edges in (weight, index) order
+     */
+    private int[] run(Graph graph, ForkJoinPool pool, CountingMetrics run, long startTime) {
+        int vertices = graph.getVertices();
+        int[] component = new int[vertices];
+        int[] roots = new int[vertices];
+        for (int v = 0; v < vertices; v++) {
+            component[v] = v;
+            roots[v] = v;
+        }
+        int rootCount = vertices;
+
+        int[] active = new int[graph.getEdgeCount()];
+        for (int e = 0; e < active.length; e++) {
+            active[e] = e;
+        }
+        int activeCount = active.length;
+
+        ConcurrentUnionFind uf = new ConcurrentUnionFind(vertices);
+        AtomicIntegerArray cheapest = new AtomicIntegerArray(vertices);
+        int[] picked = new int[vertices];
+        int[] accepted = new int[Math.max(vertices - 1, 0)];
+        int acceptedCount = 0;
+        LongAdder scanned = new LongAdder();
+        LongAdder finds = new LongAdder();
+        LongAdder unions = new LongAdder();
+        long loopStart = System.nanoTime();
+        run.addPhaseTime(MSTMetrics.Phase.BUILD, loopStart - startTime);
+
+        while (activeCount > 0 && rootCount > 1) {
+            rounds++;
+            final int[] currentRoots = roots;
+            final int[] currentActive = active;
+
+            invoke(pool, 0, rootCount, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    cheapest.set(currentRoots[i], -1);
+                }
+            });
+
+            // Cheapest outgoing edge per component
+            invoke(pool, 0, activeCount, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    int edge = currentActive[i];
+                    int cu = component[graph.getEdgeSource(edge)];
+                    int cv = component[graph.getEdgeDestination(edge)];
+                    if (cu != cv) {
+                        offer(graph, cheapest, cu, edge);
+                        offer(graph, cheapest, cv, edge);
+                    }
+                }
+                scanned.add(to - from);
+            });
+
+            // Link components; an edge picked from both sides is only accepted once
+            invoke(pool, 0, rootCount, (from, to) -> {
+                int attempts = 0;
+                int linkedCount = 0;
+                for (int i = from; i < to; i++) {
+                    int edge = cheapest.get(currentRoots[i]);
+                    boolean linked = false;
+                    if (edge >= 0) {
+                        attempts++;
+                        linked = uf.union(graph.getEdgeSource(edge), graph.getEdgeDestination(edge));
+                    }
+                    if (linked) linkedCount++;
+                    picked[i] = linked ? edge : -1;
+                }
+                // Two finds per union call; finds repeated by a lost CAS race are not counted
+                finds.add(2L * attempts);
+                unions.add(linkedCount);
+            });
+
+            int before = acceptedCount;
+            for (int i = 0; i < rootCount; i++) {
+                if (picked[i] >= 0) {
+                    accepted[acceptedCount++] = picked[i];
+                }
+            }
+            if (acceptedCount == before) break;
+
+            invoke(pool, 0, vertices, (from, to) -> {
+                for (int v = from; v < to; v++) {
+                    component[v] = uf.find(v);
+                }
+                finds.add(to - from);
+            });
+
+            int nextRootCount = 0;
+            for (int i = 0; i < rootCount; i++) {
+                if (component[roots[i]] == roots[i]) {
+                    roots[nextRootCount++] = roots[i];
+                }
+            }
+            rootCount = nextRootCount;
+
+            scanned.add(activeCount);
+            active = compactActive(pool, graph, component, active, activeCount);
+            activeCount = active.length;
+        }
+        long sortStart = System.nanoTime();
+        run.addPhaseTime(MSTMetrics.Phase.MAIN_LOOP, sortStart - loopStart);
+        run.add(MSTMetrics.Counter.EDGES_SCANNED, scanned.sum());
+        run.add(MSTMetrics.Counter.FIND_CALLS, finds.sum());
+        run.add(MSTMetrics.Counter.UNIONS, unions.sum());
+
+        int[] sorted = sortByWeight(graph, Arrays.copyOf(accepted, acceptedCount));
+        run.addPhaseTime(MSTMetrics.Phase.SORT, System.nanoTime() - sortStart);
+        return sorted;
+    }
+
+    /**
+     * Keep only edges between different components, preserving order.
+     * Chunks count their survivors, a prefix sum gives each chunk its output offset.
+     */
+    private static int[] compactActive(ForkJoinPool pool, Graph graph, int[] component, int[] active, int activeCount) {
+        int chunks = (activeCount + GRAIN_SIZE - 1) / GRAIN_SIZE;
+        int[] offsets = new int[chunks + 1];
+
+        invoke(pool, 0, chunks, (from, to) -> {
+            for (int c = from; c < to; c++) {
+                int count = 0;
+                for (int i = c * GRAIN_SIZE, end = Math.min(i + GRAIN_SIZE, activeCount); i < end; i++) {
+                    int edge = active[i];
+                    if (component[graph.getEdgeSource(edge)] != component[graph.getEdgeDestination(edge)]) count++;
+                }
+                offsets[c + 1] = count;
+            }
+        }, 1);
+
+        for (int c = 0; c < chunks; c++) {
+            offsets[c + 1] += offsets[c];
+        }
+
+        int[] next = new int[offsets[chunks]];
+        invoke(pool, 0, chunks, (from, to) -> {
+            for (int c = from; c < to; c++) {
+                int pos = offsets[c];
+                for (int i = c * GRAIN_SIZE, end = Math.min(i + GRAIN_SIZE, activeCount); i < end; i++) {
+                    int edge = active[i];
+                    if (component[graph.getEdgeSource(edge)] != component[graph.getEdgeDestination(edge)]) {
+                        next[pos++] = edge;
+                    }
+                }
+            }
+        }, 1);
+        return next;
+    }
+
+    /**
+     * Replace the component's candidate if the edge comes first in (weight, index) order
+     */
+    private static void offer(Graph graph, AtomicIntegerArray cheapest, int component, int edge) {
+        double weight = graph.getEdgeWeight(edge);
+        while (true) {
+            int current = cheapest.get(component);
+            if (current >= 0) {
+                int cmp = Double.compare(weight, graph.getEdgeWeight(current));
+                if (cmp > 0 || (cmp == 0 && edge >= current)) return;
+            }
+            if (cheapest.compareAndSet(component, current, edge)) return;
+        }
+    }
+
+    private static int[] sortByWeight(Graph graph, int[] edges) {
+        Arrays.sort(edges);
+        long[] keys = new long[edges.length];
+        for (int i = 0; i < edges.length; i++) {
+            keys[i] = RadixSort.sortableBits(graph.getEdgeWeight(edges[i]));
+        }
+        RadixSort.sort(keys, edges, 0, edges.length);
+        return edges;
+    }
+
+    private interface RangeBody {
+        void run(int from, int to);
+    }
+
+    private static void invoke(ForkJoinPool pool, int from, int to, RangeBody body) {
+        invoke(pool, from, to, body, GRAIN_SIZE);
+    }
+
+    private static void invoke(ForkJoinPool pool, int from, int to, RangeBody body, int grainSize) {
+        if (to - from <= grainSize) {
+            body.run(from, to);
+        } else {
+            pool.invoke(new RangeTask(from, to, body, grainSize));
+        }
+    }
+
+    private static class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final RangeBody body;
+        private final int grainSize;
+
+        RangeTask(int from, int to, RangeBody body, int grainSize) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+            this.grainSize = grainSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grainSize) {
+                body.run(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(from, mid, body, grainSize), new RangeTask(mid, to, body, grainSize));
+        }
+    }
+}
@@ -2,13 +2,19 @@ package mst;
 
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 
 public class CSVExporter {
 
     /**
-     * Export comparison results to CSV file
+     * Export comparison results to CSV file. Every compared algorithm gets its own
+     * Weight, TimeMs and Operations columns and per-phase time columns, prefixed
+     * with its display name, e.g. PrimWeight or KruskalRadixTimeMs, followed by a column for
+     * each run counter the algorithm reported in any result, e.g. KruskalExternalBytesWritten.
+     * The graph's analysis columns are left empty for results without one.
      */
     public static void exportToCSV(List<MSTComparison.ComparisonResult> results, String filename) {
         // Ensure output directory exists
@@ -18,46 +24,75 @@ public class CSVExporter {
         }
 
         java.io.File csvFile = new java.io.File(outputDir, filename);
+        List<String> algorithms = algorithmNames(results);
 
         try (FileWriter writer = new FileWriter(csvFile)) {
             // Write CSV header
-            writer.write("GraphID,Vertices,Edges,GraphDensity,PrimWeight,PrimTimeMs,PrimOperations,KruskalWeight,KruskalTimeMs,KruskalOperations,WeightDifference,PrimFaster\n");
+            StringBuilder header = new StringBuilder("GraphID,Vertices,Edges,GraphDensity,"
+                    + "Components,IsolatedVertices,SelfLoops,ParallelEdges,MaxDegree");
+            for (String algorithm : algorithms) {
+                String prefix = MSTAlgorithm.displayName(algorithm);
+                header.append(',').append(prefix).append("Weight")
+                        .append(',').append(prefix).append("TimeMs")
+                        .append(',').append(prefix).append("Operations");
+            }
+            header.append(",WeightDifference,Fastest");
+            for (String algorithm : algorithms) {
+                header.append(phaseColumns(MSTAlgorithm.displayName(algorithm)));
+            }
+            List<List<MSTMetrics.Counter>> counters = new ArrayList<>();
+            for (String algorithm : algorithms) {
+                counters.add(reportedCounters(results, algorithm));
+                for (MSTMetrics.Counter counter : counters.get(counters.size() - 1)) {
+                    header.append(',').append(MSTAlgorithm.displayName(algorithm)).append(capitalize(counter.getLabel()));
+                }
+            }
+            writer.write(header.append('\n').toString());
 
             // Write data rows
             for (MSTComparison.ComparisonResult result : results) {
-                double primTimeMs = result.primTime / 1_000_000.0;
-                double kruskalTimeMs = result.kruskalTime / 1_000_000.0;
                 double density = (double) result.edges / (result.vertices * (result.vertices - 1) / 2.0);
-                boolean primFaster = primTimeMs < kruskalTimeMs;
-
-                writer.write(String.format("%d,%d,%d,%.4f,%.2f,%.3f,%d,%.2f,%.3f,%d,%.6f,%s\n",
-                        result.graphId,
-                        result.vertices,
-                        result.edges,
-                        density,
-                        result.primWeight,
-                        primTimeMs,
-                        result.primOperations,
-                        result.kruskalWeight,
-                        kruskalTimeMs,
-                        result.kruskalOperations,
-                        Math.abs(result.primWeight - result.kruskalWeight),
-                        primFaster ? "Yes" : "No"
-                ));
+                StringBuilder row = new StringBuilder(String.format("%d,%d,%d,%.4f",
+                        result.graphId, result.vertices, result.edges, density));
+                row.append(analysisValues(result.getAnalysis()));
+                for (String algorithm : algorithms) {
+                    MSTResult run = result.getResult(algorithm);
+                    row.append(String.format(",%.2f,%.3f,%d",
+                            run.getTotalWeight(), run.getExecutionTime() / 1_000_000.0, run.getOperationsCount()));
+                }
+                row.append(String.format(",%.6f,%s", result.getWeightDifference(),
+                        MSTAlgorithm.displayName(result.getFastestAlgorithm())));
+                for (String algorithm : algorithms) {
+                    row.append(phaseValues(result.getResult(algorithm).getMetrics()));
+                }
+                for (int a = 0; a < algorithms.size(); a++) {
+                    CountingMetrics metrics = result.getResult(algorithms.get(a)).getMetrics();
+                    for (MSTMetrics.Counter counter : counters.get(a)) {
+                        row.append(',').append(metrics.get(counter));
+                    }
+                }
+                writer.write(row.append('\n').toString());
             }
 
             // Add summary row
             writer.write("\n# SUMMARY STATISTICS\n");
-            long primTotalTime = results.stream().mapToLong(r -> r.primTime).sum();
-            long kruskalTotalTime = results.stream().mapToLong(r -> r.kruskalTime).sum();
-            long primTotalOps = results.stream().mapToLong(r -> r.primOperations).sum();
-            long kruskalTotalOps = results.stream().mapToLong(r -> r.kruskalOperations).sum();
-
-            writer.write(String.format("Total,,,Prim: %.3f ms, %d ops,,Kruskal: %.3f ms, %d ops,,Prim Faster: %s",
-                    primTotalTime / 1_000_000.0, primTotalOps,
-                    kruskalTotalTime / 1_000_000.0, kruskalTotalOps,
-                    primTotalTime < kruskalTotalTime ? "Yes" : "No"
-            ));
+            StringBuilder summary = new StringBuilder("Total,,");
+            String fastest = null;
+            long fastestTime = Long.MAX_VALUE;
+            for (String algorithm : algorithms) {
+                long totalTime = results.stream().mapToLong(r -> r.getResult(algorithm).getExecutionTime()).sum();
+                long totalOps = results.stream().mapToLong(r -> r.getResult(algorithm).getOperationsCount()).sum();
+                summary.append(String.format(",%s: %.3f ms, %d ops,",
+                        MSTAlgorithm.displayName(algorithm), totalTime / 1_000_000.0, totalOps));
+                if (totalTime < fastestTime) {
+                    fastestTime = totalTime;
+                    fastest = algorithm;
+                }
+            }
+            if (fastest != null) {
+                summary.append(",Fastest: ").append(MSTAlgorithm.displayName(fastest));
+            }
+            writer.write(summary.toString());
 
             System.out.println("CSV results exported to: " + csvFile.getAbsolutePath());
 
@@ -66,38 +101,111 @@ public class CSVExporter {
         }
     }
 
+    /**
+     * Algorithms of the results, in report order; all results of a comparison share them
+     */
+    private static List<String> algorithmNames(List<MSTComparison.ComparisonResult> results) {
+        return results.isEmpty() ? Collections.emptyList() : results.get(0).getAlgorithmNames();
+    }
+
+    /**
+     * Header cells for the per-phase times of one algorithm, e.g. ",PrimBuildMs,PrimSortMs,PrimMainLoopMs"
+     */
+    private static String phaseColumns(String algorithm) {
+        StringBuilder columns = new StringBuilder();
+        for (MSTMetrics.Phase phase : MSTMetrics.Phase.values()) {
+            columns.append(',').append(algorithm).append(capitalize(phase.getLabel())).append("Ms");
+        }
+        return columns.toString();
+    }
+
+    /**
+     * Counters that are non-zero in at least one run of the algorithm, in enum order
+     */
+    private static List<MSTMetrics.Counter> reportedCounters(List<MSTComparison.ComparisonResult> results,
+                                                             String algorithm) {
+        List<MSTMetrics.Counter> reported = new ArrayList<>();
+        for (MSTMetrics.Counter counter : MSTMetrics.Counter.values()) {
+            for (MSTComparison.ComparisonResult result : results) {
+                if (result.getResult(algorithm).getMetrics().get(counter) != 0) {
+                    reported.add(counter);
+                    break;
+                }
+            }
+        }
+        return reported;
+    }
+
+    private static String capitalize(String label) {
+        return Character.toUpperCase(label.charAt(0)) + label.substring(1);
+    }
+
+    private static String analysisValues(GraphAnalysis analysis) {
+        if (analysis == null) return ",,,,,";
+        return String.format(",%d,%d,%d,%d,%d", analysis.getComponentCount(), analysis.getIsolatedVertices(),
+                analysis.getSelfLoops(), analysis.getParallelEdges(), analysis.getMaxDegree());
+    }
+
+    private static String phaseValues(CountingMetrics metrics) {
+        StringBuilder values = new StringBuilder();
+        for (MSTMetrics.Phase phase : MSTMetrics.Phase.values()) {
+            values.append(String.format(",%.3f", metrics.getPhaseTime(phase) / 1_000_000.0));
+        }
+        return values.toString();
+    }
 
     public static void printSummaryTable(List<MSTComparison.ComparisonResult> results) {
-        System.out.println("\n" + "=".repeat(120));
+        List<String> algorithms = algorithmNames(results);
+        int column = 12;
+        for (String algorithm : algorithms) {
+            column = Math.max(column, MSTAlgorithm.displayName(algorithm).length() + 4);
+        }
+        String cell = "%-" + column + "s ";
+        int width = Math.max(120, 40 + 2 * (column + 1) * algorithms.size());
+
+        System.out.println("\n" + "=".repeat(width));
         System.out.println("SUMMARY PERFORMANCE TABLE");
-        System.out.println("=".repeat(120));
-        System.out.printf("%-8s %-10s %-8s %-12s %-12s %-12s %-12s %-12s%n",
-                "Graph", "Vertices", "Edges", "Prim(ms)", "Kruskal(ms)", "Prim Ops", "Kruskal Ops", "Faster");
-        System.out.println("-".repeat(120));
+        System.out.println("=".repeat(width));
+        StringBuilder header = new StringBuilder(String.format("%-8s %-10s %-8s ", "Graph", "Vertices", "Edges"));
+        for (String algorithm : algorithms) {
+            header.append(String.format(cell, MSTAlgorithm.displayName(algorithm) + "(ms)"));
+        }
+        for (String algorithm : algorithms) {
+            header.append(String.format(cell, MSTAlgorithm.displayName(algorithm) + " Ops"));
+        }
+        System.out.println(header.append("Fastest"));
+        System.out.println("-".repeat(width));
 
         for (MSTComparison.ComparisonResult result : results) {
-            double primTimeMs = result.primTime / 1_000_000.0;
-            double kruskalTimeMs = result.kruskalTime / 1_000_000.0;
-            String faster = primTimeMs < kruskalTimeMs ? "PRIM" : "KRUSKAL";
-
-            System.out.printf("%-8d %-10d %-8d %-12.3f %-12.3f %-12d %-12d %-12s%n",
-                    result.graphId, result.vertices, result.edges,
-                    primTimeMs, kruskalTimeMs,
-                    result.primOperations, result.kruskalOperations,
-                    faster);
+            StringBuilder row = new StringBuilder(String.format("%-8d %-10d %-8d ",
+                    result.graphId, result.vertices, result.edges));
+            for (String algorithm : algorithms) {
+                row.append(String.format("%-" + column + ".3f ", result.getResult(algorithm).getExecutionTime() / 1_000_000.0));
+            }
+            for (String algorithm : algorithms) {
+                row.append(String.format("%-" + column + "d ", result.getResult(algorithm).getOperationsCount()));
+            }
+            System.out.println(row.append(result.getFastestAlgorithm().toUpperCase()));
         }
 
         // Totals
-        long primTotalTime = results.stream().mapToLong(r -> r.primTime).sum();
-        long kruskalTotalTime = results.stream().mapToLong(r -> r.kruskalTime).sum();
-
-        System.out.println("-".repeat(120));
-        System.out.printf("%-8s %-10s %-8s %-12.3f %-12.3f %-12s %-12s %-12s%n",
-                "TOTAL", "", "",
-                primTotalTime / 1_000_000.0,
-                kruskalTotalTime / 1_000_000.0,
-                "", "",
-                primTotalTime < kruskalTotalTime ? "PRIM" : "KRUSKAL");
-        System.out.println("=".repeat(120));
+        StringBuilder totals = new StringBuilder(String.format("%-8s %-10s %-8s ", "TOTAL", "", ""));
+        String fastest = null;
+        long fastestTime = Long.MAX_VALUE;
+        for (String algorithm : algorithms) {
+            long totalTime = results.stream().mapToLong(r -> r.getResult(algorithm).getExecutionTime()).sum();
+            totals.append(String.format("%-" + column + ".3f ", totalTime / 1_000_000.0));
+            if (totalTime < fastestTime) {
+                fastestTime = totalTime;
+                fastest = algorithm;
+            }
+        }
+        for (int i = 0; i < algorithms.size(); i++) {
+            totals.append(String.format(cell, ""));
+        }
+
+        System.out.println("-".repeat(width));
+        System.out.println(totals.append(fastest != null ? fastest.toUpperCase() : ""));
+        System.out.println("=".repeat(width));
     }
-}
\ No newline at end of file
+}
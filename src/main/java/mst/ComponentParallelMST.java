@@ -0,0 +1,217 @@
+package mst;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Minimum spanning forest with the connected components solved concurrently. Components
+ * are labelled by a GraphAnalysis, packed into a few compact subgraphs of similar edge
+ * counts, and the inner engine runs on the subgraphs in a ForkJoinPool, each task with
+ * its own engine. A subgraph holding several components is
+ * still correct because every engine returns the spanning forest of its input.
+ * The pool is created on the first parallel run and reused, like BoruvkaAlgorithm's.
+ */
+public class ComponentParallelMST implements MSTAlgorithm {
+    // Subgraphs per worker, so one large component does not leave the others idle
+    private static final int BINS_PER_WORKER = 4;
+
+    private final Supplier<MSTAlgorithm> engines;
+    private final String innerName;
+    private final int parallelism;
+    private ForkJoinPool pool;
+
+    public ComponentParallelMST(Supplier<MSTAlgorithm> engines) {
+        this(engines, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param engines creates the engine each component task runs
+     */
+    public ComponentParallelMST(Supplier<MSTAlgorithm> engines, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        this.engines = engines;
+        this.innerName = engines.get().getName();
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Run the component tasks on the caller's pool; the engine never shuts it down
+     */
+    public ComponentParallelMST(Supplier<MSTAlgorithm> engines, ForkJoinPool pool) {
+        this(engines, pool.getParallelism());
+        this.pool = pool;
+    }
+
+    public int getParallelism() { return parallelism; }
+
+    /**
+     * "components-" plus the inner engine's name, e.g. "components-prim-indexed"
+     */
+    @Override
+    public String getName() {
+        return "components-" + innerName;
+    }
+
+    @Override
+    public MSTResult findMST(Graph graph) {
+        long startTime = System.nanoTime();
+        CountingMetrics run = new CountingMetrics();
+        Split split = new Split(graph, parallelism * BINS_PER_WORKER,
+                parallelism == 1 ? new GraphAnalysis(graph) : new GraphAnalysis(graph, pool()));
+        long loopStart = System.nanoTime();
+        run.addPhaseTime(MSTMetrics.Phase.BUILD, loopStart - startTime);
+
+        List<Callable<MSTResult>> tasks = new ArrayList<>(split.subgraphs.length);
+        for (Graph subgraph : split.subgraphs) {
+            tasks.add(() -> engines.get().findMST(subgraph));
+        }
+        List<MSTResult> parts = invokeAll(tasks);
+
+        List<Edge> mstEdges = new ArrayList<>(Math.max(graph.getVertices() - split.componentCount, 0));
+        double totalWeight = 0.0;
+        int heapPeakSize = 0;
+        for (int bin = 0; bin < parts.size(); bin++) {
+            MSTResult part = parts.get(bin);
+            int[] globalOf = split.globalOf[bin];
+            for (Edge edge : part.getEdges()) {
+                mstEdges.add(new Edge(globalOf[edge.getSource()], globalOf[edge.getDestination()], edge.getWeight()));
+            }
+            totalWeight += part.getTotalWeight();
+            heapPeakSize = Math.max(heapPeakSize, part.getHeapPeakSize());
+            for (MSTMetrics.Counter counter : MSTMetrics.Counter.values()) {
+                run.add(counter, part.getMetrics().get(counter));
+            }
+        }
+        run.addPhaseTime(MSTMetrics.Phase.MAIN_LOOP, System.nanoTime() - loopStart);
+
+        long executionTime = System.nanoTime() - startTime;
+        return new MSTResult(mstEdges, totalWeight, executionTime, heapPeakSize, run);
+    }
+
+    private List<MSTResult> invokeAll(List<Callable<MSTResult>> tasks) {
+        if (tasks.size() <= 1 || parallelism == 1) {
+            List<MSTResult> results = new ArrayList<>(tasks.size());
+            for (Callable<MSTResult> task : tasks) {
+                try {
+                    results.add(task.call());
+                } catch (Exception e) {
+                    throw rethrow(e);
+                }
+            }
+            return results;
+        }
+
+        try {
+            List<MSTResult> results = new ArrayList<>(tasks.size());
+            for (Future<MSTResult> future : pool().invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while solving components", e);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    private ForkJoinPool pool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(parallelism);
+        }
+        return pool;
+    }
+
+    private static RuntimeException rethrow(Throwable failure) {
+        if (failure instanceof RuntimeException) return (RuntimeException) failure;
+        if (failure instanceof Error) throw (Error) failure;
+        return new IllegalStateException("Component task failed", failure);
+    }
+
+    /**
+     * The graph's components with edges, packed in label order into subgraphs of about
+     * E / bins edges each. Vertex indices are local to a subgraph; globalOf maps them back.
+     * A connected graph is used as is.
+     */
+    private static class Split {
+        final int componentCount;
+        final Graph[] subgraphs;
+        final int[][] globalOf;
+
+        Split(Graph graph, int bins, GraphAnalysis analysis) {
+            int vertices = graph.getVertices();
+            int edgeCount = graph.getEdgeCount();
+            this.componentCount = analysis.getComponentCount();
+
+            if (componentCount <= 1) {
+                int[] identity = new int[vertices];
+                Arrays.setAll(identity, v -> v);
+                this.subgraphs = edgeCount > 0 ? new Graph[]{graph} : new Graph[0];
+                this.globalOf = new int[][]{identity};
+                return;
+            }
+
+            // Components fill bins in label order, skipping those without edges
+            int[] binOf = new int[componentCount];
+            long target = Math.max(1, (edgeCount + (long) bins - 1) / bins);
+            int binCount = 0;
+            long binEdges = target;
+            for (int component = 0; component < componentCount; component++) {
+                int componentEdges = analysis.getComponentEdgeCount(component);
+                if (componentEdges == 0) {
+                    binOf[component] = -1;
+                    continue;
+                }
+                if (binEdges >= target) {
+                    binCount++;
+                    binEdges = 0;
+                }
+                binOf[component] = binCount - 1;
+                binEdges += componentEdges;
+            }
+
+            // Local indices follow vertex order within a bin
+            int[] binVertices = new int[binCount];
+            int[] binEdgeCounts = new int[binCount];
+            int[] localOf = new int[vertices];
+            for (int v = 0; v < vertices; v++) {
+                int bin = binOf[analysis.getComponent(v)];
+                if (bin >= 0) localOf[v] = binVertices[bin]++;
+            }
+            for (int component = 0; component < componentCount; component++) {
+                if (binOf[component] >= 0) binEdgeCounts[binOf[component]] += analysis.getComponentEdgeCount(component);
+            }
+            this.globalOf = new int[binCount][];
+            for (int bin = 0; bin < binCount; bin++) {
+                globalOf[bin] = new int[binVertices[bin]];
+            }
+            for (int v = 0; v < vertices; v++) {
+                int bin = binOf[analysis.getComponent(v)];
+                if (bin >= 0) globalOf[bin][localOf[v]] = v;
+            }
+
+            // Edges keep their input order, so tie-breaking by edge index is preserved
+            GraphBuilder[] builders = new GraphBuilder[binCount];
+            for (int bin = 0; bin < binCount; bin++) {
+                builders[bin] = new GraphBuilder(binEdgeCounts[bin]);
+            }
+            for (int edge = 0; edge < edgeCount; edge++) {
+                int source = graph.getEdgeSource(edge);
+                builders[binOf[analysis.getComponent(source)]].addEdge(localOf[source],
+                        localOf[graph.getEdgeDestination(edge)], graph.getEdgeWeight(edge));
+            }
+            this.subgraphs = new Graph[binCount];
+            for (int bin = 0; bin < binCount; bin++) {
+                subgraphs[bin] = builders[bin].build(binVertices[bin]);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package mst;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free disjoint-set structure for parallel edge processing.
+ * Roots are linked by index with a single CAS (the lower index goes under the higher one,
+ * so links can never form a cycle). find halves paths with CAS and never retries a failed
+ * CAS, so it completes in a bounded number of steps regardless of other threads.
+ */
+public class ConcurrentUnionFind {
+    private final AtomicIntegerArray parent;
+
+    public ConcurrentUnionFind(int size) {
+        parent = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            parent.set(i, i);
+        }
+    }
+
+    public int size() { return parent.length(); }
+
+    public int find(int x) {
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) return x;
+            int grandparent = parent.get(p);
+            if (p != grandparent) {
+                parent.compareAndSet(x, p, grandparent);
+            }
+            x = grandparent;
+        }
+    }
+
+    /**
+     * Linearizable check: retries only if x's root was linked while y was being resolved
+     */
+    public boolean connected(int x, int y) {
+        while (true) {
+            int rootX = find(x);
+            int rootY = find(y);
+            if (rootX == rootY) return true;
+            if (parent.get(rootX) == rootX) return false;
+        }
+    }
+
+    /**
+     * Merge the sets of x and y. Returns true only for the caller whose CAS joined them,
+     * so concurrent callers offering the same edge accept it exactly once.
+     */
+    public boolean union(int x, int y) {
+        while (true) {
+            int rootX = find(x);
+            int rootY = find(y);
+            if (rootX == rootY) return false;
+            if (rootX > rootY) {
+                int tmp = rootX;
+                rootX = rootY;
+                rootY = tmp;
+            }
+            if (parent.compareAndSet(rootX, rootX, rootY)) return true;
+        }
+    }
+}
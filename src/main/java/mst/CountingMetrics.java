@@ -0,0 +1,78 @@
+package mst;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * MSTMetrics that keeps totals. Safe to share between concurrently running engines,
+ * e.g. to aggregate a whole batch; each MST result also carries one for its own run.
+ */
+public class CountingMetrics implements MSTMetrics {
+    private final AtomicLongArray counters = new AtomicLongArray(Counter.values().length);
+    private final AtomicLongArray phaseTimes = new AtomicLongArray(Phase.values().length);
+
+    @Override
+    public void add(Counter counter, long amount) {
+        counters.addAndGet(counter.ordinal(), amount);
+    }
+
+    @Override
+    public void addPhaseTime(Phase phase, long nanos) {
+        phaseTimes.addAndGet(phase.ordinal(), nanos);
+    }
+
+    public long get(Counter counter) {
+        return counters.get(counter.ordinal());
+    }
+
+    public long getPhaseTime(Phase phase) {
+        return phaseTimes.get(phase.ordinal());
+    }
+
+    /**
+     * Sum of the work counters: edges scanned, heap and union-find operations.
+     * This is what MST results report as their operations count.
+     */
+    public long getOperationsCount() {
+        long total = 0;
+        for (Counter counter : Counter.values()) {
+            if (counter.isWork()) {
+                total += get(counter);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Add every counter and phase time of this instance to the sink
+     */
+    public void publishTo(MSTMetrics sink) {
+        if (sink == MSTMetrics.NOOP) return;
+        for (Counter counter : Counter.values()) {
+            sink.add(counter, get(counter));
+        }
+        for (Phase phase : Phase.values()) {
+            sink.addPhaseTime(phase, getPhaseTime(phase));
+        }
+    }
+
+    public void reset() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+        for (int i = 0; i < phaseTimes.length(); i++) {
+            phaseTimes.set(i, 0);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (Counter counter : Counter.values()) {
+            text.append(text.length() == 0 ? "" : ", ").append(counter.getLabel()).append('=').append(get(counter));
+        }
+        for (Phase phase : Phase.values()) {
+            text.append(", ").append(phase.getLabel()).append("Ns=").append(getPhaseTime(phase));
+        }
+        return text.toString();
+    }
+}
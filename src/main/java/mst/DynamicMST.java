@@ -0,0 +1,485 @@
+package mst;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Maintains a minimum spanning forest under edge insertions, deletions and weight changes.
+ * Tree edges live in a link-cut tree like in IncrementalMST, and every vertex keeps a list
+ * of its live edges. When a tree edge is deleted or becomes heavier, the two pieces it
+ * leaves are walked along tree edges side by side until the smaller one is exhausted; the
+ * lightest non-tree edge leaving that piece is the replacement (cut property). A repair thus
+ * costs the size and incident edges of the smaller piece, however many non-tree edges the
+ * graph has, and a bridge is recognised once the smaller piece is walked without one.
+ *
+ * Updates are applied in batches: deletions and increases are repaired as they come, and the
+ * inserted or cheaper edges are then swapped in through path-maximum queries at the end.
+ * Edge ids are the graph's edge indices followed by the ids returned for inserted edges.
+ */
+public class DynamicMST {
+
+    public enum UpdateKind {
+        INSERT,
+        DELETE,
+        SET_WEIGHT
+    }
+
+    /**
+     * One edge change; the edge id of an INSERT is assigned when the batch is applied
+     */
+    public static final class Update {
+        private final UpdateKind kind;
+        private final int edgeId;
+        private final int source;
+        private final int destination;
+        private final double weight;
+
+        private Update(UpdateKind kind, int edgeId, int source, int destination, double weight) {
+            this.kind = kind;
+            this.edgeId = edgeId;
+            this.source = source;
+            this.destination = destination;
+            this.weight = weight;
+        }
+
+        public static Update insert(int source, int destination, double weight) {
+            return new Update(UpdateKind.INSERT, -1, source, destination, weight);
+        }
+
+        public static Update delete(int edgeId) {
+            return new Update(UpdateKind.DELETE, edgeId, -1, -1, Double.NaN);
+        }
+
+        public static Update setWeight(int edgeId, double weight) {
+            return new Update(UpdateKind.SET_WEIGHT, edgeId, -1, -1, weight);
+        }
+
+        public UpdateKind getKind() { return kind; }
+        public int getEdgeId() { return edgeId; }
+        public int getSource() { return source; }
+        public int getDestination() { return destination; }
+        public double getWeight() { return weight; }
+    }
+
+    private static final byte NON_TREE = 0;
+    private static final byte TREE = 1;
+    private static final byte PENDING = 2;   // Inserted or made cheaper in the current batch
+    private static final byte DELETED = 3;
+
+    private final int vertices;
+    private final LinkCutTree tree;
+
+    // Edge store, indexed by edge id
+    private int[] sources;
+    private int[] destinations;
+    private double[] weights;
+    private byte[] states;
+    private int[] treeSlots;
+    private int edgeCount;
+    private int liveEdgeCount;
+
+    // Incidence lists of live edges over endpoint slots 2 * id (source side) and 2 * id + 1
+    private final int[] firstSlot;   // Vertex to its first endpoint slot, -1 when it has none
+    private int[] nextSlot;
+    private int[] previousSlot;
+
+    // Tree edge slots; slot s is link-cut node vertices + s
+    private final int[] slotEdges;
+    private final int[] freeSlots;
+    private int freeCount;
+
+    private int[] pendingEdges = new int[16];  // Inserted or made cheaper in the current batch
+    private int pendingCount;
+
+    // Piece walks of a repair; marks hold the walk's stamp for visited vertices
+    private final int[] marks;
+    private int lastStamp;
+    private final PieceWalk first;
+    private final PieceWalk second;
+
+    private double totalWeight;
+    private long replacementScanCount;
+    private long replacementCount;
+
+    public DynamicMST(int vertices) {
+        this.vertices = vertices;
+        int capacity = Math.max(vertices - 1, 0);
+        this.tree = new LinkCutTree(vertices + capacity);
+        this.slotEdges = new int[capacity];
+        this.freeSlots = new int[capacity];
+        for (int s = 0; s < capacity; s++) {
+            freeSlots[s] = capacity - 1 - s;
+        }
+        this.freeCount = capacity;
+
+        this.sources = new int[16];
+        this.destinations = new int[16];
+        this.weights = new double[16];
+        this.states = new byte[16];
+        this.treeSlots = new int[16];
+        this.firstSlot = new int[vertices];
+        Arrays.fill(firstSlot, -1);
+        this.nextSlot = new int[32];
+        this.previousSlot = new int[32];
+        this.marks = new int[vertices];
+        this.first = new PieceWalk(vertices);
+        this.second = new PieceWalk(vertices);
+    }
+
+    /**
+     * Start from the graph's minimum spanning forest; edge i of the graph gets id i
+     */
+    public DynamicMST(Graph graph) {
+        this(graph.getVertices());
+        int m = graph.getEdgeCount();
+        for (int i = 0; i < m; i++) {
+            int id = addEdge(graph.getEdgeSource(i), graph.getEdgeDestination(i), graph.getEdgeWeight(i));
+            states[id] = NON_TREE;
+        }
+
+        // Kruskal in (weight, id) order
+        int[] order = RadixSort.sortedEdgeOrder(graph);
+        UnionFind uf = new UnionFind(vertices);
+        for (int id : order) {
+            if (uf.union(sources[id], destinations[id])) {
+                linkTreeEdge(id);
+            }
+        }
+    }
+
+    public int getVertices() { return vertices; }
+    public int getEdgeCount() { return liveEdgeCount; }
+    public int getTreeEdgeCount() { return slotEdges.length - freeCount; }
+    public double getTotalWeight() { return totalWeight; }
+    public long getReplacementScanCount() { return replacementScanCount; }
+    public long getReplacementCount() { return replacementCount; }
+
+    public boolean isTreeEdge(int edgeId) {
+        checkEdge(edgeId);
+        return states[edgeId] == TREE;
+    }
+
+    public boolean connected(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        return tree.connected(u, v);
+    }
+
+    public int insertEdge(int u, int v, double weight) {
+        return applyBatch(Collections.singletonList(Update.insert(u, v, weight)))[0];
+    }
+
+    public void deleteEdge(int edgeId) {
+        applyBatch(Collections.singletonList(Update.delete(edgeId)));
+    }
+
+    public void updateWeight(int edgeId, double weight) {
+        applyBatch(Collections.singletonList(Update.setWeight(edgeId, weight)));
+    }
+
+    /**
+     * Apply the updates in order and repair the forest once at the end.
+     * Returns the edge id each update refers to, including the ids assigned to inserts.
+     */
+    public int[] applyBatch(List<Update> updates) {
+        int[] ids = new int[updates.size()];
+        pendingCount = 0;
+
+        for (int i = 0; i < ids.length; i++) {
+            Update update = updates.get(i);
+            switch (update.getKind()) {
+                case INSERT: {
+                    checkVertex(update.getSource());
+                    checkVertex(update.getDestination());
+                    int id = addEdge(update.getSource(), update.getDestination(), update.getWeight());
+                    addPending(id);
+                    ids[i] = id;
+                    break;
+                }
+                case DELETE: {
+                    int id = update.getEdgeId();
+                    checkEdge(id);
+                    boolean tree = states[id] == TREE;
+                    if (tree) {
+                        cutTreeEdge(id);
+                    }
+                    states[id] = DELETED;
+                    unlinkIncidence(id);
+                    liveEdgeCount--;
+                    if (tree) {
+                        repair(sources[id], destinations[id]);
+                    }
+                    ids[i] = id;
+                    break;
+                }
+                case SET_WEIGHT: {
+                    int id = update.getEdgeId();
+                    checkEdge(id);
+                    setWeight(id, update.getWeight());
+                    ids[i] = id;
+                    break;
+                }
+                default:
+                    throw new IllegalStateException("Unknown update kind: " + update.getKind());
+            }
+        }
+
+        for (int i = 0; i < pendingCount; i++) {
+            int id = pendingEdges[i];
+            if (states[id] == PENDING) {
+                offerEdge(id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Current forest edges, in no particular order
+     */
+    public List<Edge> getTreeEdges() {
+        List<Edge> edges = new ArrayList<>(getTreeEdgeCount());
+        for (int id = 0; id < edgeCount; id++) {
+            if (states[id] == TREE) {
+                edges.add(new Edge(sources[id], destinations[id], weights[id]));
+            }
+        }
+        return edges;
+    }
+
+    private void setWeight(int id, double weight) {
+        double oldWeight = weights[id];
+        switch (states[id]) {
+            case TREE:
+                if (weight <= oldWeight) {
+                    // A tree edge that gets cheaper stays the lightest edge across its cut
+                    weights[id] = weight;
+                    tree.setWeight(vertices + treeSlots[id], weight);
+                    totalWeight += weight - oldWeight;
+                    return;
+                }
+                // The heavier edge competes with the other edges across its cut, itself included
+                cutTreeEdge(id);
+                weights[id] = weight;
+                states[id] = NON_TREE;
+                repair(sources[id], destinations[id]);
+                return;
+            case NON_TREE:
+                weights[id] = weight;
+                if (weight < oldWeight) {
+                    states[id] = PENDING;
+                    addPending(id);
+                }
+                return;
+            case PENDING:
+                weights[id] = weight;
+                return;
+            default:
+                throw new IllegalArgumentException("Edge " + id + " was deleted");
+        }
+    }
+
+    /**
+     * Rejoin the pieces of u and v, just separated by a cut, with the lightest non-tree edge
+     * leaving the smaller piece. The forest is the minimum one of the non-pending edges, so
+     * such an edge can only lead into the other piece.
+     */
+    private void repair(int u, int v) {
+        if (u == v) return;
+        if (lastStamp >= Integer.MAX_VALUE - 2) {
+            Arrays.fill(marks, 0);
+            lastStamp = 0;
+        }
+        first.start(u, ++lastStamp);
+        second.start(v, ++lastStamp);
+        PieceWalk smaller;
+        while (true) {
+            if (!first.step()) {
+                smaller = first;
+                break;
+            }
+            if (!second.step()) {
+                smaller = second;
+                break;
+            }
+        }
+
+        int best = -1;
+        for (int i = 0; i < smaller.size; i++) {
+            for (int slot = firstSlot[smaller.queue[i]]; slot >= 0; slot = nextSlot[slot]) {
+                int id = slot >> 1;
+                if (states[id] != NON_TREE) continue;
+                replacementScanCount++;
+                int other = (slot & 1) == 0 ? destinations[id] : sources[id];
+                if (marks[other] != smaller.stamp && (best < 0 || weights[id] < weights[best]
+                        || (weights[id] == weights[best] && id < best))) {
+                    best = id;
+                }
+            }
+        }
+        if (best >= 0) {
+            linkTreeEdge(best);
+            replacementCount++;
+        }
+    }
+
+    /**
+     * Breadth-first walk of one piece along tree edges, one incidence slot per step, so two
+     * walks run side by side finish after about twice the smaller piece's incidences
+     */
+    private final class PieceWalk {
+        final int[] queue;
+        int size;
+        int stamp;
+        private int head;
+        private int slot;
+
+        PieceWalk(int vertices) {
+            this.queue = new int[vertices];
+        }
+
+        void start(int root, int stamp) {
+            this.stamp = stamp;
+            marks[root] = stamp;
+            queue[0] = root;
+            size = 1;
+            head = 0;
+            slot = firstSlot[root];
+        }
+
+        /**
+         * Follow one incidence slot; false once every vertex of the piece is in the queue
+         */
+        boolean step() {
+            while (slot < 0) {
+                if (++head >= size) return false;
+                slot = firstSlot[queue[head]];
+            }
+            int id = slot >> 1;
+            int other = (slot & 1) == 0 ? destinations[id] : sources[id];
+            slot = nextSlot[slot];
+            if (states[id] == TREE && marks[other] != stamp) {
+                marks[other] = stamp;
+                queue[size++] = other;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Insert a new or cheaper edge, replacing the heaviest edge on its tree path if lighter
+     */
+    private void offerEdge(int id) {
+        int u = sources[id];
+        int v = destinations[id];
+        if (u != v) {
+            if (!tree.connected(u, v)) {
+                linkTreeEdge(id);
+                return;
+            }
+            int heaviest = tree.pathMax(u, v);
+            if (weights[id] < tree.getWeight(heaviest)) {
+                int replaced = slotEdges[heaviest - vertices];
+                cutTreeEdge(replaced);
+                states[replaced] = NON_TREE;
+                linkTreeEdge(id);
+                replacementCount++;
+                return;
+            }
+        }
+        states[id] = NON_TREE;
+    }
+
+    private void addPending(int id) {
+        if (pendingCount == pendingEdges.length) {
+            pendingEdges = Arrays.copyOf(pendingEdges, 2 * pendingCount);
+        }
+        pendingEdges[pendingCount++] = id;
+    }
+
+    private void linkTreeEdge(int id) {
+        int slot = freeSlots[--freeCount];
+        int node = vertices + slot;
+        slotEdges[slot] = id;
+        treeSlots[id] = slot;
+        states[id] = TREE;
+        tree.setWeight(node, weights[id]);
+        tree.link(sources[id], node);
+        tree.link(node, destinations[id]);
+        totalWeight += weights[id];
+    }
+
+    private void cutTreeEdge(int id) {
+        int slot = treeSlots[id];
+        int node = vertices + slot;
+        tree.cut(sources[id], node);
+        tree.cut(node, destinations[id]);
+        tree.setWeight(node, Double.NEGATIVE_INFINITY);
+        totalWeight -= weights[id];
+        treeSlots[id] = -1;
+        freeSlots[freeCount++] = slot;
+    }
+
+    private int addEdge(int u, int v, double weight) {
+        if (edgeCount == sources.length) {
+            int capacity = sources.length + (sources.length >> 1) + 1;
+            sources = Arrays.copyOf(sources, capacity);
+            destinations = Arrays.copyOf(destinations, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+            states = Arrays.copyOf(states, capacity);
+            treeSlots = Arrays.copyOf(treeSlots, capacity);
+            nextSlot = Arrays.copyOf(nextSlot, 2 * capacity);
+            previousSlot = Arrays.copyOf(previousSlot, 2 * capacity);
+        }
+        int id = edgeCount++;
+        sources[id] = u;
+        destinations[id] = v;
+        weights[id] = weight;
+        states[id] = PENDING;
+        treeSlots[id] = -1;
+        linkIncidence(2 * id, u);
+        linkIncidence(2 * id + 1, v);
+        liveEdgeCount++;
+        return id;
+    }
+
+    private void linkIncidence(int slot, int vertex) {
+        int head = firstSlot[vertex];
+        nextSlot[slot] = head;
+        previousSlot[slot] = -1;
+        if (head >= 0) previousSlot[head] = slot;
+        firstSlot[vertex] = slot;
+    }
+
+    private void unlinkIncidence(int id) {
+        unlinkSlot(2 * id, sources[id]);
+        unlinkSlot(2 * id + 1, destinations[id]);
+    }
+
+    private void unlinkSlot(int slot, int vertex) {
+        int next = nextSlot[slot];
+        int previous = previousSlot[slot];
+        if (previous >= 0) {
+            nextSlot[previous] = next;
+        } else {
+            firstSlot[vertex] = next;
+        }
+        if (next >= 0) previousSlot[next] = previous;
+    }
+
+    private void checkEdge(int id) {
+        if (id < 0 || id >= edgeCount) {
+            throw new IllegalArgumentException("Edge id out of range: " + id);
+        }
+        if (states[id] == DELETED) {
+            throw new IllegalArgumentException("Edge " + id + " was deleted");
+        }
+    }
+
+    private void checkVertex(int v) {
+        if (v < 0 || v >= vertices) {
+            throw new IllegalArgumentException("Vertex out of range: " + v);
+        }
+    }
+}
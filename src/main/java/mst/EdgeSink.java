@@ -0,0 +1,9 @@
+package mst;
+
+/**
+ * Receives edges one at a time from a generator or reader
+ */
+@FunctionalInterface
+public interface EdgeSink {
+    void addEdge(int source, int destination, double weight);
+}
@@ -0,0 +1,297 @@
+package mst;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Euclidean minimum spanning tree of a point set, without materializing the O(V^2) edges
+ * of the complete distance graph.
+ */
+public class EuclideanMST {
+    private static final int LEAF_SIZE = 16;
+
+    public enum Mode {
+        DENSE,              // Array-scan Prim over the distance function: O(V^2) time, O(V) memory
+        KD_TREE_BORUVKA     // Boruvka rounds answered by a k-d tree that prunes whole components
+    }
+
+    private final Mode mode;
+    private final MSTMetrics metrics;
+    private int rounds;
+
+    public EuclideanMST() {
+        this(Mode.KD_TREE_BORUVKA);
+    }
+
+    public EuclideanMST(Mode mode) {
+        this(mode, MSTMetrics.NOOP);
+    }
+
+    /**
+     * @param metrics receives the counters and phase timings of every run
+     */
+    public EuclideanMST(Mode mode, MSTMetrics metrics) {
+        this.mode = mode;
+        this.metrics = metrics;
+    }
+
+    public Mode getMode() { return mode; }
+
+    /**
+     * Boruvka rounds of the last k-d tree run
+     */
+    public int getRounds() { return rounds; }
+
+    public MSTResult findMST(PointSet points) {
+        if (mode == Mode.DENSE) {
+            return new PrimAlgorithm(PrimAlgorithm.Mode.DENSE, IndexedDaryHeap.DEFAULT_ARITY, metrics)
+                    .findMST(points.size(), points.asWeightFunction());
+        }
+
+        long startTime = System.nanoTime();
+        CountingMetrics run = new CountingMetrics();
+        int n = points.size();
+        rounds = 0;
+
+        KdTree tree = new KdTree(points);
+        UnionFind components = new UnionFind(n);
+        int[] component = new int[n];
+        double[] bestDistance = new double[n];
+        long[] bestPair = new long[n];
+        List<Edge> mstEdges = new ArrayList<>(Math.max(n - 1, 0));
+        double totalWeight = 0.0;
+        long loopStart = System.nanoTime();
+        run.addPhaseTime(MSTMetrics.Phase.BUILD, loopStart - startTime);
+
+        while (components.getSetCount() > 1) {
+            rounds++;
+            for (int pos = 0; pos < n; pos++) {
+                component[pos] = components.find(tree.pointAt(pos));
+            }
+            tree.labelComponents(component);
+            Arrays.fill(bestDistance, Double.POSITIVE_INFINITY);
+            Arrays.fill(bestPair, -1);
+
+            // Every point searches outside its component; the component's best so far bounds the search
+            for (int pos = 0; pos < n; pos++) {
+                tree.nearestOutside(0, pos, component, bestDistance, bestPair);
+            }
+
+            for (int root = 0; root < n; root++) {
+                if (bestPair[root] < 0) continue;
+                int a = (int) (bestPair[root] >>> 32);
+                int b = (int) bestPair[root];
+                if (components.union(a, b)) {
+                    double weight = Math.sqrt(bestDistance[root]);
+                    mstEdges.add(new Edge(a, b, weight));
+                    totalWeight += weight;
+                }
+            }
+        }
+        run.addPhaseTime(MSTMetrics.Phase.MAIN_LOOP, System.nanoTime() - loopStart);
+
+        run.add(MSTMetrics.Counter.EDGES_SCANNED, tree.distanceEvaluations);
+        run.add(MSTMetrics.Counter.FIND_CALLS, components.getFindCount());
+        run.add(MSTMetrics.Counter.PATH_STEPS, components.getPathSteps());
+        run.add(MSTMetrics.Counter.UNIONS, mstEdges.size());
+        long executionTime = System.nanoTime() - startTime;
+        run.publishTo(metrics);
+
+        return new MSTResult(mstEdges, totalWeight, executionTime, 0, run);
+    }
+
+    /**
+     * k-d tree over the points in tree order, split at the median of the widest axis.
+     * Each node records the component all its points belong to, or -1 if they are mixed,
+     * so a search skips subtrees lying entirely inside the searching point's component.
+     */
+    private static class KdTree {
+        private final int dimensions;
+        private final int[] order;          // Point id at each tree position
+        private final double[] coordinates; // Coordinates in tree order
+        private final int[] start;
+        private final int[] end;
+        private final int[] left;           // -1 for leaves
+        private final int[] right;
+        private final double[] boxMin;
+        private final double[] boxMax;
+        private final int[] nodeComponent;
+        private int nodeCount;
+        long distanceEvaluations;
+
+        KdTree(PointSet points) {
+            int n = points.size();
+            this.dimensions = points.getDimensions();
+            this.order = new int[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            // Leaves hold at least LEAF_SIZE / 2 points, so this bounds the node count
+            int capacity = 2 * (n / (LEAF_SIZE / 2) + 1);
+            this.start = new int[capacity];
+            this.end = new int[capacity];
+            this.left = new int[capacity];
+            this.right = new int[capacity];
+            this.boxMin = new double[capacity * dimensions];
+            this.boxMax = new double[capacity * dimensions];
+            this.nodeComponent = new int[capacity];
+
+            build(points, 0, n);
+            this.coordinates = new double[n * dimensions];
+            for (int pos = 0; pos < n; pos++) {
+                for (int axis = 0; axis < dimensions; axis++) {
+                    coordinates[pos * dimensions + axis] = points.getCoordinate(order[pos], axis);
+                }
+            }
+        }
+
+        int pointAt(int pos) {
+            return order[pos];
+        }
+
+        private int build(PointSet points, int from, int to) {
+            int node = nodeCount++;
+            start[node] = from;
+            end[node] = to;
+            left[node] = -1;
+            right[node] = -1;
+
+            int widest = 0;
+            double widestSpread = -1;
+            for (int axis = 0; axis < dimensions; axis++) {
+                double min = Double.POSITIVE_INFINITY;
+                double max = Double.NEGATIVE_INFINITY;
+                for (int i = from; i < to; i++) {
+                    double value = points.getCoordinate(order[i], axis);
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                }
+                boxMin[node * dimensions + axis] = min;
+                boxMax[node * dimensions + axis] = max;
+                if (max - min > widestSpread) {
+                    widestSpread = max - min;
+                    widest = axis;
+                }
+            }
+
+            if (to - from > LEAF_SIZE) {
+                int middle = (from + to) >>> 1;
+                select(points, from, to, middle, widest);
+                left[node] = build(points, from, middle);
+                right[node] = build(points, middle, to);
+            }
+            return node;
+        }
+
+        /**
+         * Quickselect: order[k] gets the point of rank k along the axis within [from, to)
+         */
+        private void select(PointSet points, int from, int to, int k, int axis) {
+            int lo = from;
+            int hi = to - 1;
+            while (lo < hi) {
+                double pivot = points.getCoordinate(order[(lo + hi) >>> 1], axis);
+                int i = lo;
+                int j = hi;
+                while (i <= j) {
+                    while (points.getCoordinate(order[i], axis) < pivot) i++;
+                    while (points.getCoordinate(order[j], axis) > pivot) j--;
+                    if (i <= j) {
+                        int swap = order[i];
+                        order[i] = order[j];
+                        order[j] = swap;
+                        i++;
+                        j--;
+                    }
+                }
+                if (k <= j) {
+                    hi = j;
+                } else if (k >= i) {
+                    lo = i;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Bottom-up component labels; children always have higher node indices than their parent
+         */
+        void labelComponents(int[] component) {
+            for (int node = nodeCount - 1; node >= 0; node--) {
+                if (left[node] >= 0) {
+                    int label = nodeComponent[left[node]];
+                    nodeComponent[node] = label == nodeComponent[right[node]] ? label : -1;
+                } else {
+                    int label = component[start[node]];
+                    for (int pos = start[node] + 1; pos < end[node] && label >= 0; pos++) {
+                        if (component[pos] != label) label = -1;
+                    }
+                    nodeComponent[node] = label;
+                }
+            }
+        }
+
+        /**
+         * Offer the points under the node outside pos's component as that component's cheapest edge.
+         * Ties on distance go to the lower (smaller id, larger id) pair, so all components agree on
+         * one order and the picked edges never form a cycle.
+         */
+        void nearestOutside(int node, int pos, int[] component, double[] bestDistance, long[] bestPair) {
+            int own = component[pos];
+            if (nodeComponent[node] == own) return;
+            if (boxDistance(node, pos) > bestDistance[own]) return;
+
+            if (left[node] < 0) {
+                int base = pos * dimensions;
+                for (int other = start[node]; other < end[node]; other++) {
+                    if (component[other] == own) continue;
+                    distanceEvaluations++;
+                    double distance = 0;
+                    for (int axis = 0, j = other * dimensions; axis < dimensions; axis++, j++) {
+                        double delta = coordinates[base + axis] - coordinates[j];
+                        distance += delta * delta;
+                    }
+                    if (distance <= bestDistance[own]) {
+                        long pair = pair(order[pos], order[other]);
+                        if (distance < bestDistance[own] || pair < bestPair[own]) {
+                            bestDistance[own] = distance;
+                            bestPair[own] = pair;
+                        }
+                    }
+                }
+                return;
+            }
+
+            // Nearer child first, so the bound is tight when the farther one is checked
+            int near = left[node];
+            int far = right[node];
+            if (boxDistance(far, pos) < boxDistance(near, pos)) {
+                near = right[node];
+                far = left[node];
+            }
+            nearestOutside(near, pos, component, bestDistance, bestPair);
+            nearestOutside(far, pos, component, bestDistance, bestPair);
+        }
+
+        /**
+         * Squared distance from the point at pos to the node's bounding box
+         */
+        private double boxDistance(int node, int pos) {
+            double distance = 0;
+            for (int axis = 0; axis < dimensions; axis++) {
+                double value = coordinates[pos * dimensions + axis];
+                double min = boxMin[node * dimensions + axis];
+                double max = boxMax[node * dimensions + axis];
+                double delta = value < min ? min - value : value > max ? value - max : 0;
+                distance += delta * delta;
+            }
+            return distance;
+        }
+
+        private static long pair(int a, int b) {
+            return ((long) Math.min(a, b) << 32) | Math.max(a, b);
+        }
+    }
+}
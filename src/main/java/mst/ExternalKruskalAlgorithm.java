@@ -0,0 +1,400 @@
+package mst;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Out-of-core Kruskal for edge lists that do not fit in the heap. The edge stream is cut
+ * into runs of at most runEdges edges, each run is radix-sorted in memory and spilled to a
+ * temporary file, and the runs are k-way merged through memory-mapped windows straight into
+ * the union-find scan. Only the run buffer, the union-find and the tree itself stay in memory.
+ * Runs are stable and ties are merged in run order, so edges come out in (weight, input index)
+ * order and the result is exactly the in-memory Kruskal's.
+ */
+public class ExternalKruskalAlgorithm implements MSTAlgorithm {
+    public static final int DEFAULT_RUN_EDGES = 1 << 22;
+    public static final int MAX_FAN_IN = 128;
+
+    // Run record: double weight, int source, int destination
+    private static final int RECORD_BYTES = 16;
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+    private static final int MERGE_BUFFER_BYTES = 1 << 26;
+    private static final int MIN_WINDOW_BYTES = 64 * RECORD_BYTES;
+    private static final int INITIAL_RUN_BUFFER_EDGES = 1 << 12;
+
+    private final Path tempDirectory;
+    private final int runEdges;
+    private long heapPops;
+    private long bytesWritten;
+    private long bytesRead;
+    private int spillCount;     // Sorted runs spilled from the input
+    private int mergePasses;
+    private int runFileCount;   // Spilled runs and merge outputs, for file names
+
+    public ExternalKruskalAlgorithm() {
+        this(Path.of(System.getProperty("java.io.tmpdir")), DEFAULT_RUN_EDGES);
+    }
+
+    /**
+     * @param tempDirectory directory the sorted runs are spilled to
+     * @param runEdges      edges sorted in memory per run; about 40 bytes of heap each, allocated
+     *                      as the input grows
+     */
+    public ExternalKruskalAlgorithm(Path tempDirectory, int runEdges) {
+        if (runEdges < 1) {
+            throw new IllegalArgumentException("runEdges must be at least 1: " + runEdges);
+        }
+        this.tempDirectory = tempDirectory;
+        this.runEdges = runEdges;
+    }
+
+    public int getRunEdges() { return runEdges; }
+    public long getBytesWritten() { return bytesWritten; }
+    public long getBytesRead() { return bytesRead; }
+    public int getSpillCount() { return spillCount; }
+    public int getMergePasses() { return mergePasses; }
+
+    @Override
+    public String getName() {
+        return "kruskal-external";
+    }
+
+    @Override
+    public MSTResult findMST(Graph graph) {
+        return findMST(graph.getVertices(), sink -> {
+            for (int i = 0, m = graph.getEdgeCount(); i < m; i++) {
+                sink.addEdge(graph.getEdgeSource(i), graph.getEdgeDestination(i), graph.getEdgeWeight(i));
+            }
+        });
+    }
+
+    public MSTResult findMST(GraphGenerator generator) {
+        return findMST(generator.getVertices(), generator::generate);
+    }
+
+    /**
+     * MST of the first graph in a binary graph file, streamed without loading it
+     */
+    public MSTResult findMST(Path binaryGraphFile) {
+        int[] vertices = {0};
+        return run(sink -> {
+            try {
+                vertices[0] = BinaryGraphFormat.streamEdges(binaryGraphFile, sink);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, () -> vertices[0]);
+    }
+
+    /**
+     * @param edges pushes every edge of the graph into the given sink, once
+     */
+    public MSTResult findMST(int vertices, Consumer<EdgeSink> edges) {
+        return run(edges, () -> vertices);
+    }
+
+    private MSTResult run(Consumer<EdgeSink> edges, IntSupplier vertices) {
+        heapPops = 0;
+        bytesWritten = 0;
+        bytesRead = 0;
+        spillCount = 0;
+        mergePasses = 0;
+        runFileCount = 0;
+        long startTime = System.nanoTime();
+        CountingMetrics metrics = new CountingMetrics();
+
+        Path runDirectory = null;
+        try {
+            List<Path> runs = new ArrayList<>();
+            runDirectory = Files.createTempDirectory(tempDirectory, "mst-runs");
+            // Reading the input is interleaved with sorting runs, all of it counts as the sort phase
+            spillRuns(edges, runDirectory, runs);
+
+            while (runs.size() > MAX_FAN_IN) {
+                runs = mergePass(runs, runDirectory);
+                mergePasses++;
+            }
+            long loopStart = System.nanoTime();
+            metrics.addPhaseTime(MSTMetrics.Phase.SORT, loopStart - startTime);
+
+            List<Edge> mstEdges = new ArrayList<>();
+            double totalWeight = scan(runs, vertices.getAsInt(), mstEdges, metrics);
+            metrics.addPhaseTime(MSTMetrics.Phase.MAIN_LOOP, System.nanoTime() - loopStart);
+            metrics.add(MSTMetrics.Counter.HEAP_POPS, heapPops);
+            metrics.add(MSTMetrics.Counter.SPILL_RUNS, spillCount);
+            metrics.add(MSTMetrics.Counter.MERGE_PASSES, mergePasses);
+            metrics.add(MSTMetrics.Counter.BYTES_WRITTEN, bytesWritten);
+            metrics.add(MSTMetrics.Counter.BYTES_READ, bytesRead);
+
+            long executionTime = System.nanoTime() - startTime;
+            return new MSTResult(mstEdges, totalWeight, executionTime, metrics);
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("External Kruskal failed: " + e.getMessage(), e);
+        } finally {
+            deleteRuns(runDirectory);
+        }
+    }
+
+    /**
+     * Cut the edge stream into runs, sort each one by weight and write it to its own file.
+     * The run buffer grows by doubling up to runEdges, so small graphs do not pay for a full one.
+     */
+    private void spillRuns(Consumer<EdgeSink> edges, Path runDirectory, List<Path> runs) throws IOException {
+        RunBuffer buffer = new RunBuffer(Math.min(runEdges, INITIAL_RUN_BUFFER_EDGES));
+
+        edges.accept((source, destination, weight) -> {
+            if (buffer.count == buffer.weights.length) {
+                buffer.grow(Math.min(2 * buffer.count, runEdges));
+            }
+            int i = buffer.count++;
+            buffer.sources[i] = source;
+            buffer.destinations[i] = destination;
+            buffer.weights[i] = weight;
+            if (buffer.count == runEdges) {
+                spill(buffer.sources, buffer.destinations, buffer.weights, buffer.count, runDirectory, runs);
+                buffer.count = 0;
+            }
+        });
+        if (buffer.count > 0) {
+            spill(buffer.sources, buffer.destinations, buffer.weights, buffer.count, runDirectory, runs);
+        }
+    }
+
+    private static class RunBuffer {
+        int[] sources;
+        int[] destinations;
+        double[] weights;
+        int count;
+
+        RunBuffer(int capacity) {
+            sources = new int[capacity];
+            destinations = new int[capacity];
+            weights = new double[capacity];
+        }
+
+        void grow(int capacity) {
+            sources = Arrays.copyOf(sources, capacity);
+            destinations = Arrays.copyOf(destinations, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+        }
+    }
+
+    private void spill(int[] sources, int[] destinations, double[] weights, int count,
+                       Path runDirectory, List<Path> runs) {
+        long[] keys = new long[count];
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = RadixSort.sortableBits(weights[i]);
+            order[i] = i;
+        }
+        RadixSort.sort(keys, order, 0, count);
+
+        try {
+            Path run = newRunFile(runDirectory);
+            try (RunWriter out = new RunWriter(run)) {
+                for (int i = 0; i < count; i++) {
+                    int edge = order[i];
+                    out.write(weights[edge], sources[edge], destinations[edge]);
+                }
+            }
+            runs.add(run);
+            spillCount++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Merge consecutive groups of MAX_FAN_IN runs into longer runs; group order keeps ties stable
+     */
+    private List<Path> mergePass(List<Path> runs, Path runDirectory) throws IOException {
+        List<Path> merged = new ArrayList<>();
+        for (int from = 0; from < runs.size(); from += MAX_FAN_IN) {
+            List<Path> group = runs.subList(from, Math.min(from + MAX_FAN_IN, runs.size()));
+            Path run = newRunFile(runDirectory);
+            try (RunWriter out = new RunWriter(run)) {
+                merge(group, (source, destination, weight) -> {
+                    try {
+                        out.write(weight, source, destination);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return true;
+                });
+            }
+            for (Path input : group) {
+                Files.delete(input);
+            }
+            merged.add(run);
+        }
+        return merged;
+    }
+
+    /**
+     * Kruskal scan over the merged runs, stops as soon as the tree is complete
+     */
+    private double scan(List<Path> runs, int vertices, List<Edge> mstEdges, CountingMetrics metrics)
+            throws IOException {
+        UnionFind uf = new UnionFind(vertices);
+        double[] totalWeight = {0.0};
+        long[] scanned = {0};
+
+        merge(runs, (source, destination, weight) -> {
+            scanned[0]++;
+            if (uf.union(source, destination)) {
+                mstEdges.add(new Edge(source, destination, weight));
+                totalWeight[0] += weight;
+            }
+            return mstEdges.size() < vertices - 1;
+        });
+        metrics.add(MSTMetrics.Counter.EDGES_SCANNED, scanned[0]);
+        metrics.add(MSTMetrics.Counter.FIND_CALLS, uf.getFindCount());
+        metrics.add(MSTMetrics.Counter.PATH_STEPS, uf.getPathSteps());
+        metrics.add(MSTMetrics.Counter.UNIONS, mstEdges.size());
+        return totalWeight[0];
+    }
+
+    private interface MergeSink {
+        /**
+         * Returns false to stop the merge early
+         */
+        boolean accept(int source, int destination, double weight);
+    }
+
+    private void merge(List<Path> runs, MergeSink sink) throws IOException {
+        if (runs.isEmpty()) return;
+        int windowBytes = Math.max(MERGE_BUFFER_BYTES / runs.size() / RECORD_BYTES * RECORD_BYTES, MIN_WINDOW_BYTES);
+
+        List<RunReader> readers = new ArrayList<>(runs.size());
+        try {
+            // Ties go to the earlier run, which holds the earlier input edges
+            PriorityQueue<RunReader> heap = new PriorityQueue<>((a, b) -> {
+                int cmp = Double.compare(a.weight, b.weight);
+                return cmp != 0 ? cmp : Integer.compare(a.index, b.index);
+            });
+            for (int i = 0; i < runs.size(); i++) {
+                RunReader reader = new RunReader(runs.get(i), i, windowBytes);
+                readers.add(reader);
+                if (reader.next()) heap.add(reader);
+            }
+
+            while (!heap.isEmpty()) {
+                RunReader reader = heap.poll();
+                heapPops++;
+                if (!sink.accept(reader.source, reader.destination, reader.weight)) break;
+                if (reader.next()) heap.add(reader);
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                bytesRead += reader.bytesRead;
+                reader.close();
+            }
+        }
+    }
+
+    private Path newRunFile(Path runDirectory) {
+        return runDirectory.resolve(String.format("run-%06d.bin", runFileCount++));
+    }
+
+    private static void deleteRuns(Path runDirectory) {
+        if (runDirectory == null) return;
+        try (Stream<Path> files = Files.list(runDirectory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(runDirectory);
+        } catch (IOException e) {
+            System.err.println("Could not remove external sort runs in " + runDirectory + ": " + e.getMessage());
+        }
+    }
+
+    private class RunWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+        RunWriter(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        }
+
+        void write(double weight, int source, int destination) throws IOException {
+            if (buffer.remaining() < RECORD_BYTES) {
+                flush();
+            }
+            buffer.putDouble(weight).putInt(source).putInt(destination);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            bytesWritten += buffer.remaining();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Sequential reader over a run file, mapping one window of records at a time
+     */
+    private static class RunReader implements AutoCloseable {
+        private final FileChannel channel;
+        private final int index;
+        private final int windowBytes;
+        private final long size;
+        private long windowStart;
+        private MappedByteBuffer window;
+        private long bytesRead;
+
+        double weight;
+        int source;
+        int destination;
+
+        RunReader(Path file, int index, int windowBytes) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            this.index = index;
+            this.windowBytes = windowBytes;
+            this.size = channel.size();
+        }
+
+        boolean next() throws IOException {
+            if (window == null || !window.hasRemaining()) {
+                long start = window == null ? 0 : windowStart + window.capacity();
+                if (start >= size) return false;
+                windowStart = start;
+                window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowBytes, size - start));
+                window.order(ByteOrder.LITTLE_ENDIAN);
+                bytesRead += window.capacity();
+            }
+            weight = window.getDouble();
+            source = window.getInt();
+            destination = window.getInt();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
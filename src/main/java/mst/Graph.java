@@ -1,176 +1,273 @@
 package mst;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.stream.Stream;
 
 /**
- * Represents a graph with vertices and edges, provides JSON loading functionality
+ * Represents a graph with vertices and edges, provides JSON loading functionality.
+ * Edges are held as parallel primitive arrays (source, destination, weight).
+ * Adjacency is stored in compressed-sparse-row (CSR) form: the neighbors of vertex u
+ * occupy slots [getNeighborStart(u), getNeighborEnd(u)) of the target and weight arrays.
  */
 public class Graph {
     private final int vertices;
-    private final List<Edge> edges;
-    private final List<List<Edge>> adjacencyList;
-    private final Map<String, Integer> nodeToIndex; // Mapping for string node names to indices
+    private final int edgeCount;
+    private final int[] edgeSources;
+    private final int[] edgeDestinations;
+    private final double[] edgeWeights;
+    private final NodeDictionary nodes; // Node names by vertex index, empty for unnamed graphs
+
+    // CSR adjacency, each undirected edge appears once per endpoint
+    private final int[] neighborOffsets;
+    private final int[] neighborTargets;
+    private final double[] neighborWeights;
+
+    // Materialized on first request for callers that still want Edge objects
+    private List<Edge> edges;
+    private List<List<Edge>> adjacencyList;
+    private String fingerprint;
 
+    /**
+     * Copies the edge list into primitive arrays; GraphBuilder avoids the Edge objects altogether
+     */
     public Graph(int vertices, List<Edge> edges) {
-        this.vertices = vertices;
-        this.edges = new ArrayList<>(edges);
-        this.adjacencyList = createAdjacencyList(vertices, edges);
-        this.nodeToIndex = new HashMap<>();
+        this(vertices, edges, new HashMap<>());
     }
 
+    /**
+     * @param nodeToIndex node names with ids exactly 0 .. size - 1
+     */
     public Graph(int vertices, List<Edge> edges, Map<String, Integer> nodeToIndex) {
+        this(vertices, sourcesOf(edges), destinationsOf(edges), weightsOf(edges), edges.size(),
+                NodeDictionary.fromMap(nodeToIndex));
+    }
+
+    /**
+     * Takes ownership of the edge arrays; only the first edgeCount entries are used
+     */
+    Graph(int vertices, int[] edgeSources, int[] edgeDestinations, double[] edgeWeights,
+          int edgeCount, NodeDictionary nodes) {
         this.vertices = vertices;
-        this.edges = new ArrayList<>(edges);
-        this.adjacencyList = createAdjacencyList(vertices, edges);
-        this.nodeToIndex = nodeToIndex;
+        this.edgeCount = edgeCount;
+        this.edgeSources = edgeSources;
+        this.edgeDestinations = edgeDestinations;
+        this.edgeWeights = edgeWeights;
+        this.nodes = nodes;
+        this.neighborOffsets = new int[vertices + 1];
+        this.neighborTargets = new int[2 * edgeCount];
+        this.neighborWeights = new double[2 * edgeCount];
+        buildCsr();
+    }
+
+    /**
+     * Takes ownership of edge arrays and an already built CSR adjacency, e.g. one read back
+     * from a binary graph file, so no counting sort is needed
+     */
+    Graph(int vertices, int[] edgeSources, int[] edgeDestinations, double[] edgeWeights, int edgeCount,
+          NodeDictionary nodes, int[] neighborOffsets, int[] neighborTargets, double[] neighborWeights) {
+        this.vertices = vertices;
+        this.edgeCount = edgeCount;
+        this.edgeSources = edgeSources;
+        this.edgeDestinations = edgeDestinations;
+        this.edgeWeights = edgeWeights;
+        this.nodes = nodes;
+        this.neighborOffsets = neighborOffsets;
+        this.neighborTargets = neighborTargets;
+        this.neighborWeights = neighborWeights;
     }
 
     public int getVertices() { return vertices; }
-    public List<Edge> getEdges() { return Collections.unmodifiableList(edges); }
-    public List<List<Edge>> getAdjacencyList() { return Collections.unmodifiableList(adjacencyList); }
-    public Map<String, Integer> getNodeToIndex() { return Collections.unmodifiableMap(nodeToIndex); }
+    public NodeDictionary getNodes() { return nodes; }
 
-    private List<List<Edge>> createAdjacencyList(int vertices, List<Edge> edges) {
-        List<List<Edge>> adjList = new ArrayList<>();
-        for (int i = 0; i < vertices; i++) {
-            adjList.add(new ArrayList<>());
-        }
+    /**
+     * Read-only map view of the node names; prefer getNodes for lookups
+     */
+    public Map<String, Integer> getNodeToIndex() { return nodes.asMap(); }
 
-        for (Edge edge : edges) {
-            adjList.get(edge.getSource()).add(edge);
-            // For undirected graph, add reverse edge
-            adjList.get(edge.getDestination()).add(
-                    new Edge(edge.getDestination(), edge.getSource(), edge.getWeight())
-            );
-        }
-        return adjList;
+    /**
+     * True when every vertex has a name
+     */
+    public boolean hasNodeNames() {
+        return vertices > 0 && nodes.size() == vertices;
     }
 
     /**
-     * Load graphs from JSON file in resources folder - supports both formats
+     * Name of the vertex, or its index as text when the graph does not name every vertex
      */
-    public static List<Graph> loadGraphsFromJson(String filename) {
-        List<Graph> graphs = new ArrayList<>();
-        Gson gson = new Gson();
+    public String getNodeName(int vertex) {
+        return hasNodeNames() ? nodes.getName(vertex) : Integer.toString(vertex);
+    }
 
-        try (InputStream inputStream = Graph.class.getClassLoader().getResourceAsStream(filename);
-             InputStreamReader reader = new InputStreamReader(inputStream)) {
+    public int getEdgeSource(int edge) { return edgeSources[edge]; }
+    public int getEdgeDestination(int edge) { return edgeDestinations[edge]; }
+    public double getEdgeWeight(int edge) { return edgeWeights[edge]; }
 
-            if (inputStream == null) {
-                throw new RuntimeException("File not found: " + filename);
+    public int getNeighborStart(int vertex) { return neighborOffsets[vertex]; }
+    public int getNeighborEnd(int vertex) { return neighborOffsets[vertex + 1]; }
+    public int getNeighbor(int slot) { return neighborTargets[slot]; }
+    public double getNeighborWeight(int slot) { return neighborWeights[slot]; }
+    public int getDegree(int vertex) { return neighborOffsets[vertex + 1] - neighborOffsets[vertex]; }
+
+    /**
+     * Edge objects in input order, built from the edge arrays on first use
+     */
+    public synchronized List<Edge> getEdges() {
+        if (edges == null) {
+            List<Edge> list = new ArrayList<>(edgeCount);
+            for (int i = 0; i < edgeCount; i++) {
+                list.add(new Edge(edgeSources[i], edgeDestinations[i], edgeWeights[i]));
             }
+            edges = Collections.unmodifiableList(list);
+        }
+        return edges;
+    }
 
-            JsonElement jsonElement = gson.fromJson(reader, JsonElement.class);
+    /**
+     * Per-vertex Edge lists, built from the CSR arrays on first use
+     */
+    public synchronized List<List<Edge>> getAdjacencyList() {
+        if (adjacencyList == null) {
+            adjacencyList = createAdjacencyList();
+        }
+        return Collections.unmodifiableList(adjacencyList);
+    }
 
-            if (jsonElement == null) {
-                throw new RuntimeException("File is empty or invalid JSON: " + filename);
+    /**
+     * Hex SHA-256 over the vertex count and the edge arrays, computed on first use.
+     * Node names are not included: results are expressed in vertex indices.
+     */
+    public synchronized String getFingerprint() {
+        if (fingerprint == null) {
+            MessageDigest digest;
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
             }
 
-            if (jsonElement.isJsonObject()) {
-                // New format: { "graphs": [ ... ] }
-                JsonObject rootObject = jsonElement.getAsJsonObject();
-                if (rootObject.has("graphs")) {
-                    JsonArray graphsArray = rootObject.getAsJsonArray("graphs");
-                    graphs = parseNewFormat(graphsArray);
-                } else {
-                    throw new RuntimeException("JSON object should contain 'graphs' array");
+            ByteBuffer buffer = ByteBuffer.allocate(16 * 1024);
+            buffer.putInt(vertices).putInt(edgeCount);
+            for (int i = 0; i < edgeCount; i++) {
+                if (buffer.remaining() < 16) {
+                    buffer.flip();
+                    digest.update(buffer);
+                    buffer.clear();
                 }
-            } else if (jsonElement.isJsonArray()) {
-                // Old format: [ ... ]
-                JsonArray graphsArray = jsonElement.getAsJsonArray();
-                graphs = parseOldFormat(graphsArray);
-            } else {
-                throw new RuntimeException("Invalid JSON format in file: " + filename);
+                buffer.putInt(edgeSources[i])
+                        .putInt(edgeDestinations[i])
+                        .putLong(Double.doubleToLongBits(edgeWeights[i]));
             }
+            buffer.flip();
+            digest.update(buffer);
 
-            System.out.println("Successfully loaded " + graphs.size() + " graphs from " + filename);
-
-        } catch (Exception e) {
-            throw new RuntimeException("Error loading graphs from " + filename + ": " + e.getMessage(), e);
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : digest.digest()) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            fingerprint = hex.toString();
         }
-
-        return graphs;
+        return fingerprint;
     }
 
+    /**
+     * Counting sort of edge endpoints into the CSR arrays. Neighbors keep the
+     * order in which their edges appear in the edge list.
+     */
+    private void buildCsr() {
+        for (int i = 0; i < edgeCount; i++) {
+            neighborOffsets[edgeSources[i] + 1]++;
+            neighborOffsets[edgeDestinations[i] + 1]++;
+        }
+        for (int i = 0; i < vertices; i++) {
+            neighborOffsets[i + 1] += neighborOffsets[i];
+        }
 
-    private static List<Graph> parseNewFormat(JsonArray graphsArray) {
-        List<Graph> graphs = new ArrayList<>();
-
-        for (JsonElement graphElement : graphsArray) {
-            JsonObject graphObject = graphElement.getAsJsonObject();
-
-
-            JsonArray nodesArray = graphObject.getAsJsonArray("nodes");
-            Map<String, Integer> nodeToIndex = new HashMap<>();
-            List<String> nodeNames = new ArrayList<>();
-
-            for (JsonElement nodeElement : nodesArray) {
-                String nodeName = nodeElement.getAsString();
-                nodeToIndex.put(nodeName, nodeNames.size());
-                nodeNames.add(nodeName);
-            }
-
-            int vertices = nodesArray.size();
+        int[] next = Arrays.copyOf(neighborOffsets, vertices);
+        for (int i = 0; i < edgeCount; i++) {
+            int u = edgeSources[i];
+            int v = edgeDestinations[i];
+            int slot = next[u]++;
+            neighborTargets[slot] = v;
+            neighborWeights[slot] = edgeWeights[i];
+            // For undirected graph, add reverse edge
+            slot = next[v]++;
+            neighborTargets[slot] = u;
+            neighborWeights[slot] = edgeWeights[i];
+        }
+    }
 
-            // Parse edges
-            JsonArray edgesArray = graphObject.getAsJsonArray("edges");
-            List<Edge> edges = new ArrayList<>();
+    private static int[] sourcesOf(List<Edge> edges) {
+        int[] sources = new int[edges.size()];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = edges.get(i).getSource();
+        }
+        return sources;
+    }
 
-            for (JsonElement edgeElement : edgesArray) {
-                JsonObject edgeObject = edgeElement.getAsJsonObject();
-                String from = edgeObject.get("from").getAsString();
-                String to = edgeObject.get("to").getAsString();
-                double weight = edgeObject.get("weight").getAsDouble();
+    private static int[] destinationsOf(List<Edge> edges) {
+        int[] destinations = new int[edges.size()];
+        for (int i = 0; i < destinations.length; i++) {
+            destinations[i] = edges.get(i).getDestination();
+        }
+        return destinations;
+    }
 
-                int sourceIndex = nodeToIndex.get(from);
-                int destIndex = nodeToIndex.get(to);
+    private static double[] weightsOf(List<Edge> edges) {
+        double[] weights = new double[edges.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = edges.get(i).getWeight();
+        }
+        return weights;
+    }
 
-                edges.add(new Edge(sourceIndex, destIndex, weight));
+    private List<List<Edge>> createAdjacencyList() {
+        List<List<Edge>> adjList = new ArrayList<>(vertices);
+        for (int u = 0; u < vertices; u++) {
+            List<Edge> neighbors = new ArrayList<>(getDegree(u));
+            for (int slot = neighborOffsets[u]; slot < neighborOffsets[u + 1]; slot++) {
+                neighbors.add(new Edge(u, neighborTargets[slot], neighborWeights[slot]));
             }
-
-            graphs.add(new Graph(vertices, edges, nodeToIndex));
+            adjList.add(Collections.unmodifiableList(neighbors));
         }
-
-        return graphs;
+        return adjList;
     }
 
-
-    private static List<Graph> parseOldFormat(JsonArray graphsArray) {
+    /**
+     * Load graphs from JSON file in resources folder - supports both formats
+     */
+    public static List<Graph> loadGraphsFromJson(String filename) {
         List<Graph> graphs = new ArrayList<>();
 
-        for (JsonElement graphElement : graphsArray) {
-            JsonObject graphObject = graphElement.getAsJsonObject();
-            int vertices = graphObject.get("vertices").getAsInt();
-
-            JsonArray edgesArray = graphObject.getAsJsonArray("edges");
-            List<Edge> edges = new ArrayList<>();
-
-            for (JsonElement edgeElement : edgesArray) {
-                JsonArray edgeArray = edgeElement.getAsJsonArray();
-                int source = edgeArray.get(0).getAsInt();
-                int dest = edgeArray.get(1).getAsInt();
-                double weight = edgeArray.get(2).getAsDouble();
-                edges.add(new Edge(source, dest, weight));
+        try (JsonGraphReader reader = JsonGraphReader.open(filename)) {
+            while (reader.hasNext()) {
+                graphs.add(reader.next());
             }
+            System.out.println("Successfully loaded " + graphs.size() + " graphs from " + filename);
 
-            graphs.add(new Graph(vertices, edges));
+        } catch (Exception e) {
+            throw new RuntimeException("Error loading graphs from " + filename + ": " + e.getMessage(), e);
         }
 
         return graphs;
     }
 
+    /**
+     * Read graphs from a JSON file in resources one at a time, without holding the
+     * whole file or all graphs in memory. Close the stream when done.
+     */
+    public static Stream<Graph> streamGraphsFromJson(String filename) {
+        return JsonGraphReader.stream(filename);
+    }
+
     public int getEdgeCount() {
-        return edges.size();
+        return edgeCount;
     }
 
     @Override
     public String toString() {
-        return String.format("Graph(V=%d, E=%d)", vertices, edges.size());
+        return String.format("Graph(V=%d, E=%d)", vertices, edgeCount);
     }
 }
\ No newline at end of file
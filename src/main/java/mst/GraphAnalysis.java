@@ -0,0 +1,305 @@
+package mst;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+
+/**
+ * Structural facts about a graph, cheap enough to gather before choosing or running an
+ * MST engine: connected components, degree distribution, isolated vertices, self-loops,
+ * parallel edges and density. One union-find pass over the edge arrays labels the
+ * components, one pass over the adjacency arrays gathers the rest. Both passes can run
+ * in chunks on a ForkJoinPool, the common one or the caller's; no pool is created here.
+ * Parallel edges are found by sorting each vertex's higher neighbors in a scratch buffer
+ * the size of the largest degree seen, so a chunk needs no per-vertex array.
+ *
+ * Components are numbered in order of their lowest vertex, as in SpanningForest.
+ */
+public class GraphAnalysis {
+    // Below this many edges a pool costs more than it saves
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final int DEGREE_BUCKETS = 33;
+
+    private final int vertices;
+    private final int edges;
+    private final int componentCount;
+    private final int largestComponentSize;
+    private final int isolatedVertices;
+    private final long selfLoops;
+    private final long parallelEdges;
+    private final int minDegree;
+    private final int maxDegree;
+    private final long[] degreeHistogram;
+    private final int[] componentOf;      // Null once the labels are dropped
+    private final int[] componentSizes;
+    private final int[] componentEdges;
+
+    public GraphAnalysis(Graph graph) {
+        this(graph, 1);
+    }
+
+    /**
+     * @param parallelism chunks for the two passes, run on the common pool; graphs with few
+     *                    edges are analysed sequentially
+     */
+    public GraphAnalysis(Graph graph, int parallelism) {
+        this(graph, parallelism, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Run the passes on the caller's pool, in one chunk per worker
+     */
+    public GraphAnalysis(Graph graph, ForkJoinPool pool) {
+        this(graph, pool.getParallelism(), pool);
+    }
+
+    private GraphAnalysis(Graph graph, int parallelism, ForkJoinPool workers) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        this.vertices = graph.getVertices();
+        this.edges = graph.getEdgeCount();
+        int chunks = parallelism == 1 || edges < PARALLEL_THRESHOLD ? 1 : parallelism;
+
+        // Per-chunk partial results, summed below; ownEdges[u] counts u's edges to v >= u
+        long[] selfLoopCounts = new long[chunks];
+        long[] parallelCounts = new long[chunks];
+        long[][] histograms = new long[chunks][DEGREE_BUCKETS];
+        int[] minDegrees = new int[chunks];
+        int[] maxDegrees = new int[chunks];
+        int[] rootOf = new int[vertices];
+        int[] ownEdges = new int[vertices];
+
+        ForkJoinPool pool = chunks > 1 ? workers : null;
+        UnionFind sets = pool == null ? new UnionFind(vertices) : null;
+        ConcurrentUnionFind concurrentSets = pool == null ? null : new ConcurrentUnionFind(vertices);
+
+        forEachChunk(pool, chunks, chunk -> {
+            long loops = 0;
+            for (int edge = start(chunk, chunks, edges), end = start(chunk + 1, chunks, edges); edge < end; edge++) {
+                int source = graph.getEdgeSource(edge);
+                int destination = graph.getEdgeDestination(edge);
+                if (source == destination) {
+                    loops++;
+                } else if (sets != null) {
+                    sets.union(source, destination);
+                } else {
+                    concurrentSets.union(source, destination);
+                }
+            }
+            selfLoopCounts[chunk] = loops;
+        });
+
+        forEachChunk(pool, chunks, chunk -> {
+            int[] higher = new int[16]; // u's neighbors above u, sorted to spot repeats
+            long[] histogram = histograms[chunk];
+            long repeats = 0;
+            int min = Integer.MAX_VALUE;
+            int max = 0;
+            for (int u = start(chunk, chunks, vertices), end = start(chunk + 1, chunks, vertices); u < end; u++) {
+                rootOf[u] = sets != null ? sets.find(u) : concurrentSets.find(u);
+                int degree = graph.getDegree(u);
+                histogram[bucket(degree)]++;
+                min = Math.min(min, degree);
+                max = Math.max(max, degree);
+
+                int own = 0;
+                int loopSlots = 0; // A self-loop appears twice in u's neighbors
+                if (degree > higher.length) {
+                    higher = new int[Math.max(degree, 2 * higher.length)];
+                }
+                for (int slot = graph.getNeighborStart(u); slot < graph.getNeighborEnd(u); slot++) {
+                    int v = graph.getNeighbor(slot);
+                    if (v == u) {
+                        loopSlots++;
+                    } else if (v > u) {
+                        higher[own++] = v;
+                    }
+                }
+                Arrays.sort(higher, 0, own);
+                for (int i = 1; i < own; i++) {
+                    if (higher[i] == higher[i - 1]) repeats++;
+                }
+                ownEdges[u] = own + loopSlots / 2;
+            }
+            parallelCounts[chunk] = repeats;
+            minDegrees[chunk] = min;
+            maxDegrees[chunk] = max;
+        });
+
+        this.selfLoops = Arrays.stream(selfLoopCounts).sum();
+        this.parallelEdges = Arrays.stream(parallelCounts).sum();
+        this.degreeHistogram = new long[DEGREE_BUCKETS];
+        for (long[] histogram : histograms) {
+            for (int b = 0; b < DEGREE_BUCKETS; b++) {
+                degreeHistogram[b] += histogram[b];
+            }
+        }
+        this.minDegree = vertices == 0 ? 0 : Arrays.stream(minDegrees).min().getAsInt();
+        this.maxDegree = Arrays.stream(maxDegrees).max().orElse(0);
+        this.isolatedVertices = (int) degreeHistogram[0];
+
+        // Label roots in order of first appearance, which is lowest-vertex order
+        this.componentOf = new int[vertices];
+        int[] labelOfRoot = new int[vertices];
+        Arrays.fill(labelOfRoot, -1);
+        int[] sizes = new int[vertices];
+        int[] edgeCounts = new int[vertices];
+        int count = 0;
+        for (int v = 0; v < vertices; v++) {
+            int root = rootOf[v];
+            if (labelOfRoot[root] < 0) {
+                labelOfRoot[root] = count++;
+            }
+            int component = labelOfRoot[root];
+            componentOf[v] = component;
+            sizes[component]++;
+            edgeCounts[component] += ownEdges[v];
+        }
+        this.componentCount = count;
+        this.componentSizes = Arrays.copyOf(sizes, count);
+        this.componentEdges = Arrays.copyOf(edgeCounts, count);
+        this.largestComponentSize = Arrays.stream(componentSizes).max().orElse(0);
+    }
+
+    private GraphAnalysis(GraphAnalysis analysis) {
+        this.vertices = analysis.vertices;
+        this.edges = analysis.edges;
+        this.componentCount = analysis.componentCount;
+        this.largestComponentSize = analysis.largestComponentSize;
+        this.isolatedVertices = analysis.isolatedVertices;
+        this.selfLoops = analysis.selfLoops;
+        this.parallelEdges = analysis.parallelEdges;
+        this.minDegree = analysis.minDegree;
+        this.maxDegree = analysis.maxDegree;
+        this.degreeHistogram = analysis.degreeHistogram;
+        this.componentOf = null;
+        this.componentSizes = null;
+        this.componentEdges = null;
+    }
+
+    public int getVertices() { return vertices; }
+    public int getEdges() { return edges; }
+    public int getComponentCount() { return componentCount; }
+    public int getLargestComponentSize() { return largestComponentSize; }
+    public int getIsolatedVertices() { return isolatedVertices; }
+    public long getSelfLoops() { return selfLoops; }
+    public int getMinDegree() { return minDegree; }
+    public int getMaxDegree() { return maxDegree; }
+
+    /**
+     * Edges repeating a vertex pair seen before, not counting the first; repeated self-loops are only self-loops
+     */
+    public long getParallelEdges() { return parallelEdges; }
+
+    public boolean isConnected() {
+        return componentCount <= 1;
+    }
+
+    /**
+     * Mean degree 2E / V, a self-loop adding two to its vertex
+     */
+    public double getAverageDegree() {
+        return vertices == 0 ? 0.0 : 2.0 * edges / vertices;
+    }
+
+    /**
+     * Edges over the V (V - 1) / 2 vertex pairs; above 1 with parallel edges or self-loops
+     */
+    public double getDensity() {
+        return vertices < 2 ? 0.0 : 2.0 * edges / ((double) vertices * (vertices - 1));
+    }
+
+    /**
+     * Vertices by degree in powers of two: entry 0 counts degree 0, entry k > 0 counts
+     * degrees 2^(k-1) .. 2^k - 1. Trailing empty buckets are left out.
+     */
+    public long[] getDegreeHistogram() {
+        int length = DEGREE_BUCKETS;
+        while (length > 0 && degreeHistogram[length - 1] == 0) length--;
+        return Arrays.copyOf(degreeHistogram, length);
+    }
+
+    public int getComponent(int vertex) {
+        checkLabels();
+        return componentOf[vertex];
+    }
+
+    public int getComponentSize(int component) {
+        checkLabels();
+        return componentSizes[component];
+    }
+
+    /**
+     * Edges within the component, self-loops included
+     */
+    public int getComponentEdgeCount(int component) {
+        checkLabels();
+        return componentEdges[component];
+    }
+
+    /**
+     * Same counts without the per-vertex and per-component arrays, for keeping many analyses in memory
+     */
+    public GraphAnalysis withoutLabels() {
+        return componentOf == null ? this : new GraphAnalysis(this);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GraphAnalysis{vertices=%d, edges=%d, components=%d, isolated=%d, "
+                        + "selfLoops=%d, parallelEdges=%d, degree=%d..%d, density=%.6f}",
+                vertices, edges, componentCount, isolatedVertices, selfLoops, parallelEdges,
+                minDegree, maxDegree, getDensity());
+    }
+
+    private void checkLabels() {
+        if (componentOf == null) {
+            throw new IllegalStateException("Component labels were dropped by withoutLabels()");
+        }
+    }
+
+    private static int bucket(int degree) {
+        return 32 - Integer.numberOfLeadingZeros(degree);
+    }
+
+    private static int start(int chunk, int chunks, int length) {
+        return (int) ((long) length * chunk / chunks);
+    }
+
+    /**
+     * Run body for chunks 0 .. chunks - 1, in the pool when there is one
+     */
+    private static void forEachChunk(ForkJoinPool pool, int chunks, IntConsumer body) {
+        if (pool == null) {
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                body.accept(chunk);
+            }
+            return;
+        }
+        List<Callable<Void>> tasks = new ArrayList<>(chunks);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int c = chunk;
+            tasks.add(() -> {
+                body.accept(c);
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while analysing graph", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new IllegalStateException("Graph analysis failed", e.getCause());
+        }
+    }
+}
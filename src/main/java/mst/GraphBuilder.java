@@ -0,0 +1,150 @@
+package mst;
+
+import java.util.Arrays;
+
+/**
+ * Builds a Graph from edges added one at a time or in bulk, into growable primitive
+ * arrays. No Edge objects are created and build hands the arrays to the Graph without
+ * copying them, so pre-size the builder when the edge count is known: the arrays are
+ * kept at their grown capacity.
+ * A builder builds one graph; it cannot be used after build.
+ */
+public class GraphBuilder implements EdgeSink {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] sources;
+    private int[] destinations;
+    private double[] weights;
+    private int size;
+    private int maxVertex = -1;
+    private boolean built;
+
+    public GraphBuilder() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param expectedEdges capacity to allocate up front, so adding that many edges never grows the arrays
+     */
+    public GraphBuilder(int expectedEdges) {
+        if (expectedEdges < 0) {
+            throw new IllegalArgumentException("Expected edge count must not be negative: " + expectedEdges);
+        }
+        int capacity = Math.max(expectedEdges, 1);
+        sources = new int[capacity];
+        destinations = new int[capacity];
+        weights = new double[capacity];
+    }
+
+    public int getEdgeCount() { return size; }
+
+    /**
+     * Vertex count a build without an explicit one uses: the highest endpoint plus one
+     */
+    public int getVertices() { return maxVertex + 1; }
+
+    public void ensureCapacity(int edges) {
+        checkNotBuilt();
+        if (edges > sources.length) {
+            grow(edges);
+        }
+    }
+
+    @Override
+    public void addEdge(int source, int destination, double weight) {
+        checkNotBuilt();
+        if ((source | destination) < 0) {
+            throw new IllegalArgumentException("Negative edge endpoint: " + source + " - " + destination);
+        }
+        if (size == sources.length) {
+            grow(size + 1);
+        }
+        sources[size] = source;
+        destinations[size] = destination;
+        weights[size] = weight;
+        size++;
+        maxVertex = Math.max(maxVertex, Math.max(source, destination));
+    }
+
+    /**
+     * Append edges i = 0 .. sources.length - 1 given as parallel arrays, which are copied
+     */
+    public void addEdges(int[] sources, int[] destinations, double[] weights) {
+        if (destinations.length != sources.length || weights.length != sources.length) {
+            throw new IllegalArgumentException("Edge arrays differ in length: " + sources.length + ", "
+                    + destinations.length + ", " + weights.length);
+        }
+        addEdges(sources, destinations, weights, 0, sources.length);
+    }
+
+    public void addEdges(int[] sources, int[] destinations, double[] weights, int offset, int count) {
+        checkNotBuilt();
+        int max = maxVertex;
+        for (int i = offset; i < offset + count; i++) {
+            if ((sources[i] | destinations[i]) < 0) {
+                throw new IllegalArgumentException("Negative edge endpoint: " + sources[i] + " - " + destinations[i]);
+            }
+            max = Math.max(max, Math.max(sources[i], destinations[i]));
+        }
+        ensureCapacity(size + count);
+        System.arraycopy(sources, offset, this.sources, size, count);
+        System.arraycopy(destinations, offset, this.destinations, size, count);
+        System.arraycopy(weights, offset, this.weights, size, count);
+        size += count;
+        maxVertex = max;
+    }
+
+    /**
+     * Graph over vertices 0 .. getVertices() - 1
+     */
+    public Graph build() {
+        return build(getVertices());
+    }
+
+    public Graph build(int vertices) {
+        return build(vertices, new NodeDictionary(0));
+    }
+
+    /**
+     * Graph over the named nodes, one vertex per name, with the dictionary's ids as vertex indices
+     */
+    public Graph build(NodeDictionary nodes) {
+        return build(nodes.size(), nodes);
+    }
+
+    private Graph build(int vertices, NodeDictionary nodes) {
+        checkNotBuilt();
+        if (maxVertex >= vertices) {
+            throw new IllegalArgumentException("Edge endpoint " + maxVertex + " out of range for "
+                    + vertices + " vertices");
+        }
+        built = true;
+        return new Graph(vertices, sources, destinations, weights, size, nodes);
+    }
+
+    /**
+     * Replace every endpoint v by mapping[v]
+     */
+    void remapVertices(int[] mapping) {
+        checkNotBuilt();
+        maxVertex = -1;
+        for (int i = 0; i < size; i++) {
+            sources[i] = mapping[sources[i]];
+            destinations[i] = mapping[destinations[i]];
+            maxVertex = Math.max(maxVertex, Math.max(sources[i], destinations[i]));
+        }
+    }
+
+    private void grow(int minCapacity) {
+        int capacity = Math.max(minCapacity, sources.length + (sources.length >> 1) + 1);
+        sources = Arrays.copyOf(sources, capacity);
+        destinations = Arrays.copyOf(destinations, capacity);
+        weights = Arrays.copyOf(weights, capacity);
+    }
+
+    private void checkNotBuilt() {
+        if (built) {
+            throw new IllegalStateException("Graph already built; its edge arrays belong to the graph now");
+        }
+    }
+}
@@ -0,0 +1,437 @@
+package mst;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded synthetic graph generators for scale testing. A generator streams its edges into
+ * an EdgeSink, so a graph can go straight into a GraphBuilder (toGraph) or to the
+ * binary / JSON writers without ever existing as Edge objects. The same seed always
+ * produces the same edges in the same order.
+ */
+public abstract class GraphGenerator {
+    protected final int vertices;
+    protected final long seed;
+
+    protected GraphGenerator(int vertices, long seed) {
+        if (vertices < 0) {
+            throw new IllegalArgumentException("Vertex count must not be negative: " + vertices);
+        }
+        this.vertices = vertices;
+        this.seed = seed;
+    }
+
+    public int getVertices() { return vertices; }
+
+    /**
+     * Exact number of edges generate() will produce
+     */
+    public abstract long getEdgeCount();
+
+    public abstract void generate(EdgeSink sink);
+
+    public Graph toGraph() {
+        long edgeCount = getEdgeCount();
+        if (edgeCount > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("Too many edges for one graph: " + edgeCount);
+        }
+        GraphBuilder builder = new GraphBuilder((int) edgeCount);
+        generate(builder);
+        return builder.build(vertices);
+    }
+
+    public void writeBinary(Path target) throws IOException {
+        BinaryGraphFormat.write(this, target);
+    }
+
+    /**
+     * Write the graph in the legacy array format: [ { "vertices": n, "edges": [ [u, v, w], ... ] } ]
+     */
+    public void writeJson(Path target) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(target, StandardCharsets.UTF_8);
+             JsonWriter writer = new JsonWriter(out)) {
+            writer.beginArray();
+            writer.beginObject();
+            writer.name("vertices").value(vertices);
+            writer.name("edges").beginArray();
+            generate((source, destination, weight) -> {
+                try {
+                    writer.beginArray().value(source).value(destination).value(weight).endArray();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.endArray();
+            writer.endObject();
+            writer.endArray();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Erdos-Renyi style G(n, m): m edges between uniformly random distinct endpoints,
+     * weights uniform in [1, 1000). Parallel edges are possible, self-loops are not.
+     */
+    public static GraphGenerator randomGnm(int vertices, long edges, long seed) {
+        if (vertices < 2 && edges > 0) {
+            throw new IllegalArgumentException("G(n, m) needs at least two vertices for edges");
+        }
+        return new GraphGenerator(vertices, seed) {
+            @Override
+            public long getEdgeCount() { return edges; }
+
+            @Override
+            public void generate(EdgeSink sink) {
+                SplittableRandom random = new SplittableRandom(seed);
+                for (long i = 0; i < edges; i++) {
+                    int u = random.nextInt(vertices);
+                    int v = random.nextInt(vertices - 1);
+                    if (v >= u) v++;
+                    sink.addEdge(u, v, 1.0 + random.nextDouble() * 999.0);
+                }
+            }
+        };
+    }
+
+    /**
+     * Road-like planar grid: intersections on a jittered rows x cols lattice joined to their
+     * right and lower neighbours. Weights are the Euclidean length times a random detour
+     * factor in [1, 1.5).
+     */
+    public static GraphGenerator grid(int rows, int cols, long seed) {
+        if (rows < 1 || cols < 1) {
+            throw new IllegalArgumentException("Grid needs at least one row and column: " + rows + " x " + cols);
+        }
+        if ((long) rows * cols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Grid too large: " + rows + " x " + cols);
+        }
+        return new GraphGenerator(rows * cols, seed) {
+            @Override
+            public long getEdgeCount() {
+                return (long) rows * (cols - 1) + (long) cols * (rows - 1);
+            }
+
+            @Override
+            public void generate(EdgeSink sink) {
+                SplittableRandom random = new SplittableRandom(seed);
+                // Two rows of jittered coordinates are enough to emit every edge
+                double[] previousX = new double[cols];
+                double[] previousY = new double[cols];
+                double[] currentX = new double[cols];
+                double[] currentY = new double[cols];
+
+                for (int r = 0; r < rows; r++) {
+                    for (int c = 0; c < cols; c++) {
+                        currentX[c] = c + (random.nextDouble() - 0.5) * 0.6;
+                        currentY[c] = r + (random.nextDouble() - 0.5) * 0.6;
+                        int id = r * cols + c;
+                        if (c > 0) {
+                            double length = Math.hypot(currentX[c] - currentX[c - 1], currentY[c] - currentY[c - 1]);
+                            sink.addEdge(id - 1, id, length * (1.0 + random.nextDouble() * 0.5));
+                        }
+                        if (r > 0) {
+                            double length = Math.hypot(currentX[c] - previousX[c], currentY[c] - previousY[c]);
+                            sink.addEdge(id - cols, id, length * (1.0 + random.nextDouble() * 0.5));
+                        }
+                    }
+                    double[] tmp = previousX;
+                    previousX = currentX;
+                    currentX = tmp;
+                    tmp = previousY;
+                    previousY = currentY;
+                    currentY = tmp;
+                }
+            }
+        };
+    }
+
+    /**
+     * Geometric k-nearest-neighbour graph: uniform points in the unit square, each joined to
+     * its k nearest points with the Euclidean distance as weight. Mutual neighbours produce a
+     * parallel edge pair. Points are bucketed into a uniform grid for the neighbour search.
+     */
+    public static GraphGenerator geometricKNearest(int vertices, int k, long seed) {
+        if (k < 1 || k >= Math.max(vertices, 1)) {
+            throw new IllegalArgumentException("k must be in [1, vertices - 1]: " + k);
+        }
+        return new GraphGenerator(vertices, seed) {
+            @Override
+            public long getEdgeCount() { return (long) vertices * k; }
+
+            @Override
+            public void generate(EdgeSink sink) {
+                SplittableRandom random = new SplittableRandom(seed);
+                double[] xs = new double[vertices];
+                double[] ys = new double[vertices];
+                for (int i = 0; i < vertices; i++) {
+                    xs[i] = random.nextDouble();
+                    ys[i] = random.nextDouble();
+                }
+                new KNearestSearch(xs, ys, k).emitEdges(sink);
+            }
+        };
+    }
+
+    /**
+     * Preferential-attachment (Barabasi-Albert) power-law graph: each new vertex attaches
+     * edgesPerVertex edges to distinct existing vertices chosen proportionally to their
+     * degree, or to all of them while there are fewer. No self-loops or parallel edges.
+     * Weights are uniform in [1, 1000).
+     */
+    public static GraphGenerator powerLaw(int vertices, int edgesPerVertex, long seed) {
+        if (edgesPerVertex < 1) {
+            throw new IllegalArgumentException("edgesPerVertex must be positive: " + edgesPerVertex);
+        }
+        return new GraphGenerator(vertices, seed) {
+            @Override
+            public long getEdgeCount() {
+                if (vertices < 2) return 0;
+                long k = edgesPerVertex;
+                long n = vertices - 1;
+                return n <= k ? n * (n + 1) / 2 : k * (k + 1) / 2 + (n - k) * k;
+            }
+
+            @Override
+            public void generate(EdgeSink sink) {
+                if (vertices < 2) return;
+                SplittableRandom random = new SplittableRandom(seed);
+                // Every edge endpoint is recorded once, so a uniform pick is degree-proportional
+                int[] endpoints = new int[Math.toIntExact(2 * getEdgeCount())];
+                int[] targets = new int[edgesPerVertex];
+                int size = 0;
+                for (int v = 1; v < vertices; v++) {
+                    int count = Math.min(edgesPerVertex, v);
+                    for (int j = 0; j < count; j++) {
+                        int target;
+                        if (v <= edgesPerVertex) {
+                            target = j; // Too few vertices to choose from, attach to all of them
+                        } else {
+                            // v is only recorded after its own picks, so only repeats need rejecting
+                            do {
+                                target = endpoints[random.nextInt(size)];
+                            } while (contains(targets, j, target));
+                        }
+                        targets[j] = target;
+                        sink.addEdge(v, target, 1.0 + random.nextDouble() * 999.0);
+                    }
+                    for (int j = 0; j < count; j++) {
+                        endpoints[size++] = v;
+                        endpoints[size++] = targets[j];
+                    }
+                }
+            }
+        };
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Complete graph with weights uniform in [1, 1000)
+     */
+    public static GraphGenerator complete(int vertices, long seed) {
+        return new GraphGenerator(vertices, seed) {
+            @Override
+            public long getEdgeCount() { return (long) vertices * (vertices - 1) / 2; }
+
+            @Override
+            public void generate(EdgeSink sink) {
+                SplittableRandom random = new SplittableRandom(seed);
+                for (int u = 0; u < vertices; u++) {
+                    for (int v = u + 1; v < vertices; v++) {
+                        sink.addEdge(u, v, 1.0 + random.nextDouble() * 999.0);
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * k-nearest-neighbour search over points bucketed into a uniform grid with about
+     * k points per cell; rings of cells are scanned until the k-th best distance is
+     * closer than the next ring.
+     */
+    private static class KNearestSearch {
+        private final double[] xs;
+        private final double[] ys;
+        private final int k;
+        private final int cellsPerSide;
+        private final int[] cellStart;
+        private final int[] cellPoints;
+
+        KNearestSearch(double[] xs, double[] ys, int k) {
+            this.xs = xs;
+            this.ys = ys;
+            this.k = k;
+            int n = xs.length;
+            this.cellsPerSide = Math.max(1, (int) Math.sqrt((double) n / Math.max(k, 2)));
+            int cells = cellsPerSide * cellsPerSide;
+            this.cellStart = new int[cells + 1];
+            this.cellPoints = new int[n];
+
+            for (int i = 0; i < n; i++) {
+                cellStart[cellOf(i) + 1]++;
+            }
+            for (int c = 0; c < cells; c++) {
+                cellStart[c + 1] += cellStart[c];
+            }
+            int[] next = Arrays.copyOf(cellStart, cells);
+            for (int i = 0; i < n; i++) {
+                cellPoints[next[cellOf(i)]++] = i;
+            }
+        }
+
+        void emitEdges(EdgeSink sink) {
+            int[] bestIds = new int[k];
+            double[] bestDistances = new double[k];
+
+            for (int i = 0; i < xs.length; i++) {
+                int found = search(i, bestIds, bestDistances);
+                for (int j = 0; j < found; j++) {
+                    sink.addEdge(i, bestIds[j], Math.sqrt(bestDistances[j]));
+                }
+            }
+        }
+
+        /**
+         * Fill best* with the k nearest points to i as a max-heap on squared distance
+         */
+        private int search(int i, int[] bestIds, double[] bestDistances) {
+            int cx = cell(xs[i]);
+            int cy = cell(ys[i]);
+            double cellSize = 1.0 / cellsPerSide;
+            int found = 0;
+
+            for (int ring = 0; ring < cellsPerSide; ring++) {
+                if (found == k) {
+                    double reach = (ring - 1) * cellSize;
+                    if (reach * reach >= bestDistances[0]) break;
+                }
+                for (int gy = cy - ring; gy <= cy + ring; gy++) {
+                    if (gy < 0 || gy >= cellsPerSide) continue;
+                    boolean edgeRow = gy == cy - ring || gy == cy + ring;
+                    for (int gx = cx - ring; gx <= cx + ring; gx += edgeRow ? 1 : 2 * ring) {
+                        if (gx >= 0 && gx < cellsPerSide) {
+                            found = scanCell(i, gy * cellsPerSide + gx, bestIds, bestDistances, found);
+                        }
+                        if (ring == 0) break;
+                    }
+                }
+            }
+            return found;
+        }
+
+        private int scanCell(int i, int cell, int[] bestIds, double[] bestDistances, int found) {
+            for (int p = cellStart[cell]; p < cellStart[cell + 1]; p++) {
+                int j = cellPoints[p];
+                if (j == i) continue;
+                double dx = xs[i] - xs[j];
+                double dy = ys[i] - ys[j];
+                double distance = dx * dx + dy * dy;
+
+                if (found < k) {
+                    siftUp(bestIds, bestDistances, found++, j, distance);
+                } else if (distance < bestDistances[0]) {
+                    siftDown(bestIds, bestDistances, found, j, distance);
+                }
+            }
+            return found;
+        }
+
+        private static void siftUp(int[] ids, double[] distances, int pos, int id, double distance) {
+            while (pos > 0) {
+                int parent = (pos - 1) / 2;
+                if (distances[parent] >= distance) break;
+                ids[pos] = ids[parent];
+                distances[pos] = distances[parent];
+                pos = parent;
+            }
+            ids[pos] = id;
+            distances[pos] = distance;
+        }
+
+        /**
+         * Replace the current maximum (the root) and restore the heap
+         */
+        private static void siftDown(int[] ids, double[] distances, int size, int id, double distance) {
+            int pos = 0;
+            while (true) {
+                int child = 2 * pos + 1;
+                if (child >= size) break;
+                if (child + 1 < size && distances[child + 1] > distances[child]) child++;
+                if (distances[child] <= distance) break;
+                ids[pos] = ids[child];
+                distances[pos] = distances[child];
+                pos = child;
+            }
+            ids[pos] = id;
+            distances[pos] = distance;
+        }
+
+        private int cellOf(int i) {
+            return cell(ys[i]) * cellsPerSide + cell(xs[i]);
+        }
+
+        private int cell(double coordinate) {
+            return Math.min((int) (coordinate * cellsPerSide), cellsPerSide - 1);
+        }
+    }
+
+    /**
+     * Usage: GraphGenerator <gnm|grid|knn|powerlaw|complete> <vertices> <param> <seed> <output.json|output.mstg>
+     *   param is m for gnm, columns for grid (vertices = rows), k for knn, edges per vertex for powerlaw
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 5) {
+            System.err.println("Usage: GraphGenerator <gnm|grid|knn|powerlaw|complete> <vertices> <param> <seed> <output>");
+            System.exit(1);
+        }
+        int vertices = Integer.parseInt(args[1]);
+        long param = Long.parseLong(args[2]);
+        long seed = Long.parseLong(args[3]);
+        Path target = Path.of(args[4]);
+
+        GraphGenerator generator;
+        switch (args[0]) {
+            case "gnm":
+                generator = randomGnm(vertices, param, seed);
+                break;
+            case "grid":
+                generator = grid(vertices, (int) param, seed);
+                break;
+            case "knn":
+                generator = geometricKNearest(vertices, (int) param, seed);
+                break;
+            case "powerlaw":
+                generator = powerLaw(vertices, (int) param, seed);
+                break;
+            case "complete":
+                generator = complete(vertices, seed);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown generator: " + args[0]);
+        }
+
+        long startTime = System.nanoTime();
+        if (target.toString().endsWith(".json")) {
+            generator.writeJson(target);
+        } else {
+            generator.writeBinary(target);
+        }
+        System.out.printf("Wrote %,d vertices and %,d edges to %s in %.1f ms%n",
+                generator.getVertices(), generator.getEdgeCount(), target, (System.nanoTime() - startTime) / 1e6);
+    }
+}
@@ -24,6 +24,7 @@ public class GraphVisualizer {
             writer.write("  rankdir=LR;\n");
             writer.write("  node [shape=circle, style=filled, fillcolor=lightblue, fontname=Arial];\n");
             writer.write("  edge [fontname=Arial, fontsize=10];\n\n");
+            writeNodeLabels(writer, graph);
 
             // Write all original edges in light gray
             writer.write("  // Original graph edges (light gray)\n");
@@ -62,6 +63,7 @@ public class GraphVisualizer {
             writer.write("  layout=fdp;\n");
             writer.write("  node [shape=circle, style=filled, fillcolor=lightblue];\n");
             writer.write("  edge [fontsize=8];\n\n");
+            writeNodeLabels(writer, graph);
 
             // Write only MST edges
             for (Edge edge : mstEdges) {
@@ -77,10 +79,30 @@ public class GraphVisualizer {
         }
     }
 
+    /**
+     * Label the numbered DOT nodes with the graph's node names, if it has them
+     */
+    private static void writeNodeLabels(FileWriter writer, Graph graph) throws IOException {
+        if (!graph.hasNodeNames()) return;
+        for (int v = 0; v < graph.getVertices(); v++) {
+            writer.write("  " + v + " [label=\"" + graph.getNodeName(v).replace("\"", "\\\"") + "\"];\n");
+        }
+        writer.write("\n");
+    }
+
     /**
      * Visualize first few graphs from the dataset
      */
-    public static void visualizeGraphs(List<Graph> graphs, PrimAlgorithm prim, KruskalAlgorithm kruskal) {
+    public static void visualizeGraphs(List<Graph> graphs, List<MSTAlgorithm> algorithms) {
+        visualizeGraphs(graphs, algorithms, new MSTResultCache(3 * algorithms.size()));
+    }
+
+    /**
+     * Visualize first few graphs with the MST of every algorithm, taking MSTs already
+     * computed for them from the cache. The first algorithm also gets an MST-only file.
+     */
+    public static void visualizeGraphs(List<Graph> graphs, List<MSTAlgorithm> algorithms,
+                                       MSTResultCache cache) {
         System.out.println("\n" + "=".repeat(60));
         System.out.println("GRAPH VISUALIZATION (BONUS SECTION)");
         System.out.println("=".repeat(60));
@@ -93,20 +115,22 @@ public class GraphVisualizer {
 
             // Only visualize smaller graphs (up to 50 vertices)
             if (graph.getVertices() <= 50) {
-                PrimAlgorithm.MSTResult primResult = prim.findMST(graph);
-                KruskalAlgorithm.MSTResult kruskalResult = kruskal.findMST(graph);
-
-                generateDOT(graph, primResult.getEdges(),
-                        String.format("graph_%d_prim.dot", i + 1),
-                        String.format("Graph%d_PrimMST", i + 1));
-
-                generateDOT(graph, kruskalResult.getEdges(),
-                        String.format("graph_%d_kruskal.dot", i + 1),
-                        String.format("Graph%d_KruskalMST", i + 1));
-
-                generateSimpleDOT(graph, primResult.getEdges(),
-                        String.format("graph_%d_prim_simple.dot", i + 1),
-                        String.format("Graph%d_PrimMST_Simple", i + 1));
+                for (int a = 0; a < algorithms.size(); a++) {
+                    MSTAlgorithm algorithm = algorithms.get(a);
+                    String name = algorithm.getName();
+                    String displayName = MSTAlgorithm.displayName(name);
+                    List<Edge> mstEdges = cache.findMST(graph, algorithm).getEdges();
+
+                    generateDOT(graph, mstEdges,
+                            String.format("graph_%d_%s.dot", i + 1, name),
+                            String.format("Graph%d_%sMST", i + 1, displayName));
+
+                    if (a == 0) {
+                        generateSimpleDOT(graph, mstEdges,
+                                String.format("graph_%d_%s_simple.dot", i + 1, name),
+                                String.format("Graph%d_%sMST_Simple", i + 1, displayName));
+                    }
+                }
             }
         }
 
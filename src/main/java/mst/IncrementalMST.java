@@ -0,0 +1,199 @@
+package mst;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Maintains a minimum spanning forest under edge insertions and weight decreases.
+ * Tree edges live in a link-cut tree as extra nodes carrying the edge weight, so the
+ * heaviest edge on the tree path between two vertices is found in O(log V) amortized.
+ * A new or cheaper edge replaces that heaviest edge when it is lighter (cycle property).
+ * Non-tree edges are never needed again under these updates and are not stored.
+ * Tree edges are found by endpoints through an open-addressing table of slots, so lookups
+ * create no boxed keys.
+ */
+public class IncrementalMST {
+    private final int vertices;
+    private final LinkCutTree tree;
+
+    // Tree edge slots; slot s is link-cut node vertices + s, a free slot has source -1
+    private final int[] edgeSources;
+    private final int[] edgeDestinations;
+    private final int[] freeSlots;
+    private int freeCount;
+    private final int[] slotTable;  // Probe position to slot, -1 when empty; at most half full
+
+    private double totalWeight;
+    private long updateCount;
+    private long replacementCount;
+
+    public IncrementalMST(int vertices) {
+        this.vertices = vertices;
+        int capacity = Math.max(vertices - 1, 0);
+        this.tree = new LinkCutTree(vertices + capacity);
+        this.edgeSources = new int[capacity];
+        this.edgeDestinations = new int[capacity];
+        Arrays.fill(edgeSources, -1);
+        this.freeSlots = new int[capacity];
+        for (int s = 0; s < capacity; s++) {
+            freeSlots[s] = capacity - 1 - s;
+        }
+        this.freeCount = capacity;
+        this.slotTable = new int[Integer.highestOneBit(Math.max(capacity, 1)) * 4];
+        Arrays.fill(slotTable, -1);
+    }
+
+    /**
+     * Start from the minimum spanning forest of the graph
+     */
+    public IncrementalMST(Graph graph) {
+        this(graph.getVertices());
+        for (Edge edge : new KruskalAlgorithm(KruskalAlgorithm.Mode.RADIX_SORT).findMST(graph).getEdges()) {
+            addTreeEdge(edge.getSource(), edge.getDestination(), edge.getWeight());
+        }
+    }
+
+    public int getVertices() { return vertices; }
+    public double getTotalWeight() { return totalWeight; }
+    public int getTreeEdgeCount() { return edgeSources.length - freeCount; }
+    public long getUpdateCount() { return updateCount; }
+    public long getReplacementCount() { return replacementCount; }
+
+    public boolean connected(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        return tree.connected(u, v);
+    }
+
+    /**
+     * Add an edge to the graph, returns true if the forest changed
+     */
+    public boolean insertEdge(int u, int v, double weight) {
+        checkVertex(u);
+        checkVertex(v);
+        updateCount++;
+        if (u == v) return false;
+
+        if (!tree.connected(u, v)) {
+            addTreeEdge(u, v, weight);
+            return true;
+        }
+
+        int heaviest = tree.pathMax(u, v);
+        if (weight >= tree.getWeight(heaviest)) return false;
+
+        removeTreeEdge(heaviest - vertices);
+        addTreeEdge(u, v, weight);
+        replacementCount++;
+        return true;
+    }
+
+    /**
+     * Lower the weight of an existing edge, returns true if the forest changed.
+     * A tree edge is updated in place; a non-tree edge behaves like inserting its cheaper copy.
+     * If a lighter parallel edge already joins u and v in the forest, nothing changes.
+     */
+    public boolean decreaseWeight(int u, int v, double newWeight) {
+        checkVertex(u);
+        checkVertex(v);
+        int slot = slotTable[find(u, v)];
+        if (slot < 0) {
+            return insertEdge(u, v, newWeight);
+        }
+
+        updateCount++;
+        int node = vertices + slot;
+        double oldWeight = tree.getWeight(node);
+        if (newWeight >= oldWeight) return false;
+
+        tree.setWeight(node, newWeight);
+        totalWeight += newWeight - oldWeight;
+        return true;
+    }
+
+    /**
+     * Current forest edges, in no particular order
+     */
+    public List<Edge> getTreeEdges() {
+        List<Edge> edges = new ArrayList<>(getTreeEdgeCount());
+        for (int slot = 0; slot < edgeSources.length; slot++) {
+            if (edgeSources[slot] >= 0) {
+                edges.add(new Edge(edgeSources[slot], edgeDestinations[slot], tree.getWeight(vertices + slot)));
+            }
+        }
+        return edges;
+    }
+
+    private void addTreeEdge(int u, int v, double weight) {
+        int slot = freeSlots[--freeCount];
+        int node = vertices + slot;
+        edgeSources[slot] = u;
+        edgeDestinations[slot] = v;
+        tree.setWeight(node, weight);
+        tree.link(u, node);
+        tree.link(node, v);
+        slotTable[find(u, v)] = slot; // A tree never holds two edges between the same vertices
+        totalWeight += weight;
+    }
+
+    private void removeTreeEdge(int slot) {
+        int node = vertices + slot;
+        int u = edgeSources[slot];
+        int v = edgeDestinations[slot];
+        tree.cut(u, node);
+        tree.cut(node, v);
+        totalWeight -= tree.getWeight(node);
+        tree.setWeight(node, Double.NEGATIVE_INFINITY);
+        removeFromTable(find(u, v));
+        edgeSources[slot] = -1;
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * Table position holding the slot of the tree edge u-v, or the empty position where it would go
+     */
+    private int find(int u, int v) {
+        long key = endpointKey(u, v);
+        int mask = slotTable.length - 1;
+        for (int position = hash(key) & mask; ; position = (position + 1) & mask) {
+            int slot = slotTable[position];
+            if (slot < 0 || endpointKey(edgeSources[slot], edgeDestinations[slot]) == key) {
+                return position;
+            }
+        }
+    }
+
+    /**
+     * Empty the position and shift later entries of the probe run back, so lookups never stop early
+     */
+    private void removeFromTable(int position) {
+        int mask = slotTable.length - 1;
+        int hole = position;
+        for (int next = (hole + 1) & mask; slotTable[next] >= 0; next = (next + 1) & mask) {
+            int slot = slotTable[next];
+            int home = hash(endpointKey(edgeSources[slot], edgeDestinations[slot])) & mask;
+            // The entry may fill the hole unless its home lies cyclically in (hole, next]
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                slotTable[hole] = slot;
+                hole = next;
+            }
+        }
+        slotTable[hole] = -1;
+    }
+
+    private long endpointKey(int u, int v) {
+        return (long) Math.min(u, v) * vertices + Math.max(u, v);
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private void checkVertex(int v) {
+        if (v < 0 || v >= vertices) {
+            throw new IllegalArgumentException("Vertex out of range: " + v);
+        }
+    }
+}
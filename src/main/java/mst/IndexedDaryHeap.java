@@ -0,0 +1,114 @@
+package mst;
+
+import java.util.Arrays;
+
+/**
+ * Indexed d-ary min-heap over vertex ids 0..capacity-1 with decrease-key.
+ * Each id is present at most once, so the heap never holds more than capacity entries.
+ * Keys are stored next to their heap position to keep sift loops on primitive arrays.
+ */
+public class IndexedDaryHeap {
+    public static final int DEFAULT_ARITY = 4;
+
+    private final int arity;
+    private final int[] heap;       // heap position -> id
+    private final double[] keys;    // heap position -> key
+    private final int[] positions;  // id -> heap position, -1 when absent
+    private int size;
+
+    public IndexedDaryHeap(int capacity) {
+        this(capacity, DEFAULT_ARITY);
+    }
+
+    public IndexedDaryHeap(int capacity, int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Heap arity must be at least 2: " + arity);
+        }
+        this.arity = arity;
+        this.heap = new int[capacity];
+        this.keys = new double[capacity];
+        this.positions = new int[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public int getArity() { return arity; }
+    public boolean contains(int id) { return positions[id] >= 0; }
+
+    public double getKey(int id) {
+        return keys[positions[id]];
+    }
+
+    public void insert(int id, double key) {
+        if (positions[id] >= 0) {
+            throw new IllegalStateException("Id already in heap: " + id);
+        }
+        siftUp(size++, id, key);
+    }
+
+    /**
+     * Lower the key of an id already in the heap; larger keys are ignored
+     */
+    public void decreaseKey(int id, double key) {
+        int pos = positions[id];
+        if (key < keys[pos]) {
+            siftUp(pos, id, key);
+        }
+    }
+
+    public int peekMin() {
+        return heap[0];
+    }
+
+    /**
+     * Remove and return the id with the smallest key
+     */
+    public int pollMin() {
+        int min = heap[0];
+        positions[min] = -1;
+        size--;
+        if (size > 0) {
+            siftDown(0, heap[size], keys[size]);
+        }
+        return min;
+    }
+
+    private void siftUp(int pos, int id, double key) {
+        while (pos > 0) {
+            int parent = (pos - 1) / arity;
+            if (keys[parent] <= key) break;
+            place(pos, heap[parent], keys[parent]);
+            pos = parent;
+        }
+        place(pos, id, key);
+    }
+
+    private void siftDown(int pos, int id, double key) {
+        while (true) {
+            int first = pos * arity + 1;
+            if (first >= size) break;
+
+            int last = Math.min(first + arity, size);
+            int best = first;
+            double bestKey = keys[first];
+            for (int child = first + 1; child < last; child++) {
+                if (keys[child] < bestKey) {
+                    best = child;
+                    bestKey = keys[child];
+                }
+            }
+
+            if (bestKey >= key) break;
+            place(pos, heap[best], bestKey);
+            pos = best;
+        }
+        place(pos, id, key);
+    }
+
+    private void place(int pos, int id, double key) {
+        heap[pos] = id;
+        keys[pos] = key;
+        positions[id] = pos;
+    }
+}
@@ -1,9 +1,9 @@
 package mst;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 
@@ -26,6 +26,9 @@ public class JSONChecker {
         }
     }
 
+    /**
+     * Walks the token stream with a JsonReader, so checking a file never builds a DOM
+     */
     private static void checkJSONFile(String filename) {
         try (InputStream inputStream = Graph.class.getClassLoader().getResourceAsStream(filename)) {
             if (inputStream == null) {
@@ -33,25 +36,26 @@ public class JSONChecker {
                 return;
             }
 
-            InputStreamReader reader = new InputStreamReader(inputStream);
-            JsonElement jsonElement = JsonParser.parseReader(reader);
+            JsonReader reader = new JsonReader(new BufferedReader(new InputStreamReader(inputStream)));
+            JsonToken rootToken = reader.peek();
 
-            if (jsonElement.isJsonObject() && jsonElement.getAsJsonObject().has("graphs")) {
+            if (rootToken == JsonToken.BEGIN_OBJECT && findGraphsArray(reader)) {
                 System.out.println("  New format: { \"graphs\": [ ... ] }");
-                JsonArray graphsArray = jsonElement.getAsJsonObject().getAsJsonArray("graphs");
-                System.out.println("  Number of graphs: " + graphsArray.size());
-
-                // Check 1 graph structure
-                if (graphsArray.size() > 0) {
-                    JsonObject firstGraph = graphsArray.get(0).getAsJsonObject();
-                    System.out.println("  First graph has:");
-                    if (firstGraph.has("id")) System.out.println("    - id: " + firstGraph.get("id"));
-                    if (firstGraph.has("nodes")) System.out.println("    - nodes: " + firstGraph.getAsJsonArray("nodes").size() + " nodes");
-                    if (firstGraph.has("edges")) System.out.println("    - edges: " + firstGraph.getAsJsonArray("edges").size() + " edges");
+                int graphCount = 0;
+                while (reader.hasNext()) {
+                    if (graphCount == 0) {
+                        // Check 1 graph structure
+                        System.out.println("  First graph has:");
+                        describeGraph(reader);
+                    } else {
+                        reader.skipValue();
+                    }
+                    graphCount++;
                 }
-            } else if (jsonElement.isJsonArray()) {
+                System.out.println("  Number of graphs: " + graphCount);
+            } else if (rootToken == JsonToken.BEGIN_ARRAY) {
                 System.out.println("  Old format: [ ... ] (array of graphs)");
-                System.out.println("  Number of graphs: " + jsonElement.getAsJsonArray().size());
+                System.out.println("  Number of graphs: " + countElements(reader));
             } else {
                 System.out.println("  Unknown format");
             }
@@ -60,4 +64,44 @@ public class JSONChecker {
             System.out.println("  Error: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    private static boolean findGraphsArray(JsonReader reader) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("graphs") && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                return true;
+            }
+            reader.skipValue();
+        }
+        return false;
+    }
+
+    private static void describeGraph(JsonReader reader) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("id")) {
+                System.out.println("    - id: " + reader.nextString());
+            } else if (name.equals("nodes")) {
+                System.out.println("    - nodes: " + countElements(reader) + " nodes");
+            } else if (name.equals("edges")) {
+                System.out.println("    - edges: " + countElements(reader) + " edges");
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private static int countElements(JsonReader reader) throws IOException {
+        int count = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            reader.skipValue();
+            count++;
+        }
+        reader.endArray();
+        return count;
+    }
+}
@@ -0,0 +1,228 @@
+package mst;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streaming JSON graph loader. Reads one graph at a time with a JsonReader, straight
+ * into primitive edge arrays, so only the graph currently being returned is in memory.
+ * Supports both formats:
+ *   new:    { "graphs": [ { "id": 1, "nodes": ["A", ...], "edges": [ {"from": "A", "to": "B", "weight": 1}, ... ] } ] }
+ *   legacy: [ { "vertices": 4, "edges": [ [0, 1, 2.0], ... ] } ]
+ */
+public class JsonGraphReader implements Iterator<Graph>, Closeable {
+    private final JsonReader reader;
+    private boolean started;
+    private boolean finished;
+
+    public JsonGraphReader(Reader source) {
+        this.reader = new JsonReader(source);
+    }
+
+    /**
+     * Open a JSON file from the resources folder
+     */
+    public static JsonGraphReader open(String filename) {
+        InputStream inputStream = Graph.class.getClassLoader().getResourceAsStream(filename);
+        if (inputStream == null) {
+            throw new RuntimeException("File not found: " + filename);
+        }
+        return new JsonGraphReader(new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Lazily read graphs from a resource file; close the stream to release the file
+     */
+    public static Stream<Graph> stream(String filename) {
+        JsonGraphReader graphReader = open(filename);
+        Spliterator<Graph> spliterator = Spliterators.spliteratorUnknownSize(graphReader, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(graphReader::close);
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            if (!started) {
+                start();
+            }
+            if (finished) return false;
+            if (reader.hasNext()) return true;
+
+            reader.endArray();
+            finished = true;
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading graphs: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Graph next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            return readGraph();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading graph: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Position the reader on the first element of the graphs array
+     */
+    private void start() throws IOException {
+        started = true;
+        JsonToken token = reader.peek();
+        if (token == JsonToken.BEGIN_ARRAY) {
+            // Old format: [ ... ]
+            reader.beginArray();
+        } else if (token == JsonToken.BEGIN_OBJECT) {
+            // New format: { "graphs": [ ... ] }
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("graphs")) {
+                    reader.beginArray();
+                    return;
+                }
+                reader.skipValue();
+            }
+            throw new RuntimeException("JSON object should contain 'graphs' array");
+        } else if (token == JsonToken.END_DOCUMENT) {
+            throw new RuntimeException("File is empty or invalid JSON");
+        } else {
+            throw new RuntimeException("Invalid JSON format: expected object or array but found " + token);
+        }
+    }
+
+    private Graph readGraph() throws IOException {
+        int vertices = -1;
+        NodeDictionary nodes = null;
+        NodeDictionary provisional = null; // Ids for names met in "edges" before "nodes"
+        GraphBuilder edges = new GraphBuilder();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "vertices":
+                    vertices = reader.nextInt();
+                    break;
+                case "nodes":
+                    nodes = new NodeDictionary();
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        // One vertex per listed name, so a repeated name would silently lose a vertex
+                        String name = reader.nextString();
+                        int size = nodes.size();
+                        nodes.add(name);
+                        if (nodes.size() == size) {
+                            throw new RuntimeException("Duplicate node name: " + name);
+                        }
+                    }
+                    reader.endArray();
+                    break;
+                case "edges":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+                            readIndexedEdge(edges);
+                        } else if (nodes != null) {
+                            readNamedEdge(edges, nodes, false);
+                        } else {
+                            if (provisional == null) {
+                                provisional = new NodeDictionary();
+                            }
+                            readNamedEdge(edges, provisional, true);
+                        }
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (provisional != null) {
+            if (nodes == null) {
+                // Named edges without a node list: nodes are numbered in order of appearance
+                return edges.build(provisional);
+            }
+            int[] mapping = new int[provisional.size()];
+            for (int id = 0; id < mapping.length; id++) {
+                mapping[id] = indexOf(nodes, provisional.getName(id));
+            }
+            edges.remapVertices(mapping);
+        }
+        if (nodes != null) {
+            return edges.build(nodes);
+        }
+        if (vertices < 0) {
+            throw new RuntimeException("Graph has neither 'nodes' nor 'vertices'");
+        }
+        return edges.build(vertices);
+    }
+
+    private void readIndexedEdge(GraphBuilder edges) throws IOException {
+        reader.beginArray();
+        int source = reader.nextInt();
+        int dest = reader.nextInt();
+        double weight = reader.nextDouble();
+        reader.endArray();
+        edges.addEdge(source, dest, weight);
+    }
+
+    private void readNamedEdge(GraphBuilder edges, NodeDictionary nodes, boolean assignIds)
+            throws IOException {
+        String from = null;
+        String to = null;
+        double weight = 0.0;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "from":
+                    from = reader.nextString();
+                    break;
+                case "to":
+                    to = reader.nextString();
+                    break;
+                case "weight":
+                    weight = reader.nextDouble();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (assignIds) {
+            edges.addEdge(nodes.add(from), nodes.add(to), weight);
+        } else {
+            edges.addEdge(indexOf(nodes, from), indexOf(nodes, to), weight);
+        }
+    }
+
+    private static int indexOf(NodeDictionary nodes, String name) {
+        int index = nodes.indexOf(name);
+        if (index < 0) {
+            throw new RuntimeException("Edge refers to unknown node: " + name);
+        }
+        return index;
+    }
+}
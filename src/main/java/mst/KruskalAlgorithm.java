@@ -3,101 +3,327 @@ package mst;
 import java.util.*;
 
 
-public class KruskalAlgorithm {
-    private long operationsCount;
-    private long executionTime;
+public class KruskalAlgorithm implements MSTAlgorithm {
 
+    /**
+     * Strategy used to order the edges before the union-find scan
+     */
+    public enum Mode {
+        COMPARISON_SORT,    // Collections.sort over Edge objects
+        RADIX_SORT,         // LSD radix sort of primitive weight keys, linear time
+        FILTER,             // Filter-Kruskal: partition around pivots, drop heavy edges inside components
+        EXTERNAL            // ExternalKruskalAlgorithm: sorted runs spilled to disk, k-way merged
+    }
+
+    private final Mode mode;
+    private final MSTMetrics metrics;
+
+    public KruskalAlgorithm() {
+        this(Mode.COMPARISON_SORT);
+    }
+
+    public KruskalAlgorithm(Mode mode) {
+        this(mode, MSTMetrics.NOOP);
+    }
+
+    /**
+     * @param metrics receives the counters and phase timings of every run
+     */
+    public KruskalAlgorithm(Mode mode, MSTMetrics metrics) {
+        this.mode = mode;
+        this.metrics = metrics;
+    }
+
+    public Mode getMode() { return mode; }
+    @Override
+    public MSTMetrics getMetrics() { return metrics; }
+
+    /**
+     * "kruskal" for the comparison sort, otherwise "kruskal-" and the mode, e.g. "kruskal-radix"
+     */
+    @Override
+    public String getName() {
+        switch (mode) {
+            case RADIX_SORT: return "kruskal-radix";
+            case FILTER: return "kruskal-filter";
+            case EXTERNAL: return "kruskal-external";
+            default: return "kruskal";
+        }
+    }
+
+    @Override
     public MSTResult findMST(Graph graph) {
-        operationsCount = 0;
+        if (mode == Mode.RADIX_SORT) {
+            return findMSTRadix(graph);
+        }
+        if (mode == Mode.FILTER) {
+            return findMSTFilter(graph);
+        }
+        if (mode == Mode.EXTERNAL) {
+            MSTResult result = new ExternalKruskalAlgorithm().findMST(graph);
+            result.getMetrics().publishTo(metrics);
+            return result;
+        }
+
         long startTime = System.nanoTime();
+        CountingMetrics run = new CountingMetrics();
 
         List<Edge> mstEdges = new ArrayList<>();
         double totalWeight = 0.0;
+        List<Edge> sortedEdges = new ArrayList<>(graph.getEdges());
+        UnionFind uf = new UnionFind(graph.getVertices());
+        long sortStart = System.nanoTime();
+        run.addPhaseTime(MSTMetrics.Phase.BUILD, sortStart - startTime);
 
         // Sort edges by weight
-        List<Edge> sortedEdges = new ArrayList<>(graph.getEdges());
         Collections.sort(sortedEdges);
-        operationsCount += sortedEdges.size() * (long)(Math.log(sortedEdges.size()) / Math.log(2)); // Sort operations
-
-        UnionFind uf = new UnionFind(graph.getVertices());
-        operationsCount += graph.getVertices(); // UnionFind initialization
+        long loopStart = System.nanoTime();
+        run.addPhaseTime(MSTMetrics.Phase.SORT, loopStart - sortStart);
 
+        long scanned = 0;
         for (Edge edge : sortedEdges) {
-            operationsCount++;
+            scanned++;
             int root1 = uf.find(edge.getSource());
             int root2 = uf.find(edge.getDestination());
-            operationsCount += 2;
 
             if (root1 != root2) {
                 mstEdges.add(edge);
                 totalWeight += edge.getWeight();
-                uf.union(root1, root2);
-                operationsCount += 3;
+                uf.link(root1, root2);
             }
 
             if (mstEdges.size() == graph.getVertices() - 1) break;
         }
+        run.addPhaseTime(MSTMetrics.Phase.MAIN_LOOP, System.nanoTime() - loopStart);
 
-        executionTime = System.nanoTime() - startTime;
-        return new MSTResult(mstEdges, totalWeight, operationsCount, executionTime);
+        return finish(run, uf, scanned, mstEdges, totalWeight, startTime);
     }
 
     /**
-     * Union-Find (Disjoint Set Union) data structure with path compression and union by rank
+     * Same scan as findMST, but over an index permutation of the graph's edge arrays
+     * produced by RadixSort, so no Edge objects are touched until an edge is accepted
      */
-    private static class UnionFind {
-        private final int[] parent;
-        private final int[] rank;
-
-        public UnionFind(int size) {
-            parent = new int[size];
-            rank = new int[size];
-            for (int i = 0; i < size; i++) {
-                parent[i] = i;
+    private MSTResult findMSTRadix(Graph graph) {
+        long startTime = System.nanoTime();
+        CountingMetrics run = new CountingMetrics();
+
+        List<Edge> mstEdges = new ArrayList<>();
+        double totalWeight = 0.0;
+        UnionFind uf = new UnionFind(graph.getVertices());
+        long sortStart = System.nanoTime();
+        run.addPhaseTime(MSTMetrics.Phase.BUILD, sortStart - startTime);
+
+        int[] order = RadixSort.sortedEdgeOrder(graph);
+        long loopStart = System.nanoTime();
+        run.addPhaseTime(MSTMetrics.Phase.SORT, loopStart - sortStart);
+
+        long scanned = 0;
+        for (int edge : order) {
+            scanned++;
+            int root1 = uf.find(graph.getEdgeSource(edge));
+            int root2 = uf.find(graph.getEdgeDestination(edge));
+
+            if (root1 != root2) {
+                double weight = graph.getEdgeWeight(edge);
+                mstEdges.add(new Edge(graph.getEdgeSource(edge), graph.getEdgeDestination(edge), weight));
+                totalWeight += weight;
+                uf.link(root1, root2);
             }
+
+            if (mstEdges.size() == graph.getVertices() - 1) break;
         }
+        run.addPhaseTime(MSTMetrics.Phase.MAIN_LOOP, System.nanoTime() - loopStart);
 
-        public int find(int x) {
-            if (parent[x] != x) {
-                parent[x] = find(parent[x]); // Path compression
+        return finish(run, uf, scanned, mstEdges, totalWeight, startTime);
+    }
+
+    /**
+     * Filter-Kruskal: edges are partitioned around a pivot weight, the light half is
+     * solved first and heavy edges whose endpoints are already connected are dropped
+     * before they are ever sorted. Ties are broken by edge index, so the accepted
+     * edges are the same ones the sorting modes accept. Partitioning and filtering
+     * interleave with the scan, so their time is reported under the main loop.
+     */
+    private MSTResult findMSTFilter(Graph graph) {
+        long startTime = System.nanoTime();
+        CountingMetrics run = new CountingMetrics();
+
+        FilterRun filterRun = new FilterRun(graph);
+        long loopStart = System.nanoTime();
+        run.addPhaseTime(MSTMetrics.Phase.BUILD, loopStart - startTime);
+        filterRun.solve(0, graph.getEdgeCount());
+        run.addPhaseTime(MSTMetrics.Phase.MAIN_LOOP, System.nanoTime() - loopStart);
+
+        return finish(run, filterRun.uf, filterRun.scanned, filterRun.mstEdges, filterRun.totalWeight, startTime);
+    }
+
+    private MSTResult finish(CountingMetrics run, UnionFind uf, long scanned,
+                             List<Edge> mstEdges, double totalWeight, long startTime) {
+        run.add(MSTMetrics.Counter.EDGES_SCANNED, scanned);
+        run.add(MSTMetrics.Counter.FIND_CALLS, uf.getFindCount());
+        run.add(MSTMetrics.Counter.PATH_STEPS, uf.getPathSteps());
+        run.add(MSTMetrics.Counter.UNIONS, mstEdges.size());
+        long executionTime = System.nanoTime() - startTime;
+        run.publishTo(metrics);
+        return new MSTResult(mstEdges, totalWeight, executionTime, run);
+    }
+
+    private static class FilterRun {
+        private static final int BASE_CASE_SIZE = 1024;
+        private static final int INSERTION_SORT_SIZE = 16;
+
+        private final Graph graph;
+        private final long[] keys;
+        private final int[] order;
+        private final UnionFind uf;
+        private final int targetEdges;
+        private final Random random = new Random(42);
+        private final List<Edge> mstEdges = new ArrayList<>();
+        private double totalWeight;
+        private long scanned;
+
+        FilterRun(Graph graph) {
+            this.graph = graph;
+            int n = graph.getEdgeCount();
+            this.keys = new long[n];
+            this.order = new int[n];
+            for (int i = 0; i < n; i++) {
+                keys[i] = RadixSort.sortableBits(graph.getEdgeWeight(i));
+                order[i] = i;
             }
-            return parent[x];
+            this.uf = new UnionFind(graph.getVertices());
+            this.targetEdges = Math.max(graph.getVertices() - 1, 0);
         }
 
-        public void union(int x, int y) {
-            int rootX = find(x);
-            int rootY = find(y);
+        void solve(int from, int to) {
+            if (mstEdges.size() == targetEdges || from >= to) return;
+
+            if (to - from <= BASE_CASE_SIZE) {
+                sortRange(from, to);
+                scan(from, to);
+                return;
+            }
 
-            if (rootX != rootY) {
-                // Union by rank
-                if (rank[rootX] < rank[rootY]) {
-                    parent[rootX] = rootY;
-                } else if (rank[rootX] > rank[rootY]) {
-                    parent[rootY] = rootX;
+            int pivot = choosePivot(from, to);
+            int split = partition(from, to, keys[pivot], order[pivot]);
+            if (split == to) {
+                // Pivot was the heaviest edge, nothing to split off
+                sortRange(from, to);
+                scan(from, to);
+                return;
+            }
+            solve(from, split);
+            int end = filter(split, to);
+            solve(split, end);
+        }
+
+        /**
+         * Order [from, to) by (weight, edge index) in place. Keys move with order, so a
+         * quicksort on the pairs is enough; radix passes cost too much on leaf-sized ranges.
+         */
+        private void sortRange(int from, int to) {
+            while (to - from > INSERTION_SORT_SIZE) {
+                // Pivot to the end, then everything before it below or above; pairs are distinct
+                swap(choosePivot(from, to), to - 1);
+                int split = partition(from, to - 1, keys[to - 1], order[to - 1]);
+                swap(split, to - 1);
+                if (split - from < to - split - 1) {
+                    sortRange(from, split);
+                    from = split + 1;
                 } else {
-                    parent[rootY] = rootX;
-                    rank[rootX]++;
+                    sortRange(split + 1, to);
+                    to = split;
+                }
+            }
+            for (int i = from + 1; i < to; i++) {
+                long key = keys[i];
+                int edge = order[i];
+                int j = i - 1;
+                for (; j >= from; j--) {
+                    int cmp = Long.compareUnsigned(keys[j], key);
+                    if (cmp < 0 || (cmp == 0 && order[j] < edge)) break;
+                    keys[j + 1] = keys[j];
+                    order[j + 1] = order[j];
                 }
+                keys[j + 1] = key;
+                order[j + 1] = edge;
             }
         }
-    }
 
-    public static class MSTResult {
-        private final List<Edge> edges;
-        private final double totalWeight;
-        private final long operationsCount;
-        private final long executionTime;
-
-        public MSTResult(List<Edge> edges, double totalWeight, long operationsCount, long executionTime) {
-            this.edges = new ArrayList<>(edges);
-            this.totalWeight = totalWeight;
-            this.operationsCount = operationsCount;
-            this.executionTime = executionTime;
+        private void scan(int from, int to) {
+            for (int i = from; i < to && mstEdges.size() < targetEdges; i++) {
+                int edge = order[i];
+                int root1 = uf.find(graph.getEdgeSource(edge));
+                int root2 = uf.find(graph.getEdgeDestination(edge));
+                scanned++;
+
+                if (root1 != root2) {
+                    double weight = graph.getEdgeWeight(edge);
+                    mstEdges.add(new Edge(graph.getEdgeSource(edge), graph.getEdgeDestination(edge), weight));
+                    totalWeight += weight;
+                    uf.link(root1, root2);
+                }
+            }
+        }
+
+        /**
+         * Median of three random samples, as in quickselect
+         */
+        private int choosePivot(int from, int to) {
+            int a = from + random.nextInt(to - from);
+            int b = from + random.nextInt(to - from);
+            int c = from + random.nextInt(to - from);
+            if (less(a, b)) {
+                if (less(b, c)) return b;
+                return less(a, c) ? c : a;
+            }
+            if (less(a, c)) return a;
+            return less(b, c) ? c : b;
+        }
+
+        private boolean less(int i, int j) {
+            int cmp = Long.compareUnsigned(keys[i], keys[j]);
+            return cmp < 0 || (cmp == 0 && order[i] < order[j]);
         }
 
-        public List<Edge> getEdges() { return Collections.unmodifiableList(edges); }
-        public double getTotalWeight() { return totalWeight; }
-        public long getOperationsCount() { return operationsCount; }
-        public long getExecutionTime() { return executionTime; }
+        /**
+         * Move edges that are (weight, index) <= pivot to the front, return the split point
+         */
+        private int partition(int from, int to, long pivotKey, int pivotEdge) {
+            int split = from;
+            for (int i = from; i < to; i++) {
+                int cmp = Long.compareUnsigned(keys[i], pivotKey);
+                if (cmp < 0 || (cmp == 0 && order[i] <= pivotEdge)) {
+                    swap(i, split++);
+                }
+            }
+            return split;
+        }
+
+        /**
+         * Compact [from, to) to edges whose endpoints are still in different components
+         */
+        private int filter(int from, int to) {
+            int end = from;
+            for (int i = from; i < to; i++) {
+                int edge = order[i];
+                if (uf.find(graph.getEdgeSource(edge)) != uf.find(graph.getEdgeDestination(edge))) {
+                    keys[end] = keys[i];
+                    order[end] = edge;
+                    end++;
+                }
+            }
+            scanned += to - from;
+            return end;
+        }
+
+        private void swap(int i, int j) {
+            long key = keys[i];
+            keys[i] = keys[j];
+            keys[j] = key;
+            int edge = order[i];
+            order[i] = order[j];
+            order[j] = edge;
+        }
     }
-}
\ No newline at end of file
+}
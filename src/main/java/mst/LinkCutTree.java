@@ -0,0 +1,186 @@
+package mst;
+
+import java.util.Arrays;
+
+/**
+ * Link-cut tree over nodes 0..capacity-1 with a weight per node and path-maximum queries.
+ * Every operation is O(log n) amortized. Preferred paths are kept as splay trees stored in
+ * primitive arrays; each splay node caches the node of maximum weight in its subtree.
+ */
+public class LinkCutTree {
+    private static final int NIL = -1;
+
+    private final int[] left;
+    private final int[] right;
+    private final int[] parent;     // Splay parent, or path-parent when the node is a splay root
+    private final boolean[] reversed;
+    private final double[] weight;
+    private final int[] maxNode;    // Node of maximum weight in the splay subtree
+    private final int[] stack;      // Scratch path for splay
+
+    public LinkCutTree(int capacity) {
+        left = new int[capacity];
+        right = new int[capacity];
+        parent = new int[capacity];
+        reversed = new boolean[capacity];
+        weight = new double[capacity];
+        maxNode = new int[capacity];
+        stack = new int[capacity];
+        Arrays.fill(left, NIL);
+        Arrays.fill(right, NIL);
+        Arrays.fill(parent, NIL);
+        Arrays.fill(weight, Double.NEGATIVE_INFINITY);
+        for (int i = 0; i < capacity; i++) {
+            maxNode[i] = i;
+        }
+    }
+
+    public int size() { return weight.length; }
+
+    public double getWeight(int node) { return weight[node]; }
+
+    public void setWeight(int node, double value) {
+        access(node);
+        weight[node] = value;
+        pull(node);
+    }
+
+    /**
+     * Join the trees of x and y with x as a child of y, x and y must not be connected
+     */
+    public void link(int x, int y) {
+        makeRoot(x);
+        parent[x] = y;
+    }
+
+    /**
+     * Remove the tree edge between x and y, which must be adjacent
+     */
+    public void cut(int x, int y) {
+        makeRoot(x);
+        access(y);
+        if (left[y] != x || right[x] != NIL) {
+            throw new IllegalArgumentException("No tree edge between " + x + " and " + y);
+        }
+        left[y] = NIL;
+        parent[x] = NIL;
+        pull(y);
+    }
+
+    public boolean connected(int x, int y) {
+        return x == y || findRoot(x) == findRoot(y);
+    }
+
+    /**
+     * Node of maximum weight on the tree path between x and y, which must be connected
+     */
+    public int pathMax(int x, int y) {
+        makeRoot(x);
+        access(y);
+        return maxNode[y];
+    }
+
+    public int findRoot(int x) {
+        access(x);
+        int root = x;
+        while (true) {
+            push(root);
+            if (left[root] == NIL) break;
+            root = left[root];
+        }
+        splay(root);
+        return root;
+    }
+
+    private void makeRoot(int x) {
+        access(x);
+        toggle(x);
+    }
+
+    /**
+     * Make the root-to-x path preferred and splay x to the top of it
+     */
+    private void access(int x) {
+        int last = NIL;
+        for (int y = x; y != NIL; y = parent[y]) {
+            splay(y);
+            right[y] = last;
+            pull(y);
+            last = y;
+        }
+        splay(x);
+    }
+
+    private boolean isSplayRoot(int x) {
+        int p = parent[x];
+        return p == NIL || (left[p] != x && right[p] != x);
+    }
+
+    private void splay(int x) {
+        // Push pending reversals top-down; the path is collected iteratively to avoid recursion
+        int depth = 0;
+        stack[depth++] = x;
+        for (int y = x; !isSplayRoot(y); y = parent[y]) {
+            stack[depth++] = parent[y];
+        }
+        while (depth > 0) {
+            push(stack[--depth]);
+        }
+
+        while (!isSplayRoot(x)) {
+            int y = parent[x];
+            if (!isSplayRoot(y)) {
+                int z = parent[y];
+                boolean zigZig = (left[y] == x) == (left[z] == y);
+                rotate(zigZig ? y : x);
+            }
+            rotate(x);
+        }
+    }
+
+    private void rotate(int x) {
+        int y = parent[x];
+        int z = parent[y];
+        if (!isSplayRoot(y)) {
+            if (left[z] == y) left[z] = x; else right[z] = x;
+        }
+        if (left[y] == x) {
+            left[y] = right[x];
+            if (right[x] != NIL) parent[right[x]] = y;
+            right[x] = y;
+        } else {
+            right[y] = left[x];
+            if (left[x] != NIL) parent[left[x]] = y;
+            left[x] = y;
+        }
+        parent[y] = x;
+        parent[x] = z;
+        pull(y);
+        pull(x);
+    }
+
+    private void pull(int x) {
+        int best = x;
+        int l = left[x];
+        int r = right[x];
+        if (l != NIL && weight[maxNode[l]] > weight[best]) best = maxNode[l];
+        if (r != NIL && weight[maxNode[r]] > weight[best]) best = maxNode[r];
+        maxNode[x] = best;
+    }
+
+    private void toggle(int x) {
+        if (x == NIL) return;
+        int tmp = left[x];
+        left[x] = right[x];
+        right[x] = tmp;
+        reversed[x] = !reversed[x];
+    }
+
+    private void push(int x) {
+        if (reversed[x]) {
+            toggle(left[x]);
+            toggle(right[x]);
+            reversed[x] = false;
+        }
+    }
+}
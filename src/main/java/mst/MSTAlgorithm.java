@@ -0,0 +1,49 @@
+package mst;
+
+/**
+ * An MST engine that MSTComparison, the batch runner, the result cache and the
+ * exporters can run and report on without knowing its type.
+ * Instances may keep per-run state, so concurrent jobs each use their own.
+ */
+public interface MSTAlgorithm {
+
+    /**
+     * Short lowercase name identifying the engine and its configuration, e.g. "prim-indexed".
+     * Used as the JSON key, CSV column prefix and cache key, so equal names must mean equal results.
+     */
+    String getName();
+
+    MSTResult findMST(Graph graph);
+
+    /**
+     * Name of the engine that runs for the graph, which keys cached results. Differs from
+     * getName only for engines that delegate to another engine per graph, like "auto".
+     */
+    default String getEngineName(Graph graph) {
+        return getName();
+    }
+
+    /**
+     * Sink each run's counters and phase timings are published to
+     */
+    default MSTMetrics getMetrics() {
+        return MSTMetrics.NOOP;
+    }
+
+    /**
+     * "prim-indexed" as "PrimIndexed", for CSV headers and DOT graph names
+     */
+    static String displayName(String name) {
+        StringBuilder display = new StringBuilder(name.length());
+        boolean upper = true;
+        for (char c : name.toCharArray()) {
+            if (!Character.isLetterOrDigit(c)) {
+                upper = true;
+            } else {
+                display.append(upper ? Character.toUpperCase(c) : c);
+                upper = false;
+            }
+        }
+        return display.toString();
+    }
+}
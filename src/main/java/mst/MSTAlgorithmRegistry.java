@@ -0,0 +1,79 @@
+package mst;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Factories of MST engines by name, so the algorithms a comparison runs can be chosen
+ * at runtime. Factories are used rather than instances because every concurrent job
+ * needs its own engine.
+ */
+public class MSTAlgorithmRegistry {
+    private final Map<String, Supplier<MSTAlgorithm>> factories = new LinkedHashMap<>();
+
+    /**
+     * Registry with every built-in engine: prim, prim-indexed, prim-dense, kruskal, kruskal-radix,
+     * kruskal-filter, kruskal-external, boruvka, components-prim-indexed, and auto choosing among them
+     */
+    public static MSTAlgorithmRegistry defaults() {
+        return defaults(MSTCostModel.defaults());
+    }
+
+    /**
+     * @param costModel model the auto engine chooses with, e.g. one calibrated on this machine
+     */
+    public static MSTAlgorithmRegistry defaults(MSTCostModel costModel) {
+        MSTAlgorithmRegistry registry = new MSTAlgorithmRegistry();
+        registry.register(() -> new PrimAlgorithm(PrimAlgorithm.Mode.LAZY_HEAP));
+        registry.register(() -> new PrimAlgorithm(PrimAlgorithm.Mode.INDEXED_HEAP));
+        registry.register(() -> new PrimAlgorithm(PrimAlgorithm.Mode.DENSE));
+        for (KruskalAlgorithm.Mode mode : KruskalAlgorithm.Mode.values()) {
+            registry.register(() -> new KruskalAlgorithm(mode));
+        }
+        registry.register(BoruvkaAlgorithm::new);
+        registry.register(() -> new ComponentParallelMST(() -> new PrimAlgorithm(PrimAlgorithm.Mode.INDEXED_HEAP)));
+        registry.register(() -> new AdaptiveMSTAlgorithm(registry, costModel));
+        return registry;
+    }
+
+    /**
+     * Register under the name of the engines the factory creates
+     */
+    public void register(Supplier<MSTAlgorithm> factory) {
+        String name = factory.get().getName();
+        if (factories.containsKey(name)) {
+            throw new IllegalArgumentException("Algorithm already registered: " + name);
+        }
+        factories.put(name, factory);
+    }
+
+    public Set<String> getNames() {
+        return Collections.unmodifiableSet(factories.keySet());
+    }
+
+    public Supplier<MSTAlgorithm> getFactory(String name) {
+        Supplier<MSTAlgorithm> factory = factories.get(name);
+        if (factory == null) {
+            throw new IllegalArgumentException("Unknown algorithm: " + name + " (known: "
+                    + String.join(", ", factories.keySet()) + ")");
+        }
+        return factory;
+    }
+
+    public List<Supplier<MSTAlgorithm>> getFactories(List<String> names) {
+        List<Supplier<MSTAlgorithm>> selected = new ArrayList<>(names.size());
+        for (String name : names) {
+            selected.add(getFactory(name));
+        }
+        return selected;
+    }
+
+    public MSTAlgorithm create(String name) {
+        return getFactory(name).get();
+    }
+}
@@ -1,211 +1,338 @@
 package mst;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
-
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.*;
+import java.util.function.Supplier;
 
 
 public class MSTComparison {
-    private final List<Graph> graphs;
+    /**
+     * Registry names of the algorithms compared when none are chosen
+     */
+    public static final List<String> DEFAULT_ALGORITHMS = List.of("prim", "kruskal");
+
+    private static final int MAX_VISUALIZED_GRAPHS = 3;
+
+    private final Iterable<Graph> graphs;
     private final List<ComparisonResult> results;
+    private final List<Supplier<MSTAlgorithm>> factories;
+    // One instance per algorithm for the sequential run; batch jobs create their own
+    private final List<MSTAlgorithm> algorithms;
+    private final MSTResultCache cache;
+    // Holds the results of the graphs retained for visualization, so the visualizer reuses them
+    private final MSTResultCache visualizationCache;
+    private boolean prettyJson = true;
+    private boolean gzipJson;
+    private ResultsJsonWriter jsonOutput;
+
+    /**
+     * Graphs are consumed once, in order, so a lazily loaded source such as
+     * a JsonGraphReader only keeps the graph under test in memory
+     */
+    public MSTComparison(Iterable<Graph> graphs) {
+        this(graphs, MSTAlgorithmRegistry.defaults().getFactories(DEFAULT_ALGORITHMS));
+    }
 
-    public MSTComparison(List<Graph> graphs) {
+    /**
+     * Compare any number of engines, e.g. an indexed-heap Prim against radix-sort
+     * and Filter-Kruskal runs. Results are reported in the order of the factories.
+     */
+    public MSTComparison(Iterable<Graph> graphs, List<Supplier<MSTAlgorithm>> algorithms) {
+        this(graphs, algorithms, null);
+    }
+
+    /**
+     * Results are looked up in and added to the cache, so graphs already solved by an
+     * earlier run sharing the cache are not recomputed and keep their original timings.
+     * A null cache computes every result.
+     */
+    public MSTComparison(Iterable<Graph> graphs, List<Supplier<MSTAlgorithm>> algorithms,
+                         MSTResultCache cache) {
+        if (algorithms.isEmpty()) {
+            throw new IllegalArgumentException("At least one algorithm is required");
+        }
         this.graphs = graphs;
         this.results = new ArrayList<>();
+        this.factories = new ArrayList<>(algorithms);
+        this.algorithms = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (Supplier<MSTAlgorithm> factory : algorithms) {
+            MSTAlgorithm algorithm = factory.get();
+            if (!names.add(algorithm.getName())) {
+                throw new IllegalArgumentException("Algorithm compared twice: " + algorithm.getName());
+            }
+            this.algorithms.add(algorithm);
+        }
+        this.cache = cache;
+        this.visualizationCache = new MSTResultCache(algorithms.size() * MAX_VISUALIZED_GRAPHS);
+    }
+
+    /**
+     * Format of output/output_results.json; with gzip the file gets a ".gz" suffix
+     */
+    public void setJsonOutput(boolean pretty, boolean gzip) {
+        this.prettyJson = pretty;
+        this.gzipJson = gzip;
+    }
+
+    public List<String> getAlgorithmNames() {
+        List<String> names = new ArrayList<>();
+        for (MSTAlgorithm algorithm : algorithms) {
+            names.add(algorithm.getName());
+        }
+        return names;
     }
 
     public void runComparison() {
-        System.out.println("Running MST algorithm comparison...");
+        System.out.printf("Running MST algorithm comparison (%s)...%n", String.join(", ", getAlgorithmNames()));
+
+        // Only a few small graphs are retained for visualization
+        List<Graph> smallGraphs = new ArrayList<>();
+        int i = 0;
+
+        openJsonOutput();
+        try {
+            for (Graph graph : graphs) {
+                System.out.printf("Testing graph %d: %s%n", i + 1, graph);
 
-        PrimAlgorithm prim = new PrimAlgorithm();
-        KruskalAlgorithm kruskal = new KruskalAlgorithm();
+                Map<String, MSTResult> runs = new LinkedHashMap<>();
+                for (MSTAlgorithm algorithm : algorithms) {
+                    runs.put(algorithm.getName(),
+                            cache != null ? cache.findMST(graph, algorithm) : algorithm.findMST(graph));
+                }
+                ComparisonResult result = ComparisonResult.of(i + 1, graph, runs);
 
-        for (int i = 0; i < graphs.size(); i++) {
-            Graph graph = graphs.get(i);
-            System.out.printf("Testing graph %d: %s%n", i + 1, graph);
+                // MST edges go straight to the JSON output, only the metrics are kept
+                writeJsonResult(result);
+                results.add(result.withoutEdges());
+                printResult(result);
 
-            PrimAlgorithm.MSTResult primResult = prim.findMST(graph);
-            KruskalAlgorithm.MSTResult kruskalResult = kruskal.findMST(graph);
+                // Print MST edges for first graph for verificationn
+                if (i == 0) {
+                    printMSTDetails(result);
+                }
+                if (graph.getVertices() <= 50 && smallGraphs.size() < MAX_VISUALIZED_GRAPHS) {
+                    smallGraphs.add(graph);
+                    retainForVisualization(graph, result);
+                }
+                i++;
+            }
+            finishJsonOutput();
+        } finally {
+            closeJsonOutput();
+        }
 
-            ComparisonResult result = new ComparisonResult(
-                    i + 1,
-                    graph.getVertices(),
-                    graph.getEdgeCount(),
-                    primResult,
-                    kruskalResult
-            );
+        generateOutputs(smallGraphs);
+    }
 
-            results.add(result);
-            printResult(result);
+    /**
+     * Same comparison, with the per-graph jobs scheduled by the batch runner.
+     * Each job gets its own algorithm instances from the factories.
+     */
+    public void runComparison(BatchComparisonRunner runner) {
+        System.out.printf("Running batch MST algorithm comparison (%s)...%n",
+                String.join(", ", getAlgorithmNames()));
+
+        List<Graph> smallGraphs = new ArrayList<>();
+        List<Integer> smallGraphIndices = new ArrayList<>();
+        Iterable<Graph> recordingGraphs = () -> new Iterator<Graph>() {
+            private final Iterator<Graph> source = graphs.iterator();
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
 
-            // Print MST edges for first graph for verificationn
-            if (i == 0) {
-                printMSTDetails(graph, primResult, kruskalResult);
+            @Override
+            public Graph next() {
+                Graph graph = source.next();
+                if (graph.getVertices() <= 50 && smallGraphs.size() < MAX_VISUALIZED_GRAPHS) {
+                    smallGraphs.add(graph);
+                    smallGraphIndices.add(index);
+                }
+                index++;
+                return graph;
             }
+        };
+
+        openJsonOutput();
+        try {
+            runner.run(recordingGraphs, factories, cache, result -> {
+                writeJsonResult(result);
+                results.add(result.withoutEdges());
+                printResult(result);
+
+                if (result.graphId == 1) {
+                    printMSTDetails(result);
+                }
+                int small = smallGraphIndices.indexOf(result.graphId - 1);
+                if (small >= 0) {
+                    retainForVisualization(smallGraphs.get(small), result);
+                }
+            });
+            finishJsonOutput();
+        } finally {
+            closeJsonOutput();
         }
 
+        generateOutputs(smallGraphs);
+    }
+
+    private void retainForVisualization(Graph graph, ComparisonResult result) {
+        for (MSTAlgorithm algorithm : algorithms) {
+            visualizationCache.put(graph, algorithm, result.getResult(algorithm.getName()));
+        }
+    }
+
+    private void generateOutputs(List<Graph> smallGraphs) {
         // Generate outputs
-        writeResultsToJson();
         CSVExporter.exportToCSV(results, "comparison_results.csv");
         CSVExporter.printSummaryTable(results);
 
         // Generate visualizations for smaller graphs
-        List<Graph> smallGraphs = graphs.stream()
-                .filter(g -> g.getVertices() <= 50)
-                .limit(3)
-                .collect(java.util.stream.Collectors.toList());
-
         if (!smallGraphs.isEmpty()) {
-            GraphVisualizer.visualizeGraphs(smallGraphs, prim, kruskal);
+            GraphVisualizer.visualizeGraphs(smallGraphs, algorithms, visualizationCache);
         }
     }
 
-    private void printResult(ComparisonResult result) {
-        System.out.printf("Graph %d Results:%n", result.graphId);
-        System.out.printf("  Prim:    weight=%.2f, time=%,d ns (%.3f ms), operations=%,d%n",
-                result.primWeight, result.primTime, result.primTime / 1_000_000.0, result.primOperations);
-        System.out.printf("  Kruskal: weight=%.2f, time=%,d ns (%.3f ms), operations=%,d%n",
-                result.kruskalWeight, result.kruskalTime, result.kruskalTime / 1_000_000.0, result.kruskalOperations);
-        System.out.printf("  Weight difference: %.6f%n",
-                Math.abs(result.primWeight - result.kruskalWeight));
-        System.out.println();
+    /**
+     * Metrics of every compared graph. MST edge lists are not kept, they are in the JSON output.
+     */
+    public List<ComparisonResult> getResults() {
+        return Collections.unmodifiableList(results);
     }
 
-    private void printMSTDetails(Graph graph, PrimAlgorithm.MSTResult primResult, KruskalAlgorithm.MSTResult kruskalResult) {
-        System.out.println("=== MST Details (First Graph) ===");
-        System.out.printf("Prim's MST (%d edges, weight=%.2f):%n",
-                primResult.getEdges().size(), primResult.getTotalWeight());
-        for (Edge edge : primResult.getEdges()) {
-            System.out.printf("  %d - %d : %.2f%n", edge.getSource(), edge.getDestination(), edge.getWeight());
+    private void printResult(ComparisonResult result) {
+        int width = 0;
+        for (String name : result.getAlgorithmNames()) {
+            width = Math.max(width, MSTAlgorithm.displayName(name).length() + 1);
         }
 
-        System.out.printf("Kruskal's MST (%d edges, weight=%.2f):%n",
-                kruskalResult.getEdges().size(), kruskalResult.getTotalWeight());
-        for (Edge edge : kruskalResult.getEdges()) {
-            System.out.printf("  %d - %d : %.2f%n", edge.getSource(), edge.getDestination(), edge.getWeight());
+        System.out.printf("Graph %d Results:%n", result.graphId);
+        for (String name : result.getAlgorithmNames()) {
+            MSTResult run = result.getResult(name);
+            System.out.printf("  %-" + width + "s weight=%.2f, time=%,d ns (%.3f ms), operations=%,d%n",
+                    MSTAlgorithm.displayName(name) + ":", run.getTotalWeight(), run.getExecutionTime(),
+                    run.getExecutionTime() / 1_000_000.0, run.getOperationsCount());
         }
+        System.out.printf("  Weight difference: %.6f%n", result.getWeightDifference());
         System.out.println();
     }
 
-    private void writeResultsToJson() {
-        java.io.File outputDir = new java.io.File("output");
-        if (!outputDir.exists()) {
-            outputDir.mkdirs();
+    private void printMSTDetails(ComparisonResult result) {
+        System.out.println("=== MST Details (First Graph) ===");
+        for (String name : result.getAlgorithmNames()) {
+            MSTResult run = result.getResult(name);
+            System.out.printf("%s's MST (%d edges, weight=%.2f):%n",
+                    MSTAlgorithm.displayName(name), run.getEdges().size(), run.getTotalWeight());
+            for (Edge edge : run.getEdges()) {
+                if (result.getNodes() != null) {
+                    System.out.printf("  %s - %s : %.2f%n", result.getNodes().getName(edge.getSource()),
+                            result.getNodes().getName(edge.getDestination()), edge.getWeight());
+                } else {
+                    System.out.printf("  %d - %d : %.2f%n", edge.getSource(), edge.getDestination(), edge.getWeight());
+                }
+            }
         }
+        System.out.println();
+    }
 
-        java.io.File outputFile = new java.io.File(outputDir, "output_results.json");
+    private java.io.File jsonOutputFile() {
+        return new java.io.File("output", gzipJson ? "output_results.json.gz" : "output_results.json");
+    }
 
+    private void openJsonOutput() {
+        java.io.File outputFile = jsonOutputFile();
+        if (!outputFile.getParentFile().exists()) {
+            outputFile.getParentFile().mkdirs();
+        }
         System.out.println("Writing JSON results to: " + outputFile.getAbsolutePath());
 
-        try (FileWriter writer = new FileWriter(outputFile)) {
-            Gson gson = new GsonBuilder().setPrettyPrinting().create();
-
-            JsonArray resultsArray = new JsonArray();
-
-            for (ComparisonResult result : results) {
-                JsonObject resultObj = new JsonObject();
-                resultObj.addProperty("graphId", result.graphId);
-                resultObj.addProperty("vertices", result.vertices);
-                resultObj.addProperty("edges", result.edges);
-
-                // Prim result with edges list
-                JsonObject primObj = new JsonObject();
-                primObj.addProperty("totalWeight", result.primWeight);
-                primObj.addProperty("executionTimeNs", result.primTime);
-                primObj.addProperty("executionTimeMs", result.primTime / 1_000_000.0);
-                primObj.addProperty("operationsCount", result.primOperations);
-
-                // Add Prim MST edges array
-                JsonArray primEdgesArray = new JsonArray();
-                for (Edge edge : result.primResult.getEdges()) {
-                    JsonArray edgeArray = new JsonArray();
-                    edgeArray.add(edge.getSource());
-                    edgeArray.add(edge.getDestination());
-                    edgeArray.add(edge.getWeight());
-                    primEdgesArray.add(edgeArray);
-                }
-                primObj.add("mstEdges", primEdgesArray);
-
-                resultObj.add("prim", primObj);
-
-                // Kruskal results with edges list
-                JsonObject kruskalObj = new JsonObject();
-                kruskalObj.addProperty("totalWeight", result.kruskalWeight);
-                kruskalObj.addProperty("executionTimeNs", result.kruskalTime);
-                kruskalObj.addProperty("executionTimeMs", result.kruskalTime / 1_000_000.0);
-                kruskalObj.addProperty("operationsCount", result.kruskalOperations);
-
-                // Add Kruskal MST edges array
-                JsonArray kruskalEdgesArray = new JsonArray();
-                for (Edge edge : result.kruskalResult.getEdges()) {
-                    JsonArray edgeArray = new JsonArray();
-                    edgeArray.add(edge.getSource());
-                    edgeArray.add(edge.getDestination());
-                    edgeArray.add(edge.getWeight());
-                    kruskalEdgesArray.add(edgeArray);
-                }
-                kruskalObj.add("mstEdges", kruskalEdgesArray);
-
-                resultObj.add("kruskal", kruskalObj);
-
-                resultsArray.add(resultObj);
-            }
+        try {
+            jsonOutput = new ResultsJsonWriter(outputFile.toPath(), prettyJson, gzipJson);
+        } catch (IOException e) {
+            System.err.println("Erroor writing results to JSON: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
 
-            JsonObject root = new JsonObject();
-            root.add("results", resultsArray);
-            root.addProperty("summary", generateSummary());
-            root.addProperty("totalGraphsTested", results.size());
-            root.addProperty("comparisonDate", new java.util.Date().toString());
-            root.addProperty("algorithmComparison", getAlgorithmComparison());
+    private void writeJsonResult(ComparisonResult result) {
+        if (jsonOutput == null) return;
+        try {
+            jsonOutput.write(result);
+        } catch (IOException e) {
+            System.err.println("Erroor writing results to JSON: " + e.getMessage());
+            closeJsonOutput();
+        }
+    }
 
-            gson.toJson(root, writer);
-            writer.flush();
+    private void finishJsonOutput() {
+        if (jsonOutput == null) return;
+        try {
+            jsonOutput.finish(generateSummary(), getAlgorithmComparison());
+            int written = jsonOutput.getResultCount();
+            closeJsonOutput();
 
             System.out.println("JSON results successfully written!");
-            System.out.println("Contains results for " + results.size() + " graphs");
-            System.out.println("File size: " + outputFile.length() + " bytes");
+            System.out.println("Contains results for " + written + " graphs");
+            System.out.println("File size: " + jsonOutputFile().length() + " bytes");
 
         } catch (IOException e) {
             System.err.println("Erroor writing results to JSON: " + e.getMessage());
-            e.printStackTrace();
+            closeJsonOutput();
         }
     }
 
+    private void closeJsonOutput() {
+        if (jsonOutput == null) return;
+        try {
+            jsonOutput.close();
+        } catch (IOException e) {
+            System.err.println("Erroor writing results to JSON: " + e.getMessage());
+        }
+        jsonOutput = null;
+    }
+
     private String generateSummary() {
         if (results.isEmpty()) {
             return "No results to summarize";
         }
 
-        long primTotalTime = results.stream().mapToLong(r -> r.primTime).sum();
-        long kruskalTotalTime = results.stream().mapToLong(r -> r.kruskalTime).sum();
-        long primTotalOps = results.stream().mapToLong(r -> r.primOperations).sum();
-        long kruskalTotalOps = results.stream().mapToLong(r -> r.kruskalOperations).sum();
-
-        String fasterAlgorithm = primTotalTime < kruskalTotalTime ? "Prim" : "Kruskal";
-        long timeDifference = Math.abs(primTotalTime - kruskalTotalTime);
-        double speedup = (double) Math.max(primTotalTime, kruskalTotalTime) / Math.min(primTotalTime, kruskalTotalTime);
+        List<String> names = getAlgorithmNames();
+        List<String> totals = new ArrayList<>();
+        String fastest = null;
+        String slowest = null;
+        long fastestTime = Long.MAX_VALUE;
+        long slowestTime = Long.MIN_VALUE;
+        for (String name : names) {
+            long totalTime = results.stream().mapToLong(r -> r.getResult(name).getExecutionTime()).sum();
+            long totalOps = results.stream().mapToLong(r -> r.getResult(name).getOperationsCount()).sum();
+            totals.add(String.format("%s: %,d ns (%.3f ms), %,d ops",
+                    MSTAlgorithm.displayName(name), totalTime, totalTime / 1_000_000.0, totalOps));
+            if (totalTime < fastestTime) {
+                fastestTime = totalTime;
+                fastest = name;
+            }
+            if (totalTime > slowestTime) {
+                slowestTime = totalTime;
+                slowest = name;
+            }
+        }
 
-        return String.format(
-                "Prim: %,d ns (%.3f ms), %,d ops | Kruskal: %,d ns (%.3f ms), %,d ops | Faster: %s (%.2fx speedup)",
-                primTotalTime, primTotalTime / 1_000_000.0, primTotalOps,
-                kruskalTotalTime, kruskalTotalTime / 1_000_000.0, kruskalTotalOps,
-                fasterAlgorithm, speedup
-        );
+        double speedup = (double) slowestTime / Math.max(fastestTime, 1);
+        return String.format("%s | Fastest: %s (%.2fx speedup over %s)", String.join(" | ", totals),
+                MSTAlgorithm.displayName(fastest), speedup, MSTAlgorithm.displayName(slowest));
     }
 
     private String getAlgorithmComparison() {
-        long primWins = results.stream()
-                .filter(r -> r.primTime < r.kruskalTime)
-                .count();
-        long kruskalWins = results.size() - primWins;
-
-        return String.format("Prim faster in %d/%d cases (%.1f%%)",
-                primWins, results.size(), (primWins * 100.0 / results.size()));
+        List<String> wins = new ArrayList<>();
+        for (String name : getAlgorithmNames()) {
+            long count = results.stream().filter(r -> r.getFastestAlgorithm().equals(name)).count();
+            wins.add(String.format("%s fastest in %d/%d cases (%.1f%%)",
+                    MSTAlgorithm.displayName(name), count, results.size(), count * 100.0 / results.size()));
+        }
+        return String.join(", ", wins);
     }
 
     // Public static class to allow access from CSVExporter
@@ -213,29 +340,115 @@ public class MSTComparison {
         public final int graphId;
         public final int vertices;
         public final int edges;
-        public final double primWeight;
-        public final long primTime;
-        public final long primOperations;
-        public final double kruskalWeight;
-        public final long kruskalTime;
-        public final long kruskalOperations;
-        public final PrimAlgorithm.MSTResult primResult;
-        public final KruskalAlgorithm.MSTResult kruskalResult;
-
-        public ComparisonResult(int graphId, int vertices, int edges,
-                                PrimAlgorithm.MSTResult primResult,
-                                KruskalAlgorithm.MSTResult kruskalResult) {
+        private final Map<String, MSTResult> runs;
+        private final NodeDictionary nodes;
+        private final GraphAnalysis analysis;
+
+        /**
+         * @param runs result of each compared algorithm by name, in report order
+         */
+        public ComparisonResult(int graphId, int vertices, int edges, Map<String, MSTResult> runs) {
+            this(graphId, vertices, edges, runs, null);
+        }
+
+        /**
+         * @param nodes names of the graph's vertices for the output, or null to print indices
+         */
+        public ComparisonResult(int graphId, int vertices, int edges, Map<String, MSTResult> runs,
+                                NodeDictionary nodes) {
+            this(graphId, vertices, edges, runs, nodes, null);
+        }
+
+        /**
+         * @param analysis structure of the compared graph for the output, or null to leave it out
+         */
+        public ComparisonResult(int graphId, int vertices, int edges, Map<String, MSTResult> runs,
+                                NodeDictionary nodes, GraphAnalysis analysis) {
             this.graphId = graphId;
             this.vertices = vertices;
             this.edges = edges;
-            this.primWeight = primResult.getTotalWeight();
-            this.primTime = primResult.getExecutionTime();
-            this.primOperations = primResult.getOperationsCount();
-            this.kruskalWeight = kruskalResult.getTotalWeight();
-            this.kruskalTime = kruskalResult.getExecutionTime();
-            this.kruskalOperations = kruskalResult.getOperationsCount();
-            this.primResult = primResult;
-            this.kruskalResult = kruskalResult;
+            this.runs = Collections.unmodifiableMap(new LinkedHashMap<>(runs));
+            this.nodes = nodes;
+            this.analysis = analysis;
+        }
+
+        /**
+         * Creates the result of a compared graph, with its analysis and its node names if every
+         * vertex has one
+         */
+        static ComparisonResult of(int graphId, Graph graph, Map<String, MSTResult> runs) {
+            return new ComparisonResult(graphId, graph.getVertices(), graph.getEdgeCount(), runs,
+                    graph.hasNodeNames() ? graph.getNodes() : null, new GraphAnalysis(graph).withoutLabels());
+        }
+
+        /**
+         * Vertex names of the compared graph, null when it is not named
+         */
+        public NodeDictionary getNodes() {
+            return nodes;
+        }
+
+        /**
+         * Structure of the compared graph, null when it was not analysed
+         */
+        public GraphAnalysis getAnalysis() {
+            return analysis;
+        }
+
+        public List<String> getAlgorithmNames() {
+            return new ArrayList<>(runs.keySet());
+        }
+
+        public MSTResult getResult(String algorithm) {
+            MSTResult result = runs.get(algorithm);
+            if (result == null) {
+                throw new IllegalArgumentException("No result for algorithm: " + algorithm);
+            }
+            return result;
+        }
+
+        public Map<String, MSTResult> getResults() {
+            return runs;
+        }
+
+        /**
+         * Name of the algorithm with the lowest execution time, the first one on ties
+         */
+        public String getFastestAlgorithm() {
+            String fastest = null;
+            long fastestTime = Long.MAX_VALUE;
+            for (Map.Entry<String, MSTResult> run : runs.entrySet()) {
+                if (run.getValue().getExecutionTime() < fastestTime) {
+                    fastestTime = run.getValue().getExecutionTime();
+                    fastest = run.getKey();
+                }
+            }
+            return fastest;
+        }
+
+        /**
+         * Spread between the heaviest and lightest total weight; zero when all algorithms agree
+         */
+        public double getWeightDifference() {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (MSTResult run : runs.values()) {
+                min = Math.min(min, run.getTotalWeight());
+                max = Math.max(max, run.getTotalWeight());
+            }
+            return runs.isEmpty() ? 0 : max - min;
+        }
+
+        /**
+         * Same metrics and analysis without the MST edge lists or node names, for keeping many
+         * results in memory
+         */
+        public ComparisonResult withoutEdges() {
+            Map<String, MSTResult> stripped = new LinkedHashMap<>();
+            for (Map.Entry<String, MSTResult> run : runs.entrySet()) {
+                stripped.put(run.getKey(), run.getValue().withoutEdges());
+            }
+            return new ComparisonResult(graphId, vertices, edges, stripped, null, analysis);
         }
     }
-}
\ No newline at end of file
+}
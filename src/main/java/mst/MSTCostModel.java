@@ -0,0 +1,199 @@
+package mst;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Predicts the running time of MST engines from a graph's size. Every engine has a
+ * complexity class giving its work for V vertices, E edges and the available cores,
+ * and a power-law fit of measured time against that work: time = scale * work^exponent.
+ * The exponent absorbs what the complexity class misses, such as fixed costs on small
+ * graphs and cache misses on large ones. Density enters through the ratio of E to V in
+ * the work terms. The fits are calibrated from comparison results and stored as a
+ * properties file.
+ */
+public class MSTCostModel {
+
+    public enum Complexity {
+        LINEAR,             // E + V: radix-sort Kruskal
+        E_LOG_E,            // Comparison-sort Kruskal
+        E_LOG_V,            // Lazy-heap Prim
+        E_PLUS_V_LOG_V,     // Indexed-heap Prim, Filter-Kruskal
+        V_SQUARED,          // Array-scan Prim: V^2 + E, whatever the density
+        PARALLEL_E_LOG_V;   // Parallel Boruvka, E log V spread over the cores
+
+        public double work(int vertices, int edges, int cores) {
+            double v = Math.max(vertices, 2);
+            double e = Math.max(edges, 1);
+            switch (this) {
+                case LINEAR: return e + v;
+                case E_LOG_E: return e * log2(Math.max(e, 2));
+                case E_LOG_V: return e * log2(v);
+                case E_PLUS_V_LOG_V: return e + v * log2(v);
+                case V_SQUARED: return v * v + e;
+                default: return e * log2(v) / Math.max(cores, 1);
+            }
+        }
+    }
+
+    /**
+     * Fitted cost of one engine
+     */
+    public static class Estimate {
+        private final Complexity complexity;
+        private final double scaleNs;
+        private final double exponent;
+
+        public Estimate(Complexity complexity, double scaleNs, double exponent) {
+            this.complexity = complexity;
+            this.scaleNs = scaleNs;
+            this.exponent = exponent;
+        }
+
+        public Complexity getComplexity() { return complexity; }
+        public double getScaleNs() { return scaleNs; }
+        public double getExponent() { return exponent; }
+
+        public double predictNs(int vertices, int edges, int cores) {
+            return scaleNs * Math.pow(complexity.work(vertices, edges, cores), exponent);
+        }
+    }
+
+    private final Map<String, Estimate> estimates = new LinkedHashMap<>();
+
+    /**
+     * Fits from a calibration run of the comparison on one core: G(n,m) graphs with 1k to
+     * 400k vertices and average degrees 4 to 64, plus a complete graph on 1500 vertices,
+     * timed after a warm-up pass. prim-dense was fitted on graphs of up to 10k vertices and
+     * complete graphs of up to 2500. Calibrate on the target machine for better choices.
+     */
+    public static MSTCostModel defaults() {
+        MSTCostModel model = new MSTCostModel();
+        model.put("prim", new Estimate(Complexity.E_LOG_V, 15.48, 0.986));
+        model.put("prim-indexed", new Estimate(Complexity.E_PLUS_V_LOG_V, 5.58, 1.119));
+        model.put("prim-dense", new Estimate(Complexity.V_SQUARED, 10.20, 0.858));
+        model.put("kruskal-radix", new Estimate(Complexity.LINEAR, 10.92, 1.191));
+        model.put("kruskal-filter", new Estimate(Complexity.E_PLUS_V_LOG_V, 119.93, 0.941));
+        model.put("boruvka", new Estimate(Complexity.PARALLEL_E_LOG_V, 35.19, 0.952));
+        return model;
+    }
+
+    public void put(String algorithm, Estimate estimate) {
+        estimates.put(algorithm, estimate);
+    }
+
+    public Estimate get(String algorithm) {
+        return estimates.get(algorithm);
+    }
+
+    public Set<String> getAlgorithms() {
+        return Collections.unmodifiableSet(estimates.keySet());
+    }
+
+    /**
+     * The modelled algorithm among the candidates with the lowest predicted time,
+     * or null if none of them is modelled
+     */
+    public String fastest(Collection<String> candidates, int vertices, int edges, int cores) {
+        String fastest = null;
+        double fastestNs = Double.POSITIVE_INFINITY;
+        for (String algorithm : candidates) {
+            Estimate estimate = estimates.get(algorithm);
+            if (estimate == null) continue;
+            double predicted = estimate.predictNs(vertices, edges, cores);
+            if (predicted < fastestNs) {
+                fastestNs = predicted;
+                fastest = algorithm;
+            }
+        }
+        return fastest;
+    }
+
+    /**
+     * Copy of this model with the modelled algorithms refitted to the measured times in
+     * the results. Algorithms without results keep their fit.
+     */
+    public MSTCostModel calibrate(List<MSTComparison.ComparisonResult> results, int cores) {
+        MSTCostModel calibrated = new MSTCostModel();
+        for (Map.Entry<String, Estimate> entry : estimates.entrySet()) {
+            Complexity complexity = entry.getValue().getComplexity();
+            List<double[]> samples = new ArrayList<>();
+            for (MSTComparison.ComparisonResult result : results) {
+                if (!result.getResults().containsKey(entry.getKey())) continue;
+                long time = result.getResult(entry.getKey()).getExecutionTime();
+                samples.add(new double[]{
+                        Math.log(complexity.work(result.vertices, result.edges, cores)),
+                        Math.log(Math.max(time, 1))});
+            }
+            calibrated.put(entry.getKey(), samples.isEmpty() ? entry.getValue() : fit(complexity, samples));
+        }
+        return calibrated;
+    }
+
+    /**
+     * Least squares line through (log work, log time); its slope is the exponent
+     */
+    private static Estimate fit(Complexity complexity, List<double[]> samples) {
+        double n = samples.size();
+        double sumX = 0, sumY = 0;
+        for (double[] sample : samples) {
+            sumX += sample[0];
+            sumY += sample[1];
+        }
+        double meanX = sumX / n;
+        double meanY = sumY / n;
+
+        double covariance = 0, variance = 0;
+        for (double[] sample : samples) {
+            covariance += (sample[0] - meanX) * (sample[1] - meanY);
+            variance += (sample[0] - meanX) * (sample[0] - meanX);
+        }
+        // With a single graph size, assume time proportional to work
+        double exponent = variance > 0 ? covariance / variance : 1.0;
+        return new Estimate(complexity, Math.exp(meanY - exponent * meanX), exponent);
+    }
+
+    public static MSTCostModel load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(in);
+        }
+
+        MSTCostModel model = new MSTCostModel();
+        for (String key : new TreeSet<>(properties.stringPropertyNames())) {
+            if (!key.endsWith(".complexity")) continue;
+            String algorithm = key.substring(0, key.length() - ".complexity".length());
+            try {
+                model.put(algorithm, new Estimate(
+                        Complexity.valueOf(properties.getProperty(key).trim()),
+                        Double.parseDouble(properties.getProperty(algorithm + ".scaleNs", "1")),
+                        Double.parseDouble(properties.getProperty(algorithm + ".exponent", "1"))));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid cost model entry for " + algorithm + " in " + file, e);
+            }
+        }
+        return model;
+    }
+
+    public void save(Path file) throws IOException {
+        Properties properties = new Properties();
+        for (Map.Entry<String, Estimate> entry : estimates.entrySet()) {
+            Estimate estimate = entry.getValue();
+            properties.setProperty(entry.getKey() + ".complexity", estimate.getComplexity().name());
+            properties.setProperty(entry.getKey() + ".scaleNs", Double.toString(estimate.getScaleNs()));
+            properties.setProperty(entry.getKey() + ".exponent", Double.toString(estimate.getExponent()));
+        }
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            properties.store(out, "MST cost model: predicted ns = scaleNs * work(complexity)^exponent");
+        }
+    }
+
+    private static double log2(double x) {
+        return Math.log(x) / Math.log(2);
+    }
+}
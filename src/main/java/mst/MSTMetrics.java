@@ -0,0 +1,68 @@
+package mst;
+
+/**
+ * Sink for the counters and phase timings of MST runs. Engines count in local variables and
+ * publish once at the end of a run, so their inner loops make no metric calls at all; with
+ * NOOP the few calls per run are empty and inlined away.
+ */
+public interface MSTMetrics {
+
+    enum Counter {
+        EDGES_SCANNED("edgesScanned", true),    // Adjacency slots or sorted edges examined
+        HEAP_PUSHES("heapPushes", true),
+        HEAP_POPS("heapPops", true),
+        STALE_POPS("stalePops", false),         // Lazy heap entries popped for already visited vertices
+        DECREASE_KEYS("decreaseKeys", true),
+        FIND_CALLS("findCalls", true),
+        PATH_STEPS("pathSteps", true),          // Parent links followed by union-find finds
+        UNIONS("unions", true),
+        ROUNDS("rounds", false),                // Boruvka rounds
+        SPILL_RUNS("spillRuns", false),         // Sorted runs spilled from the input by external Kruskal
+        MERGE_PASSES("mergePasses", false),     // Intermediate merge passes over the runs
+        BYTES_WRITTEN("bytesWritten", false),   // Run file bytes written
+        BYTES_READ("bytesRead", false);         // Run file bytes mapped for reading
+
+        private final String label;
+        private final boolean work;
+
+        Counter(String label, boolean work) {
+            this.label = label;
+            this.work = work;
+        }
+
+        public String getLabel() { return label; }
+
+        /**
+         * True for counters summed into a run's operations count; the others describe the run
+         */
+        public boolean isWork() { return work; }
+    }
+
+    enum Phase {
+        BUILD("build"),         // Per-run arrays, heap and union-find set-up
+        SORT("sort"),           // Ordering edges by weight
+        MAIN_LOOP("mainLoop");  // Growing the tree
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() { return label; }
+    }
+
+    MSTMetrics NOOP = new MSTMetrics() {
+        @Override
+        public void add(Counter counter, long amount) {
+        }
+
+        @Override
+        public void addPhaseTime(Phase phase, long nanos) {
+        }
+    };
+
+    void add(Counter counter, long amount);
+
+    void addPhaseTime(Phase phase, long nanos);
+}
@@ -0,0 +1,82 @@
+package mst;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of one MST run, shared by every MSTAlgorithm. Heap statistics are zero
+ * for engines that do not use a heap.
+ */
+public class MSTResult {
+    private final List<Edge> edges;
+    private final int edgeCount;
+    private final double totalWeight;
+    private final long operationsCount;
+    private final long executionTime;
+    private final int heapPeakSize;
+    private final long decreaseKeyCount;
+    private final CountingMetrics metrics;
+
+    public MSTResult(List<Edge> edges, double totalWeight, long operationsCount, long executionTime) {
+        this(edges, totalWeight, operationsCount, executionTime, 0, 0, new CountingMetrics());
+    }
+
+    /**
+     * Result of a counted run; the operations count is the metrics' sum of work counters
+     */
+    public MSTResult(List<Edge> edges, double totalWeight, long executionTime, CountingMetrics metrics) {
+        this(edges, totalWeight, executionTime, 0, metrics);
+    }
+
+    public MSTResult(List<Edge> edges, double totalWeight, long executionTime, int heapPeakSize,
+                     CountingMetrics metrics) {
+        this(edges, totalWeight, metrics.getOperationsCount(), executionTime, heapPeakSize,
+                metrics.get(MSTMetrics.Counter.DECREASE_KEYS), metrics);
+    }
+
+    public MSTResult(List<Edge> edges, double totalWeight, long operationsCount, long executionTime,
+                     int heapPeakSize, long decreaseKeyCount, CountingMetrics metrics) {
+        this(new ArrayList<>(edges), edges.size(), totalWeight, operationsCount, executionTime,
+                heapPeakSize, decreaseKeyCount, metrics);
+    }
+
+    private MSTResult(List<Edge> edges, int edgeCount, double totalWeight, long operationsCount,
+                      long executionTime, int heapPeakSize, long decreaseKeyCount, CountingMetrics metrics) {
+        this.edges = edges;
+        this.edgeCount = edgeCount;
+        this.totalWeight = totalWeight;
+        this.operationsCount = operationsCount;
+        this.executionTime = executionTime;
+        this.heapPeakSize = heapPeakSize;
+        this.decreaseKeyCount = decreaseKeyCount;
+        this.metrics = metrics;
+    }
+
+    public List<Edge> getEdges() { return Collections.unmodifiableList(edges); }
+
+    /**
+     * Number of tree edges, kept when the edge list is dropped
+     */
+    public int getEdgeCount() { return edgeCount; }
+
+    /**
+     * Connected components the result spans: a forest on V vertices with k edges has V - k trees
+     */
+    public int getComponentCount(int vertices) { return vertices - edgeCount; }
+
+    public double getTotalWeight() { return totalWeight; }
+    public long getOperationsCount() { return operationsCount; }
+    public long getExecutionTime() { return executionTime; }
+    public int getHeapPeakSize() { return heapPeakSize; }
+    public long getDecreaseKeyCount() { return decreaseKeyCount; }
+    public CountingMetrics getMetrics() { return metrics; }
+
+    /**
+     * Same result and metrics without the edge list
+     */
+    public MSTResult withoutEdges() {
+        return new MSTResult(Collections.emptyList(), edgeCount, totalWeight, operationsCount, executionTime,
+                heapPeakSize, decreaseKeyCount, metrics);
+    }
+}
@@ -0,0 +1,203 @@
+package mst;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Content-addressed cache of MST results. Entries are keyed by the graph's fingerprint
+ * (see Graph.getFingerprint) plus the name of the engine that runs for it (see
+ * MSTAlgorithm.getEngineName), so an identical graph loaded again from any source hits the
+ * same entry, and "auto" shares entries with the engine it picks. A hit publishes the
+ * stored metrics to the algorithm's sink, as the run it stands in for would have. The in-memory part is an LRU bounded
+ * by entry count. With a spill directory, every entry is also written to disk, so
+ * entries evicted from memory, or computed by an earlier run, are read back instead
+ * of recomputed. A cached result keeps the execution time of the run that produced it.
+ */
+public class MSTResultCache {
+    private static final int FILE_MAGIC = 0x4D535435; // "MST5", one record layout for every algorithm
+
+    private final int maxEntries;
+    private final Path spillDirectory;
+    private final LinkedHashMap<String, MSTResult> entries;
+
+    private long hitCount;
+    private long diskHitCount;
+    private long missCount;
+
+    public MSTResultCache(int maxEntries) {
+        this(maxEntries, null);
+    }
+
+    /**
+     * @param spillDirectory directory for the on-disk copy of entries, or null for memory only
+     */
+    public MSTResultCache(int maxEntries, Path spillDirectory) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        this.spillDirectory = spillDirectory;
+        this.entries = new LinkedHashMap<String, MSTResult>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MSTResult> eldest) {
+                return size() > MSTResultCache.this.maxEntries;
+            }
+        };
+        if (spillDirectory != null) {
+            try {
+                Files.createDirectories(spillDirectory);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot create cache directory " + spillDirectory, e);
+            }
+        }
+    }
+
+    public synchronized int size() { return entries.size(); }
+    public synchronized long getHitCount() { return hitCount; }
+    public synchronized long getDiskHitCount() { return diskHitCount; }
+    public synchronized long getMissCount() { return missCount; }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Cached result for the graph and algorithm configuration, computed and stored on a miss
+     */
+    public MSTResult findMST(Graph graph, MSTAlgorithm algorithm) {
+        MSTResult result = get(graph, algorithm);
+        if (result == null) {
+            result = algorithm.findMST(graph);
+            put(graph, algorithm, result);
+        }
+        return result;
+    }
+
+    public MSTResult get(Graph graph, MSTAlgorithm algorithm) {
+        MSTResult result = lookup(key(graph, algorithm));
+        if (result != null) {
+            result.getMetrics().publishTo(algorithm.getMetrics());
+        }
+        return result;
+    }
+
+    public void put(Graph graph, MSTAlgorithm algorithm, MSTResult result) {
+        store(key(graph, algorithm), result);
+    }
+
+    private static String key(Graph graph, MSTAlgorithm algorithm) {
+        return graph.getFingerprint() + "-" + algorithm.getEngineName(graph);
+    }
+
+    private MSTResult lookup(String key) {
+        synchronized (this) {
+            MSTResult result = entries.get(key);
+            if (result != null) {
+                hitCount++;
+                return result;
+            }
+        }
+
+        // Disk reads happen outside the lock so other threads keep hitting memory
+        MSTResult result = readSpilled(key);
+        synchronized (this) {
+            if (result != null) {
+                diskHitCount++;
+                entries.put(key, result);
+            } else {
+                missCount++;
+            }
+        }
+        return result;
+    }
+
+    private void store(String key, MSTResult result) {
+        synchronized (this) {
+            entries.put(key, result);
+        }
+        writeSpilled(key, result);
+    }
+
+    private MSTResult readSpilled(String key) {
+        if (spillDirectory == null) return null;
+        Path file = spillDirectory.resolve(key + ".mst");
+        if (!Files.exists(file)) return null;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC) {
+                throw new IOException("Not an MST cache file");
+            }
+            int edgeCount = in.readInt();
+            List<Edge> edges = new ArrayList<>(edgeCount);
+            for (int i = 0; i < edgeCount; i++) {
+                edges.add(new Edge(in.readInt(), in.readInt(), in.readDouble()));
+            }
+            double totalWeight = in.readDouble();
+            long operations = in.readLong();
+            long time = in.readLong();
+            int heapPeakSize = in.readInt();
+            long decreaseKeyCount = in.readLong();
+            // Counters by label, so adding one does not invalidate older files; unknown ones are skipped
+            CountingMetrics metrics = new CountingMetrics();
+            int counters = in.readInt();
+            for (int i = 0; i < counters; i++) {
+                String label = in.readUTF();
+                long value = in.readLong();
+                for (MSTMetrics.Counter counter : MSTMetrics.Counter.values()) {
+                    if (counter.getLabel().equals(label)) metrics.add(counter, value);
+                }
+            }
+            for (MSTMetrics.Phase phase : MSTMetrics.Phase.values()) {
+                metrics.addPhaseTime(phase, in.readLong());
+            }
+            return new MSTResult(edges, totalWeight, operations, time, heapPeakSize, decreaseKeyCount, metrics);
+
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable cache file " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeSpilled(String key, MSTResult result) {
+        if (spillDirectory == null) return;
+        Path file = spillDirectory.resolve(key + ".mst");
+        if (Files.exists(file)) return;
+
+        try {
+            // Written to a temp file and moved, so concurrent readers never see a partial entry
+            Path tmp = Files.createTempFile(spillDirectory, key, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(FILE_MAGIC);
+                out.writeInt(result.getEdges().size());
+                for (Edge edge : result.getEdges()) {
+                    out.writeInt(edge.getSource());
+                    out.writeInt(edge.getDestination());
+                    out.writeDouble(edge.getWeight());
+                }
+                out.writeDouble(result.getTotalWeight());
+                out.writeLong(result.getOperationsCount());
+                out.writeLong(result.getExecutionTime());
+                out.writeInt(result.getHeapPeakSize());
+                out.writeLong(result.getDecreaseKeyCount());
+                CountingMetrics metrics = result.getMetrics();
+                out.writeInt(MSTMetrics.Counter.values().length);
+                for (MSTMetrics.Counter counter : MSTMetrics.Counter.values()) {
+                    out.writeUTF(counter.getLabel());
+                    out.writeLong(metrics.get(counter));
+                }
+                for (MSTMetrics.Phase phase : MSTMetrics.Phase.values()) {
+                    out.writeLong(metrics.getPhaseTime(phase));
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not spill cache entry " + key + ": " + e.getMessage());
+        }
+    }
+}
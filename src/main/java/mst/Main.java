@@ -1,10 +1,43 @@
 package mst;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 
 public class Main {
+    private static final int CACHE_ENTRIES = 256;
+
+    /**
+     * Options:
+     *   --threads N          run graphs of a file concurrently on N workers (batch mode)
+     *   --virtual-threads    use virtual threads for batch jobs where the JVM supports them
+     *   --exclusive-timing   in batch mode, time one algorithm run at a time
+     *   --warmup N           untimed runs per algorithm and graph before measuring (batch mode)
+     *   --cache-dir DIR      keep MST results on disk and reuse them for identical graphs
+     *   --compact-json       write output_results.json without indentation
+     *   --gzip-json          write output_results.json.gz instead
+     *   --algorithms LIST    comma-separated engines to compare, default prim,kruskal;
+     *                        any of prim, prim-indexed, prim-dense, kruskal, kruskal-radix, kruskal-filter,
+     *                        kruskal-external, boruvka, components-prim-indexed, or auto to pick one
+     *                        per graph
+     *   --cost-model FILE    cost model auto chooses with, as saved by --calibrate
+     *   --calibrate FILE     fit the cost model to this run's timings and save it to FILE
+     */
     public static void main(String[] args) {
         System.out.println("=== MST Algorithm Comparison ===\n");
+        BatchComparisonRunner batchRunner = parseBatchOptions(args);
+        MSTResultCache cache = parseCacheOption(args);
+        boolean compactJson = Arrays.asList(args).contains("--compact-json");
+        boolean gzipJson = Arrays.asList(args).contains("--gzip-json");
+        MSTCostModel costModel = parseCostModel(args);
+        List<Supplier<MSTAlgorithm>> algorithms =
+                MSTAlgorithmRegistry.defaults(costModel).getFactories(parseAlgorithms(args));
+        List<MSTComparison.ComparisonResult> allResults = new ArrayList<>();
 
         // 1st, check JSON files structure
         System.out.println("Checking JSON files structure...");
@@ -23,13 +56,19 @@ public class Main {
         boolean anyFileLoaded = false;
 
         for (String testFile : testFiles) {
-            try {
-                System.out.println("Loading: " + testFile);
-                List<Graph> graphs = Graph.loadGraphsFromJson(testFile);
-                System.out.printf("Successfully loaded %d graphs from %s%n%n", graphs.size(), testFile);
-
-                MSTComparison comparison = new MSTComparison(graphs);
-                comparison.runComparison();
+            System.out.println("Loading: " + testFile);
+            // Graphs are streamed one at a time, so files larger than the heap can be processed
+            try (JsonGraphReader reader = JsonGraphReader.open(testFile)) {
+                MSTComparison comparison = new MSTComparison(() -> reader, algorithms, cache);
+                comparison.setJsonOutput(!compactJson, gzipJson);
+                if (batchRunner != null) {
+                    comparison.runComparison(batchRunner);
+                } else {
+                    comparison.runComparison();
+                }
+                System.out.printf("Successfully processed %d graphs from %s%n%n",
+                        comparison.getResults().size(), testFile);
+                allResults.addAll(comparison.getResults());
                 anyFileLoaded = true;
 
             } catch (Exception e) {
@@ -42,9 +81,97 @@ public class Main {
             runManualTest();
         }
 
+        Path calibrationFile = optionPath(args, "--calibrate");
+        if (calibrationFile != null) {
+            try {
+                costModel.calibrate(allResults, Runtime.getRuntime().availableProcessors()).save(calibrationFile);
+                System.out.println("Cost model calibrated on " + allResults.size() + " graphs, saved to: "
+                        + calibrationFile.toAbsolutePath());
+            } catch (IOException e) {
+                System.err.println("Error saving cost model: " + e.getMessage());
+            }
+        }
+
         System.out.println("=== Comparison Complete ===");
     }
 
+    private static BatchComparisonRunner parseBatchOptions(String[] args) {
+        int threads = 0;
+        boolean virtualThreads = false;
+        boolean exclusiveTiming = false;
+        int warmupRuns = 0;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                case "--virtual-threads":
+                    virtualThreads = true;
+                    break;
+                case "--exclusive-timing":
+                    exclusiveTiming = true;
+                    break;
+                case "--warmup":
+                    warmupRuns = Integer.parseInt(args[++i]);
+                    break;
+                case "--cache-dir":
+                case "--algorithms":
+                case "--cost-model":
+                case "--calibrate":
+                    i++;
+                    break;
+                case "--compact-json":
+                case "--gzip-json":
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        if (threads <= 0) return null;
+        return new BatchComparisonRunner(
+                virtualThreads ? BatchComparisonRunner.ExecutorKind.VIRTUAL : BatchComparisonRunner.ExecutorKind.PLATFORM,
+                threads, Runtime.getRuntime().maxMemory() / 2, exclusiveTiming, warmupRuns);
+    }
+
+    private static MSTResultCache parseCacheOption(String[] args) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals("--cache-dir")) {
+                return new MSTResultCache(CACHE_ENTRIES, java.nio.file.Paths.get(args[i + 1]));
+            }
+        }
+        return null;
+    }
+
+    private static MSTCostModel parseCostModel(String[] args) {
+        Path file = optionPath(args, "--cost-model");
+        if (file == null) return MSTCostModel.defaults();
+        try {
+            return MSTCostModel.load(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load cost model " + file, e);
+        }
+    }
+
+    private static Path optionPath(String[] args, String option) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(option)) {
+                return Paths.get(args[i + 1]);
+            }
+        }
+        return null;
+    }
+
+    private static List<String> parseAlgorithms(String[] args) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals("--algorithms")) {
+                return Arrays.asList(args[i + 1].split(","));
+            }
+        }
+        return MSTComparison.DEFAULT_ALGORITHMS;
+    }
+
     private static void runManualTest() {
         List<Edge> edges = List.of(
                 new Edge(0, 1, 2.0),
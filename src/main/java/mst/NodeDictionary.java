@@ -0,0 +1,220 @@
+package mst;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Node names interned to dense int ids 0 .. size() - 1. All characters live in one char
+ * arena, and lookups probe an open-addressing table of ids. So a name costs a few bytes
+ * beyond its characters, and resolving one creates no objects: no entries, no boxed ids.
+ * Names are never removed.
+ */
+public class NodeDictionary {
+    private static final int INITIAL_NAMES = 16;
+
+    private char[] chars;
+    private int charCount;
+    private int[] offsets;  // Name i occupies chars[offsets[i], offsets[i + 1])
+    private int[] hashes;
+    private int[] table;    // Slot to id, -1 when empty; a power of two in size, at most half full
+    private int size;
+
+    public NodeDictionary() {
+        this(INITIAL_NAMES);
+    }
+
+    public NodeDictionary(int expectedNames) {
+        if (expectedNames < 0) {
+            throw new IllegalArgumentException("Expected name count must not be negative: " + expectedNames);
+        }
+        int names = Math.max(expectedNames, 1);
+        chars = new char[8 * names];
+        offsets = new int[names + 1];
+        hashes = new int[names];
+        table = new int[Integer.highestOneBit(names) * 4];
+        Arrays.fill(table, -1);
+    }
+
+    /**
+     * Dictionary of the names of a name-to-index map whose ids are exactly 0 .. size - 1
+     */
+    public static NodeDictionary fromMap(Map<String, Integer> nodeToIndex) {
+        String[] names = new String[nodeToIndex.size()];
+        for (Map.Entry<String, Integer> entry : nodeToIndex.entrySet()) {
+            int id = entry.getValue();
+            if (id < 0 || id >= names.length || names[id] != null) {
+                throw new IllegalArgumentException("Node ids must be 0.." + (names.length - 1)
+                        + " without gaps, found " + entry.getKey() + " = " + id);
+            }
+            names[id] = entry.getKey();
+        }
+        NodeDictionary dictionary = new NodeDictionary(names.length);
+        for (String name : names) {
+            dictionary.add(name);
+        }
+        return dictionary;
+    }
+
+    public int size() { return size; }
+
+    /**
+     * Id of the name, which is interned with the next id if it is new
+     */
+    public int add(CharSequence name) {
+        int hash = hash(name);
+        int slot = find(name, hash);
+        if (table[slot] >= 0) return table[slot];
+
+        int length = name.length();
+        if (charCount + length > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(2 * chars.length, charCount + length));
+        }
+        for (int i = 0; i < length; i++) {
+            chars[charCount++] = name.charAt(i);
+        }
+        if (size == hashes.length) {
+            hashes = Arrays.copyOf(hashes, 2 * size);
+            offsets = Arrays.copyOf(offsets, 2 * size + 1);
+        }
+        hashes[size] = hash;
+        offsets[size + 1] = charCount;
+        table[slot] = size;
+        size++;
+
+        if (2 * size > table.length) {
+            rehash(2 * table.length);
+        }
+        return size - 1;
+    }
+
+    /**
+     * Id of the name, or -1 if it is not in the dictionary
+     */
+    public int indexOf(CharSequence name) {
+        return table[find(name, hash(name))];
+    }
+
+    public String getName(int id) {
+        checkId(id);
+        return new String(chars, offsets[id], offsets[id + 1] - offsets[id]);
+    }
+
+    /**
+     * Append the name to the builder without creating a String
+     */
+    public void appendName(int id, StringBuilder out) {
+        checkId(id);
+        out.append(chars, offsets[id], offsets[id + 1] - offsets[id]);
+    }
+
+    /**
+     * Read-only name-to-id view, for callers that want a Map; lookups go through the dictionary
+     */
+    public Map<String, Integer> asMap() {
+        return new AbstractMap<String, Integer>() {
+            @Override
+            public Integer get(Object key) {
+                if (!(key instanceof CharSequence)) return null;
+                int id = indexOf((CharSequence) key);
+                return id < 0 ? null : id;
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return key instanceof CharSequence && indexOf((CharSequence) key) >= 0;
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public Set<Entry<String, Integer>> entrySet() {
+                return new AbstractSet<Entry<String, Integer>>() {
+                    @Override
+                    public int size() {
+                        return size;
+                    }
+
+                    @Override
+                    public Iterator<Entry<String, Integer>> iterator() {
+                        return new Iterator<Entry<String, Integer>>() {
+                            private int next;
+
+                            @Override
+                            public boolean hasNext() {
+                                return next < size;
+                            }
+
+                            @Override
+                            public Entry<String, Integer> next() {
+                                if (next >= size) throw new NoSuchElementException();
+                                int id = next++;
+                                return new SimpleImmutableEntry<>(getName(id), id);
+                            }
+                        };
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Slot holding the name, or the empty slot where it would go
+     */
+    private int find(CharSequence name, int hash) {
+        int mask = table.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int id = table[slot];
+            if (id < 0 || (hashes[id] == hash && matches(id, name))) {
+                return slot;
+            }
+        }
+    }
+
+    private boolean matches(int id, CharSequence name) {
+        int start = offsets[id];
+        int length = offsets[id + 1] - start;
+        if (length != name.length()) return false;
+        for (int i = 0; i < length; i++) {
+            if (chars[start + i] != name.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private void rehash(int capacity) {
+        table = new int[capacity];
+        Arrays.fill(table, -1);
+        int mask = capacity - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = hashes[id] & mask;
+            while (table[slot] >= 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = id;
+        }
+    }
+
+    /**
+     * String.hashCode of the characters with the high bits folded in, as HashMap does
+     */
+    private static int hash(CharSequence name) {
+        int hash = 0;
+        for (int i = 0; i < name.length(); i++) {
+            hash = 31 * hash + name.charAt(i);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Node id " + id + " out of range for " + size + " names");
+        }
+    }
+}
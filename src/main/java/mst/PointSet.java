@@ -0,0 +1,114 @@
+package mst;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Points in d dimensions standing for the implicit complete graph whose edge weights are
+ * the Euclidean distances. Coordinates are kept in one flat array, point i at
+ * [i * d, (i + 1) * d), so a million points take a single allocation and no edges at all.
+ */
+public class PointSet {
+    private final int dimensions;
+    private final double[] coordinates;
+
+    /**
+     * @param coordinates the points one after the other; owned by the set from now on
+     */
+    public PointSet(int dimensions, double[] coordinates) {
+        if (dimensions < 1) {
+            throw new IllegalArgumentException("Dimensions must be at least 1: " + dimensions);
+        }
+        if (coordinates.length % dimensions != 0) {
+            throw new IllegalArgumentException("Coordinate count " + coordinates.length
+                    + " is not a multiple of the dimensions " + dimensions);
+        }
+        this.dimensions = dimensions;
+        this.coordinates = coordinates;
+    }
+
+    public int size() { return coordinates.length / dimensions; }
+    public int getDimensions() { return dimensions; }
+    public double getCoordinate(int point, int axis) { return coordinates[point * dimensions + axis]; }
+
+    public double distance(int a, int b) {
+        return Math.sqrt(squaredDistance(a, b));
+    }
+
+    public double squaredDistance(int a, int b) {
+        double sum = 0;
+        for (int axis = 0, i = a * dimensions, j = b * dimensions; axis < dimensions; axis++, i++, j++) {
+            double delta = coordinates[i] - coordinates[j];
+            sum += delta * delta;
+        }
+        return sum;
+    }
+
+    /**
+     * Distances as a weight function, for the dense engines
+     */
+    public WeightFunction asWeightFunction() {
+        return this::distance;
+    }
+
+    /**
+     * Uniform points in the unit cube of the given dimensions
+     */
+    public static PointSet random(int points, int dimensions, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] coordinates = new double[Math.multiplyExact(points, dimensions)];
+        for (int i = 0; i < coordinates.length; i++) {
+            coordinates[i] = random.nextDouble();
+        }
+        return new PointSet(dimensions, coordinates);
+    }
+
+    /**
+     * Read one point per line, coordinates separated by whitespace or commas.
+     * Blank lines and lines starting with '#' are skipped; the first point fixes the dimensions.
+     */
+    public static PointSet read(Path file) throws IOException {
+        double[] coordinates = new double[1024];
+        int size = 0;
+        int dimensions = 0;
+        int lineNumber = 0;
+
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+
+                String[] fields = line.split("[\\s,]+");
+                if (dimensions == 0) {
+                    dimensions = fields.length;
+                } else if (fields.length != dimensions) {
+                    throw new IOException("Line " + lineNumber + " of " + file + ": expected "
+                            + dimensions + " coordinates, found " + fields.length);
+                }
+                if (size + dimensions > coordinates.length) {
+                    coordinates = Arrays.copyOf(coordinates, Math.max(2 * coordinates.length, size + dimensions));
+                }
+                for (String field : fields) {
+                    try {
+                        coordinates[size++] = Double.parseDouble(field);
+                    } catch (NumberFormatException e) {
+                        throw new IOException("Line " + lineNumber + " of " + file + ": invalid coordinate " + field, e);
+                    }
+                }
+            }
+        }
+        return new PointSet(Math.max(dimensions, 1), Arrays.copyOf(coordinates, size));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PointSet{points=%d, dimensions=%d}", size(), dimensions);
+    }
+}
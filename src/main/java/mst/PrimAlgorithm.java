@@ -3,68 +3,310 @@ package mst;
 import java.util.*;
 
 
-public class PrimAlgorithm {
-    private long operationsCount;
-    private long executionTime;
+public class PrimAlgorithm implements MSTAlgorithm {
+
+    /**
+     * Priority queue strategy used to pick the next vertex
+     */
+    public enum Mode {
+        LAZY_HEAP,      // java.util.PriorityQueue with stale entries skipped on poll
+        INDEXED_HEAP,   // IndexedDaryHeap with true decrease-key, at most V entries
+        DENSE           // Linear scan of the key array, O(V^2 + E) with no heap, for near-complete graphs
+    }
+
+    private final Mode mode;
+    private final int heapArity;
+    private final MSTMetrics metrics;
+
+    // Per-run state; counters are plain fields so the loops never call into the metrics sink
     private List<Edge> mstEdges;
     private double totalWeight;
+    private int heapPeakSize;
+    private long edgesScanned;
+    private long heapPushes;
+    private long heapPops;
+    private long stalePops;
+    private long decreaseKeys;
+
+    public PrimAlgorithm() {
+        this(Mode.LAZY_HEAP);
+    }
+
+    public PrimAlgorithm(Mode mode) {
+        this(mode, IndexedDaryHeap.DEFAULT_ARITY);
+    }
+
+    public PrimAlgorithm(Mode mode, int heapArity) {
+        this(mode, heapArity, MSTMetrics.NOOP);
+    }
+
+    /**
+     * @param metrics receives the counters and phase timings of every run
+     */
+    public PrimAlgorithm(Mode mode, int heapArity, MSTMetrics metrics) {
+        this.mode = mode;
+        this.heapArity = heapArity;
+        this.metrics = metrics;
+    }
 
+    public Mode getMode() { return mode; }
+    public int getHeapArity() { return heapArity; }
+    @Override
+    public MSTMetrics getMetrics() { return metrics; }
+
+    /**
+     * "prim" for the lazy heap, "prim-dense" for the array scan, "prim-indexed" for the indexed heap,
+     * and "-d" plus the arity when it is not the default
+     */
+    @Override
+    public String getName() {
+        if (mode == Mode.LAZY_HEAP) return "prim";
+        if (mode == Mode.DENSE) return "prim-dense";
+        return heapArity == IndexedDaryHeap.DEFAULT_ARITY ? "prim-indexed" : "prim-indexed-d" + heapArity;
+    }
+
+    @Override
     public MSTResult findMST(Graph graph) {
-        operationsCount = 0;
         long startTime = System.nanoTime();
         mstEdges = new ArrayList<>();
         totalWeight = 0.0;
+        heapPeakSize = 0;
+        edgesScanned = 0;
+        heapPushes = 0;
+        heapPops = 0;
+        stalePops = 0;
+        decreaseKeys = 0;
+        CountingMetrics run = new CountingMetrics();
+
+        if (graph.getVertices() > 0) {
+            boolean[] visited = new boolean[graph.getVertices()];
+            double[] minEdge = new double[graph.getVertices()];
+            int[] parent = new int[graph.getVertices()];
 
-        if (graph.getVertices() == 0) {
-            executionTime = System.nanoTime() - startTime;
-            return new MSTResult(mstEdges, totalWeight, operationsCount, executionTime);
+            Arrays.fill(minEdge, Double.MAX_VALUE);
+            Arrays.fill(parent, -1);
+            long loopStart = System.nanoTime();
+            run.addPhaseTime(MSTMetrics.Phase.BUILD, loopStart - startTime);
+
+            if (mode == Mode.DENSE) {
+                runDense(graph, visited, minEdge, parent);
+            } else if (mode == Mode.INDEXED_HEAP) {
+                runIndexedHeap(graph, visited, minEdge, parent);
+            } else {
+                runLazyHeap(graph, visited, minEdge, parent);
+            }
+            run.addPhaseTime(MSTMetrics.Phase.MAIN_LOOP, System.nanoTime() - loopStart);
         }
 
-        boolean[] visited = new boolean[graph.getVertices()];
-        double[] minEdge = new double[graph.getVertices()];
-        int[] parent = new int[graph.getVertices()];
+        run.add(MSTMetrics.Counter.EDGES_SCANNED, edgesScanned);
+        run.add(MSTMetrics.Counter.HEAP_PUSHES, heapPushes);
+        run.add(MSTMetrics.Counter.HEAP_POPS, heapPops);
+        run.add(MSTMetrics.Counter.STALE_POPS, stalePops);
+        run.add(MSTMetrics.Counter.DECREASE_KEYS, decreaseKeys);
+        long executionTime = System.nanoTime() - startTime;
+        run.publishTo(metrics);
 
-        Arrays.fill(minEdge, Double.MAX_VALUE);
-        Arrays.fill(parent, -1);
-        minEdge[0] = 0;
-        operationsCount += 3 * graph.getVertices(); // Array fills
+        return new MSTResult(mstEdges, totalWeight, executionTime, heapPeakSize, run);
+    }
 
+    /**
+     * Grows a tree from every vertex not yet reached, in index order, so a disconnected
+     * graph gets its minimum spanning forest in one pass over the vertices
+     */
+    private void runLazyHeap(Graph graph, boolean[] visited, double[] minEdge, int[] parent) {
         PriorityQueue<Vertex> pq = new PriorityQueue<>(Comparator.comparingDouble(v -> v.weight));
-        pq.offer(new Vertex(0, 0));
-        operationsCount++;
 
+        for (int root = 0; root < graph.getVertices(); root++) {
+            if (visited[root]) continue;
+            pq.offer(new Vertex(root, 0));
+            heapPeakSize = Math.max(heapPeakSize, 1);
+            heapPushes++;
+            growLazyHeap(graph, pq, visited, minEdge, parent);
+        }
+    }
+
+    private void growLazyHeap(Graph graph, PriorityQueue<Vertex> pq, boolean[] visited, double[] minEdge, int[] parent) {
         while (!pq.isEmpty()) {
             Vertex current = pq.poll();
-            operationsCount++;
+            heapPops++;
 
             int u = current.vertex;
-            if (visited[u]) continue;
+            if (visited[u]) {
+                stalePops++;
+                continue;
+            }
+
+            visited[u] = true;
+            addTreeEdge(u, parent, minEdge);
+
+            int end = graph.getNeighborEnd(u);
+            edgesScanned += end - graph.getNeighborStart(u);
+            for (int slot = graph.getNeighborStart(u); slot < end; slot++) {
+                int v = graph.getNeighbor(slot);
+                double weight = graph.getNeighborWeight(slot);
+
+                if (!visited[v] && weight < minEdge[v]) {
+                    minEdge[v] = weight;
+                    parent[v] = u;
+                    pq.offer(new Vertex(v, weight));
+                    heapPushes++;
+                    heapPeakSize = Math.max(heapPeakSize, pq.size());
+                }
+            }
+        }
+    }
+
+    private void runIndexedHeap(Graph graph, boolean[] visited, double[] minEdge, int[] parent) {
+        IndexedDaryHeap heap = new IndexedDaryHeap(graph.getVertices(), heapArity);
 
+        for (int root = 0; root < graph.getVertices(); root++) {
+            if (visited[root]) continue;
+            heap.insert(root, 0);
+            heapPeakSize = Math.max(heapPeakSize, 1);
+            heapPushes++;
+            growIndexedHeap(graph, heap, visited, minEdge, parent);
+        }
+    }
+
+    private void growIndexedHeap(Graph graph, IndexedDaryHeap heap, boolean[] visited, double[] minEdge, int[] parent) {
+        while (!heap.isEmpty()) {
+            int u = heap.pollMin();
             visited[u] = true;
-            operationsCount++;
+            heapPops++;
+
+            addTreeEdge(u, parent, minEdge);
+
+            int end = graph.getNeighborEnd(u);
+            edgesScanned += end - graph.getNeighborStart(u);
+            for (int slot = graph.getNeighborStart(u); slot < end; slot++) {
+                int v = graph.getNeighbor(slot);
+                double weight = graph.getNeighborWeight(slot);
+
+                if (!visited[v] && weight < minEdge[v]) {
+                    minEdge[v] = weight;
+                    parent[v] = u;
+                    if (heap.contains(v)) {
+                        heap.decreaseKey(v, weight);
+                        decreaseKeys++;
+                    } else {
+                        heap.insert(v, weight);
+                        heapPushes++;
+                        heapPeakSize = Math.max(heapPeakSize, heap.size());
+                    }
+                }
+            }
+        }
+    }
 
-            if (parent[u] != -1) {
-                mstEdges.add(new Edge(parent[u], u, minEdge[u]));
-                totalWeight += minEdge[u];
-                operationsCount += 2;
+    /**
+     * Dense Prim over the implicit complete graph of the weight function, evaluating each
+     * pair once: O(V^2) time, O(V) memory and no allocation besides the tree edges.
+     * Always uses the array scan, whatever the mode. Pairs weighing POSITIVE_INFINITY are
+     * not edges; when they split the vertices the result is a spanning forest.
+     */
+    public MSTResult findMST(int vertices, WeightFunction weights) {
+        long startTime = System.nanoTime();
+        mstEdges = new ArrayList<>(Math.max(vertices - 1, 0));
+        totalWeight = 0.0;
+        heapPeakSize = 0;
+        edgesScanned = 0;
+        CountingMetrics run = new CountingMetrics();
+
+        if (vertices > 0) {
+            double[] key = new double[vertices];
+            int[] parent = new int[vertices];
+            Arrays.fill(key, Double.MAX_VALUE);
+            Arrays.fill(parent, -1);
+            long loopStart = System.nanoTime();
+            run.addPhaseTime(MSTMetrics.Phase.BUILD, loopStart - startTime);
+
+            // Relaxing from the newest tree vertex and picking the next one share a single pass
+            int u = 0;
+            int reached = 0;
+            int root = 0;
+            while (u >= 0) {
+                addTreeEdge(u, parent, key);
+                key[u] = Double.POSITIVE_INFINITY; // Marks u as in the tree
+                reached++;
+                int next = -1;
+                double nextKey = Double.MAX_VALUE;
+                for (int v = 0; v < vertices; v++) {
+                    if (key[v] == Double.POSITIVE_INFINITY) continue;
+                    double weight = weights.weight(u, v);
+                    if (weight < key[v]) {
+                        key[v] = weight;
+                        parent[v] = u;
+                    }
+                    if (key[v] < nextKey) {
+                        nextKey = key[v];
+                        next = v;
+                    }
+                }
+                edgesScanned += vertices - reached;
+                if (next < 0 && reached < vertices) {
+                    // Nothing left is reachable: start the next tree at the first vertex outside the forest
+                    while (key[root] == Double.POSITIVE_INFINITY) root++;
+                    next = root;
+                }
+                u = next;
             }
+            run.addPhaseTime(MSTMetrics.Phase.MAIN_LOOP, System.nanoTime() - loopStart);
+        }
 
-            for (Edge edge : graph.getAdjacencyList().get(u)) {
-                int v = edge.getDestination();
-                double weight = edge.getWeight();
-                operationsCount += 2;
+        run.add(MSTMetrics.Counter.EDGES_SCANNED, edgesScanned);
+        long executionTime = System.nanoTime() - startTime;
+        run.publishTo(metrics);
+
+        return new MSTResult(mstEdges, totalWeight, executionTime, 0, run);
+    }
+
+    /**
+     * Next vertex by a branch-light scan of the key array; tree vertices hold POSITIVE_INFINITY
+     * there and unreached ones MAX_VALUE, so neither is picked. Edges relax from the CSR arrays.
+     */
+    private void runDense(Graph graph, boolean[] visited, double[] minEdge, int[] parent) {
+        int vertices = graph.getVertices();
+        int u = 0;
+        int root = 0;
+        while (u >= 0) {
+            visited[u] = true;
+            addTreeEdge(u, parent, minEdge);
+            minEdge[u] = Double.POSITIVE_INFINITY;
+
+            int end = graph.getNeighborEnd(u);
+            edgesScanned += end - graph.getNeighborStart(u);
+            for (int slot = graph.getNeighborStart(u); slot < end; slot++) {
+                int v = graph.getNeighbor(slot);
+                double weight = graph.getNeighborWeight(slot);
 
                 if (!visited[v] && weight < minEdge[v]) {
                     minEdge[v] = weight;
                     parent[v] = u;
-                    pq.offer(new Vertex(v, weight));
-                    operationsCount += 4;
                 }
             }
+
+            int next = -1;
+            double nextKey = Double.MAX_VALUE;
+            for (int v = 0; v < vertices; v++) {
+                if (minEdge[v] < nextKey) {
+                    nextKey = minEdge[v];
+                    next = v;
+                }
+            }
+            if (next < 0) {
+                // Component done: the next tree starts at the first unvisited vertex
+                while (root < vertices && visited[root]) root++;
+                next = root < vertices ? root : -1;
+            }
+            u = next;
         }
+    }
 
-        executionTime = System.nanoTime() - startTime;
-        return new MSTResult(mstEdges, totalWeight, operationsCount, executionTime);
+    private void addTreeEdge(int u, int[] parent, double[] minEdge) {
+        if (parent[u] != -1) {
+            mstEdges.add(new Edge(parent[u], u, minEdge[u]));
+            totalWeight += minEdge[u];
+        }
     }
 
     private static class Vertex {
@@ -76,23 +318,4 @@ public class PrimAlgorithm {
             this.weight = weight;
         }
     }
-
-    public static class MSTResult {
-        private final List<Edge> edges;
-        private final double totalWeight;
-        private final long operationsCount;
-        private final long executionTime;
-
-        public MSTResult(List<Edge> edges, double totalWeight, long operationsCount, long executionTime) {
-            this.edges = new ArrayList<>(edges);
-            this.totalWeight = totalWeight;
-            this.operationsCount = operationsCount;
-            this.executionTime = executionTime;
-        }
-
-        public List<Edge> getEdges() { return Collections.unmodifiableList(edges); }
-        public double getTotalWeight() { return totalWeight; }
-        public long getOperationsCount() { return operationsCount; }
-        public long getExecutionTime() { return executionTime; }
-    }
-}
\ No newline at end of file
+}
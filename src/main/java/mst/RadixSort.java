@@ -0,0 +1,121 @@
+package mst;
+
+import java.util.Arrays;
+
+/**
+ * LSD radix sort of edge indices by weight. Weights are mapped to 64-bit keys whose
+ * unsigned order matches Double.compare, then sorted 16 bits per pass, or 8 bits per pass
+ * for inputs too small to pay for sweeping 65536 buckets. The sort is stable, so equal
+ * weights keep input order exactly like Collections.sort on Edge.
+ */
+public final class RadixSort {
+    private static final int DIGIT_BITS = 16;
+    private static final int SMALL_DIGIT_BITS = 8;
+    // Below this size the 16-bit bucket sweeps cost more than the extra 8-bit passes
+    private static final int SMALL_SORT_THRESHOLD = (1 << DIGIT_BITS) / 4;
+    private static final int INSERTION_SORT_THRESHOLD = 64;
+
+    private RadixSort() {
+    }
+
+    /**
+     * Map a double to a long whose unsigned order is the Double.compare order
+     */
+    public static long sortableBits(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits < 0 ? ~bits : bits ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * Edge indices of the graph ordered by ascending weight
+     */
+    public static int[] sortedEdgeOrder(Graph graph) {
+        int n = graph.getEdgeCount();
+        long[] keys = new long[n];
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = sortableBits(graph.getEdgeWeight(i));
+            order[i] = i;
+        }
+        sort(keys, order, 0, n);
+        return order;
+    }
+
+    /**
+     * Sort keys[from, to) ascending (unsigned), permuting values alongside
+     */
+    public static void sort(long[] keys, int[] values, int from, int to) {
+        int n = to - from;
+        if (n < INSERTION_SORT_THRESHOLD) {
+            insertionSort(keys, values, from, to);
+            return;
+        }
+
+        int digitBits = n < SMALL_SORT_THRESHOLD ? SMALL_DIGIT_BITS : DIGIT_BITS;
+        int buckets = 1 << digitBits;
+        int mask = buckets - 1;
+        long[] keyBuffer = new long[n];
+        int[] valueBuffer = new int[n];
+        int[] counts = new int[buckets];
+
+        long[] srcKeys = keys;
+        int[] srcValues = values;
+        int srcOffset = from;
+        long[] dstKeys = keyBuffer;
+        int[] dstValues = valueBuffer;
+        int dstOffset = 0;
+
+        for (int shift = 0; shift < Long.SIZE; shift += digitBits) {
+            Arrays.fill(counts, 0);
+            for (int i = srcOffset; i < srcOffset + n; i++) {
+                counts[(int) (srcKeys[i] >>> shift) & mask]++;
+            }
+
+            // Every key shares this digit, the pass would not move anything
+            if (counts[(int) (srcKeys[srcOffset] >>> shift) & mask] == n) continue;
+
+            int sum = dstOffset;
+            for (int b = 0; b < buckets; b++) {
+                int c = counts[b];
+                counts[b] = sum;
+                sum += c;
+            }
+            for (int i = srcOffset; i < srcOffset + n; i++) {
+                int pos = counts[(int) (srcKeys[i] >>> shift) & mask]++;
+                dstKeys[pos] = srcKeys[i];
+                dstValues[pos] = srcValues[i];
+            }
+
+            // Swap source and destination buffers for the next pass
+            long[] tmpKeys = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = tmpKeys;
+            int[] tmpValues = srcValues;
+            srcValues = dstValues;
+            dstValues = tmpValues;
+            int tmpOffset = srcOffset;
+            srcOffset = dstOffset;
+            dstOffset = tmpOffset;
+        }
+
+        if (srcKeys != keys) {
+            System.arraycopy(srcKeys, srcOffset, keys, from, n);
+            System.arraycopy(srcValues, srcOffset, values, from, n);
+        }
+    }
+
+    private static void insertionSort(long[] keys, int[] values, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            long key = keys[i];
+            int value = values[i];
+            int j = i - 1;
+            while (j >= from && Long.compareUnsigned(keys[j], key) > 0) {
+                keys[j + 1] = keys[j];
+                values[j + 1] = values[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            values[j + 1] = value;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package mst;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams the comparison results document with a JsonWriter. Each graph's result is written
+ * as soon as it is available, so memory use does not grow with the number of graphs or the
+ * size of their MSTs. The document layout is the one MSTComparison has always produced:
+ * a "results" array followed by the summary properties. Any number of algorithms can be
+ * compared without changing it.
+ */
+public class ResultsJsonWriter implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OutputStream stream;
+    private final JsonWriter writer;
+    private int resultCount;
+    private boolean finished;
+
+    /**
+     * @param pretty indent the output like Gson's pretty printing, otherwise write it compact
+     * @param gzip   compress the output; the caller chooses the file name
+     */
+    public ResultsJsonWriter(Path file, boolean pretty, boolean gzip) throws IOException {
+        OutputStream out = new BufferedOutputStream(Channels.newOutputStream(FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)),
+                BUFFER_SIZE);
+        this.stream = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+        this.writer = new JsonWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+        if (pretty) {
+            writer.setIndent("  ");
+        }
+        writer.setHtmlSafe(true);
+
+        writer.beginObject();
+        writer.name("results").beginArray();
+    }
+
+    public int getResultCount() { return resultCount; }
+
+    /**
+     * Each compared algorithm is an object under its name, e.g. "prim" and "kruskal"
+     */
+    public void write(MSTComparison.ComparisonResult result) throws IOException {
+        writer.beginObject();
+        writer.name("graphId").value(result.graphId);
+        writer.name("vertices").value(result.vertices);
+        writer.name("edges").value(result.edges);
+        if (result.getAnalysis() != null) {
+            writeAnalysis(result.getAnalysis());
+        }
+
+        for (String algorithm : result.getAlgorithmNames()) {
+            MSTResult run = result.getResult(algorithm);
+            writer.name(algorithm).beginObject();
+            writeMetrics(run);
+            writer.name("componentCount").value(run.getComponentCount(result.vertices));
+            writeRunMetrics(run.getMetrics());
+            writeEdges(run.getEdges(), result.getNodes());
+            writer.endObject();
+        }
+
+        writer.endObject();
+        resultCount++;
+    }
+
+    /**
+     * Close the results array and write the trailing summary properties
+     */
+    public void finish(String summary, String algorithmComparison) throws IOException {
+        writer.endArray();
+        writer.name("summary").value(summary);
+        writer.name("totalGraphsTested").value(resultCount);
+        writer.name("comparisonDate").value(new java.util.Date().toString());
+        writer.name("algorithmComparison").value(algorithmComparison);
+        writer.endObject();
+        finished = true;
+    }
+
+    /**
+     * Closing without finish leaves an incomplete document, e.g. after a failed run
+     */
+    @Override
+    public void close() throws IOException {
+        if (finished) {
+            writer.close();
+        } else {
+            writer.flush();
+            stream.close();
+        }
+    }
+
+    private void writeAnalysis(GraphAnalysis analysis) throws IOException {
+        writer.name("analysis").beginObject();
+        writer.name("components").value(analysis.getComponentCount());
+        writer.name("largestComponent").value(analysis.getLargestComponentSize());
+        writer.name("isolatedVertices").value(analysis.getIsolatedVertices());
+        writer.name("selfLoops").value(analysis.getSelfLoops());
+        writer.name("parallelEdges").value(analysis.getParallelEdges());
+        writer.name("minDegree").value(analysis.getMinDegree());
+        writer.name("maxDegree").value(analysis.getMaxDegree());
+        writer.name("averageDegree").value(analysis.getAverageDegree());
+        writer.name("density").value(analysis.getDensity());
+        writer.name("degreeHistogram").beginArray();
+        for (long count : analysis.getDegreeHistogram()) {
+            writer.value(count);
+        }
+        writer.endArray();
+        writer.endObject();
+    }
+
+    private void writeMetrics(MSTResult run) throws IOException {
+        writer.name("totalWeight").value(run.getTotalWeight());
+        writer.name("executionTimeNs").value(run.getExecutionTime());
+        writer.name("executionTimeMs").value(run.getExecutionTime() / 1_000_000.0);
+        writer.name("operationsCount").value(run.getOperationsCount());
+        writer.name("heapPeakSize").value(run.getHeapPeakSize());
+        writer.name("decreaseKeyCount").value(run.getDecreaseKeyCount());
+    }
+
+    private void writeRunMetrics(CountingMetrics metrics) throws IOException {
+        writer.name("phaseTimesNs").beginObject();
+        for (MSTMetrics.Phase phase : MSTMetrics.Phase.values()) {
+            writer.name(phase.getLabel()).value(metrics.getPhaseTime(phase));
+        }
+        writer.endObject();
+        writer.name("counters").beginObject();
+        for (MSTMetrics.Counter counter : MSTMetrics.Counter.values()) {
+            writer.name(counter.getLabel()).value(metrics.get(counter));
+        }
+        writer.endObject();
+    }
+
+    /**
+     * [u, v, w] arrays, or {"from", "to", "weight"} objects like the input's named edges when the graph has node names
+     */
+    private void writeEdges(List<Edge> edges, NodeDictionary nodes) throws IOException {
+        writer.name("mstEdges").beginArray();
+        for (Edge edge : edges) {
+            if (nodes != null) {
+                writer.beginObject();
+                writer.name("from").value(nodes.getName(edge.getSource()));
+                writer.name("to").value(nodes.getName(edge.getDestination()));
+                writer.name("weight").value(edge.getWeight());
+                writer.endObject();
+                continue;
+            }
+            writer.beginArray();
+            writer.value(edge.getSource());
+            writer.value(edge.getDestination());
+            writer.value(edge.getWeight());
+            writer.endArray();
+        }
+        writer.endArray();
+    }
+}
@@ -0,0 +1,93 @@
+package mst;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An MST result read as a minimum spanning forest: one tree per connected component of
+ * the graph, isolated vertices included. Components are numbered in order of their
+ * lowest vertex, so component 0 always contains vertex 0.
+ */
+public class SpanningForest {
+    private final int vertices;
+    private final int[] componentOf;
+    private final int[] componentSizes;
+    private final double[] componentWeights;
+    private final List<Edge> treeEdges; // Grouped by component
+    private final int[] treeStart;      // Component c's edges are treeEdges[treeStart[c], treeStart[c + 1])
+
+    /**
+     * @param edges forest edges, e.g. MSTResult.getEdges(); they must not form a cycle
+     */
+    public SpanningForest(int vertices, List<Edge> edges) {
+        UnionFind sets = new UnionFind(vertices);
+        for (Edge edge : edges) {
+            if (!sets.union(edge.getSource(), edge.getDestination())) {
+                throw new IllegalArgumentException("Edges form a cycle at " + edge);
+            }
+        }
+
+        this.vertices = vertices;
+        this.componentOf = new int[vertices];
+        int[] componentOfRoot = new int[vertices];
+        Arrays.fill(componentOfRoot, -1);
+        int components = 0;
+        for (int v = 0; v < vertices; v++) {
+            int root = sets.find(v);
+            if (componentOfRoot[root] < 0) {
+                componentOfRoot[root] = components++;
+            }
+            componentOf[v] = componentOfRoot[root];
+        }
+
+        this.componentSizes = new int[components];
+        this.componentWeights = new double[components];
+        for (int v = 0; v < vertices; v++) {
+            componentSizes[componentOf[v]]++;
+        }
+
+        // A tree has one edge less than its component has vertices
+        this.treeStart = new int[components + 1];
+        for (int c = 0; c < components; c++) {
+            treeStart[c + 1] = treeStart[c] + componentSizes[c] - 1;
+        }
+        Edge[] grouped = new Edge[edges.size()];
+        int[] next = Arrays.copyOf(treeStart, components);
+        for (Edge edge : edges) {
+            int component = componentOf[edge.getSource()];
+            grouped[next[component]++] = edge;
+            componentWeights[component] += edge.getWeight();
+        }
+        this.treeEdges = Collections.unmodifiableList(Arrays.asList(grouped));
+    }
+
+    public SpanningForest(Graph graph, MSTResult result) {
+        this(graph.getVertices(), result.getEdges());
+    }
+
+    public int getVertices() { return vertices; }
+    public int getComponentCount() { return componentSizes.length; }
+    public int getComponent(int vertex) { return componentOf[vertex]; }
+    public int getComponentSize(int component) { return componentSizes[component]; }
+    public double getComponentWeight(int component) { return componentWeights[component]; }
+
+    /**
+     * True when the forest is a single tree spanning every vertex
+     */
+    public boolean isSpanningTree() {
+        return componentSizes.length <= 1;
+    }
+
+    /**
+     * Tree edges of one component, in result order
+     */
+    public List<Edge> getTree(int component) {
+        return treeEdges.subList(treeStart[component], treeStart[component + 1]);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SpanningForest{vertices=%d, components=%d}", vertices, getComponentCount());
+    }
+}
@@ -0,0 +1,68 @@
+package mst;
+
+/**
+ * Union-Find (Disjoint Set Union) data structure with union by rank.
+ * find is iterative with path halving, so long parent chains cannot overflow the stack.
+ */
+public class UnionFind {
+    private final int[] parent;
+    private final byte[] rank;
+    private int setCount;
+    private long findCount;
+    private long pathSteps;
+
+    public UnionFind(int size) {
+        parent = new int[size];
+        rank = new byte[size];
+        for (int i = 0; i < size; i++) {
+            parent[i] = i;
+        }
+        setCount = size;
+    }
+
+    public int size() { return parent.length; }
+    public int getSetCount() { return setCount; }
+    public long getFindCount() { return findCount; }
+    public long getPathSteps() { return pathSteps; }
+
+    public int find(int x) {
+        findCount++;
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]]; // Path halving
+            x = parent[x];
+            pathSteps++;
+        }
+        return x;
+    }
+
+    public boolean connected(int x, int y) {
+        return find(x) == find(y);
+    }
+
+    /**
+     * Merge the sets of x and y, returns false if they were already joined
+     */
+    public boolean union(int x, int y) {
+        int rootX = find(x);
+        int rootY = find(y);
+        if (rootX == rootY) return false;
+        link(rootX, rootY);
+        return true;
+    }
+
+    /**
+     * Merge the sets of two different roots the caller already found, without finding them again
+     */
+    public void link(int rootX, int rootY) {
+        // Union by rank
+        if (rank[rootX] < rank[rootY]) {
+            parent[rootX] = rootY;
+        } else if (rank[rootX] > rank[rootY]) {
+            parent[rootY] = rootX;
+        } else {
+            parent[rootY] = rootX;
+            rank[rootX]++;
+        }
+        setCount--;
+    }
+}
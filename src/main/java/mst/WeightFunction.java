@@ -0,0 +1,19 @@
+package mst;
+
+/**
+ * Weight of the edge between two vertices of an implicit graph, for dense engines
+ * that consider every pair instead of reading an edge list.
+ * Pairs without an edge weigh Double.POSITIVE_INFINITY.
+ */
+@FunctionalInterface
+public interface WeightFunction {
+
+    double weight(int u, int v);
+
+    /**
+     * View of a symmetric adjacency matrix, with POSITIVE_INFINITY for missing edges
+     */
+    static WeightFunction ofMatrix(double[][] matrix) {
+        return (u, v) -> matrix[u][v];
+    }
+}
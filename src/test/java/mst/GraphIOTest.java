@@ -0,0 +1,351 @@
+package mst;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class GraphIOTest {
+
+    @Test
+    void testStreamingNewFormat() {
+        String json = "{ \"version\": 2, \"graphs\": ["
+                + "{ \"id\": 1, \"nodes\": [\"A\", \"B\", \"C\"],"
+                + "  \"edges\": [ {\"from\": \"A\", \"to\": \"B\", \"weight\": 2}, {\"from\": \"B\", \"to\": \"C\", \"weight\": 1.5} ] },"
+                + "{ \"edges\": [ {\"from\": \"Y\", \"to\": \"X\", \"weight\": 4} ], \"nodes\": [\"X\", \"Y\"] }"
+                + "] }";
+
+        List<Graph> graphs = readAll(json);
+        assertEquals(2, graphs.size());
+
+        Graph first = graphs.get(0);
+        assertEquals(3, first.getVertices());
+        assertEquals(2, first.getEdgeCount());
+        assertEquals(1, first.getEdgeSource(1));
+        assertEquals(2, first.getEdgeDestination(1));
+        assertEquals(1.5, first.getEdgeWeight(1), 0.0);
+
+        // Edges listed before nodes are still resolved against the node order
+        Graph second = graphs.get(1);
+        assertEquals(new Edge(1, 0, 4.0), second.getEdges().get(0));
+        assertEquals(Integer.valueOf(1), second.getNodeToIndex().get("Y"));
+
+        // A name listed twice would merge two vertices
+        RuntimeException duplicate = assertThrows(RuntimeException.class, () -> readAll(
+                "{ \"graphs\": [ { \"nodes\": [\"A\", \"B\", \"A\"], \"edges\": [] } ] }"));
+        assertTrue(duplicate.getMessage().contains("Duplicate node name: A"), duplicate.getMessage());
+        RuntimeException adjacent = assertThrows(RuntimeException.class, () -> readAll(
+                "{ \"graphs\": [ { \"nodes\": [\"A\", \"A\", \"B\"], \"edges\": [] } ] }"));
+        assertTrue(adjacent.getMessage().contains("Duplicate node name: A"), adjacent.getMessage());
+    }
+
+    @Test
+    void testStreamingLegacyFormat() {
+        String json = "[ { \"vertices\": 3, \"edges\": [ [0, 1, 2.0], [1, 2, 3] ] }, { \"vertices\": 1, \"edges\": [] } ]";
+
+        List<Graph> graphs = readAll(json);
+        assertEquals(2, graphs.size());
+        assertEquals(List.of(new Edge(0, 1, 2.0), new Edge(1, 2, 3.0)), graphs.get(0).getEdges());
+        assertEquals(0, graphs.get(1).getEdgeCount());
+    }
+
+    @Test
+    void testStreamFromResources() {
+        List<Graph> loaded = Graph.loadGraphsFromJson("mst_small_graphs.json");
+        try (Stream<Graph> stream = Graph.streamGraphsFromJson("mst_small_graphs.json")) {
+            List<Graph> streamed = stream.collect(Collectors.toList());
+            assertEquals(loaded.size(), streamed.size());
+            for (int i = 0; i < loaded.size(); i++) {
+                assertEquals(loaded.get(i).getEdges(), streamed.get(i).getEdges());
+            }
+        }
+    }
+
+    @Test
+    void testBinaryRoundTrip(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("small.mstg");
+        assertEquals(5, BinaryGraphFormat.convertJson("mst_small_graphs.json", file));
+
+        List<Graph> expected = Graph.loadGraphsFromJson("mst_small_graphs.json");
+        List<Graph> loaded = BinaryGraphFormat.load(file);
+        assertEquals(expected.size(), loaded.size());
+
+        for (int i = 0; i < expected.size(); i++) {
+            Graph original = expected.get(i);
+            Graph copy = loaded.get(i);
+            assertEquals(original.getVertices(), copy.getVertices());
+            assertEquals(original.getEdges(), copy.getEdges());
+            assertEquals(original.getAdjacencyList(), copy.getAdjacencyList());
+            assertEquals(original.getNodeToIndex(), copy.getNodeToIndex());
+        }
+    }
+
+    @Test
+    void testGeneratorsAreReproducible(@TempDir Path tempDir) throws IOException {
+        List<GraphGenerator> generators = List.of(
+                GraphGenerator.randomGnm(500, 2_000, 1),
+                GraphGenerator.grid(20, 30, 2),
+                GraphGenerator.geometricKNearest(1_000, 5, 3),
+                GraphGenerator.powerLaw(800, 3, 4),
+                GraphGenerator.complete(40, 5));
+
+        for (GraphGenerator generator : generators) {
+            Graph graph = generator.toGraph();
+            assertEquals(generator.getEdgeCount(), graph.getEdgeCount());
+            assertEquals(graph.getEdges(), generator.toGraph().getEdges());
+
+            Path binary = tempDir.resolve("generated.mstg");
+            generator.writeBinary(binary);
+            assertEquals(graph.getEdges(), BinaryGraphFormat.load(binary).get(0).getEdges());
+            assertEquals(graph.getAdjacencyList(), BinaryGraphFormat.load(binary).get(0).getAdjacencyList());
+
+            Path json = tempDir.resolve("generated.json");
+            generator.writeJson(json);
+            try (JsonGraphReader reader = new JsonGraphReader(Files.newBufferedReader(json))) {
+                assertEquals(graph.getEdges(), reader.next().getEdges());
+            }
+        }
+
+        // Grid and k-nearest graphs are connected, Prim and Kruskal agree on them
+        for (GraphGenerator generator : generators.subList(1, 3)) {
+            Graph graph = generator.toGraph();
+            MSTResult kruskal = new KruskalAlgorithm().findMST(graph);
+            assertEquals(graph.getVertices() - 1, kruskal.getEdges().size());
+            assertEquals(kruskal.getTotalWeight(), new PrimAlgorithm().findMST(graph).getTotalWeight(), 1e-6);
+        }
+
+        // Power-law attachments are simple: no self-loops, no repeated targets
+        for (int edgesPerVertex : new int[]{1, 3, 8}) {
+            GraphGenerator generator = GraphGenerator.powerLaw(800, edgesPerVertex, 6);
+            GraphAnalysis analysis = new GraphAnalysis(generator.toGraph());
+            assertEquals(generator.getEdgeCount(), analysis.getEdges());
+            assertEquals(0, analysis.getSelfLoops());
+            assertEquals(0, analysis.getParallelEdges());
+            assertTrue(analysis.isConnected());
+        }
+    }
+
+    @Test
+    void testResultCacheByFingerprint(@TempDir Path tempDir) {
+        Graph graph = GraphGenerator.randomGnm(300, 1_500, 21).toGraph();
+        Graph sameContent = GraphGenerator.randomGnm(300, 1_500, 21).toGraph();
+        Graph other = GraphGenerator.randomGnm(300, 1_500, 22).toGraph();
+        assertEquals(graph.getFingerprint(), sameContent.getFingerprint());
+        assertNotEquals(graph.getFingerprint(), other.getFingerprint());
+
+        PrimAlgorithm prim = new PrimAlgorithm(PrimAlgorithm.Mode.INDEXED_HEAP);
+        KruskalAlgorithm kruskal = new KruskalAlgorithm();
+        MSTResultCache cache = new MSTResultCache(2, tempDir);
+
+        MSTResult primResult = cache.findMST(graph, prim);
+        assertSame(primResult, cache.findMST(sameContent, prim));
+        assertEquals(1, cache.getHitCount());
+
+        // Each algorithm configuration has its own entry
+        assertNotSame(primResult, cache.findMST(graph, new PrimAlgorithm()));
+        MSTResult kruskalResult = cache.findMST(graph, kruskal);
+        assertEquals(kruskalResult.getTotalWeight(), primResult.getTotalWeight(), 1e-9);
+        assertEquals(2, cache.size());
+
+        // Evicted from memory, read back from the spill directory
+        MSTResultCache fresh = new MSTResultCache(2, tempDir);
+        MSTResult spilled = fresh.findMST(sameContent, prim);
+        assertEquals(1, fresh.getDiskHitCount());
+        assertEquals(primResult.getEdges(), spilled.getEdges());
+        assertEquals(primResult.getExecutionTime(), spilled.getExecutionTime());
+        assertEquals(primResult.getDecreaseKeyCount(), spilled.getDecreaseKeyCount());
+        assertEquals(kruskalResult.getEdges(), fresh.findMST(graph, kruskal).getEdges());
+
+        // A hit publishes the stored metrics like the run it replaces
+        CountingMetrics sink = new CountingMetrics();
+        PrimAlgorithm counted = new PrimAlgorithm(PrimAlgorithm.Mode.INDEXED_HEAP, IndexedDaryHeap.DEFAULT_ARITY, sink);
+        MSTResult served = fresh.findMST(sameContent, counted);
+        assertEquals(2, fresh.getDiskHitCount());
+        assertEquals(served.getOperationsCount(), sink.getOperationsCount());
+        assertTrue(sink.getOperationsCount() > 0);
+
+        // "auto" is keyed by the engine it picks, so it shares that engine's entry
+        MSTAlgorithmRegistry registry = MSTAlgorithmRegistry.defaults();
+        AdaptiveMSTAlgorithm auto = new AdaptiveMSTAlgorithm(registry, MSTCostModel.defaults());
+        MSTResult chosen = cache.findMST(other, registry.create(auto.choose(other)));
+        assertSame(chosen, cache.findMST(other, auto));
+    }
+
+    @Test
+    void testPointSetReader(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("sites.txt");
+        Files.writeString(file, "# x y\n0 0\n3,4\n\n  6.5\t8  \n");
+        PointSet points = PointSet.read(file);
+        assertEquals(3, points.size());
+        assertEquals(2, points.getDimensions());
+        assertEquals(5.0, points.distance(0, 1), 1e-12);
+        assertEquals(8.0, points.getCoordinate(2, 1), 0.0);
+
+        Files.writeString(file, "0 0\n1 2 3\n");
+        assertThrows(IOException.class, () -> PointSet.read(file));
+    }
+
+    @Test
+    void testCostModelRoundTrip(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("cost-model.properties");
+        MSTCostModel model = MSTCostModel.defaults();
+        model.save(file);
+
+        MSTCostModel loaded = MSTCostModel.load(file);
+        assertEquals(model.getAlgorithms(), loaded.getAlgorithms());
+        for (String algorithm : model.getAlgorithms()) {
+            assertEquals(model.get(algorithm).getComplexity(), loaded.get(algorithm).getComplexity());
+            assertEquals(model.get(algorithm).predictNs(5_000, 40_000, 4),
+                    loaded.get(algorithm).predictNs(5_000, 40_000, 4), 1e-6);
+        }
+
+        Files.writeString(file, "prim.complexity=CUBIC\n");
+        assertThrows(IOException.class, () -> MSTCostModel.load(file));
+    }
+
+    @Test
+    void testNodeDictionary() {
+        NodeDictionary nodes = new NodeDictionary(2);
+        for (int i = 0; i < 5_000; i++) {
+            assertEquals(i, nodes.add("intersection-" + i));
+        }
+        assertEquals(7, nodes.add(new StringBuilder("intersection-7")));
+        assertEquals(5_000, nodes.size());
+        assertEquals(4_999, nodes.indexOf("intersection-4999"));
+        assertEquals(-1, nodes.indexOf("intersection-5000"));
+        assertEquals("intersection-42", nodes.getName(42));
+        assertEquals(0, nodes.add("") - 5_000);
+        assertThrows(IndexOutOfBoundsException.class, () -> nodes.getName(5_001));
+
+        Map<String, Integer> view = nodes.asMap();
+        assertEquals(Integer.valueOf(123), view.get("intersection-123"));
+        assertEquals(NodeDictionary.fromMap(view).asMap(), view);
+        assertThrows(IllegalArgumentException.class, () -> NodeDictionary.fromMap(Map.of("A", 0, "B", 2)));
+    }
+
+    @Test
+    void testNamedResultsOutput(@TempDir Path tempDir) throws IOException {
+        Graph graph = readAll("{ \"graphs\": [ { \"nodes\": [\"Depot\", \"Mill \\\"North\\\"\", \"Quay\"], \"edges\": ["
+                + "{\"from\": \"Depot\", \"to\": \"Quay\", \"weight\": 3}, {\"from\": \"Quay\", \"to\": \"Mill \\\"North\\\"\", \"weight\": 1} ] } ] }").get(0);
+        assertTrue(graph.hasNodeNames());
+        assertEquals("Quay", graph.getNodeName(2));
+
+        MSTComparison.ComparisonResult result = new BatchComparisonRunner(1).run(List.of(graph),
+                MSTAlgorithmRegistry.defaults().getFactories(List.of("kruskal"))).get(0);
+        Path file = tempDir.resolve("named.json");
+        try (ResultsJsonWriter writer = new ResultsJsonWriter(file, false, false)) {
+            writer.write(result);
+            writer.finish("summary", "comparison");
+        }
+        JsonObject edge = JsonParser.parseString(Files.readString(file)).getAsJsonObject()
+                .getAsJsonArray("results").get(0).getAsJsonObject().getAsJsonObject("kruskal")
+                .getAsJsonArray("mstEdges").get(0).getAsJsonObject();
+        assertEquals("Quay", edge.get("from").getAsString());
+        assertEquals("Mill \"North\"", edge.get("to").getAsString());
+        assertNull(result.withoutEdges().getNodes());
+    }
+
+    @Test
+    void testStreamingResultsWriter(@TempDir Path tempDir) throws IOException {
+        List<MSTComparison.ComparisonResult> results = new BatchComparisonRunner(2).run(List.of(
+                GraphGenerator.randomGnm(100, 400, 1).toGraph(),
+                GraphGenerator.grid(8, 9, 2).toGraph()),
+                MSTAlgorithmRegistry.defaults().getFactories(List.of("prim", "kruskal", "kruskal-radix")));
+
+        Path pretty = tempDir.resolve("results.json");
+        Path compressed = tempDir.resolve("results.json.gz");
+        for (boolean gzip : new boolean[]{false, true}) {
+            try (ResultsJsonWriter writer = new ResultsJsonWriter(gzip ? compressed : pretty, !gzip, gzip)) {
+                for (MSTComparison.ComparisonResult result : results) {
+                    writer.write(result);
+                }
+                writer.finish("summary", "comparison");
+            }
+        }
+
+        String text = new String(Files.readAllBytes(pretty), StandardCharsets.UTF_8);
+        String compact;
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(compressed))) {
+            compact = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertFalse(compact.contains("\n"));
+
+        for (String json : List.of(text, compact)) {
+            JsonObject root = JsonParser.parseString(json).getAsJsonObject();
+            assertEquals(2, root.get("totalGraphsTested").getAsInt());
+            JsonArray array = root.getAsJsonArray("results");
+            for (int i = 0; i < results.size(); i++) {
+                JsonObject prim = array.get(i).getAsJsonObject().getAsJsonObject("prim");
+                MSTResult expected = results.get(i).getResult("prim");
+                assertEquals(expected.getTotalWeight(), prim.get("totalWeight").getAsDouble(), 1e-9);
+                assertEquals(expected.getEdges().size(), prim.getAsJsonArray("mstEdges").size());
+                assertEquals(results.get(i).vertices - expected.getEdges().size(), prim.get("componentCount").getAsInt());
+                JsonObject analysis = array.get(i).getAsJsonObject().getAsJsonObject("analysis");
+                assertEquals(results.get(i).getAnalysis().getComponentCount(), analysis.get("components").getAsInt());
+                assertEquals(prim.get("componentCount").getAsInt(), analysis.get("components").getAsInt());
+                assertTrue(array.get(i).getAsJsonObject().has("kruskal-radix"));
+            }
+        }
+    }
+
+    @Test
+    void testExternalKruskal(@TempDir Path tempDir) throws IOException {
+        GraphGenerator generator = GraphGenerator.randomGnm(2_000, 30_000, 31);
+        Graph graph = generator.toGraph();
+        List<Edge> expected = new KruskalAlgorithm().findMST(graph).getEdges();
+
+        // 200 runs of 150 edges need an intermediate merge pass before the scan
+        ExternalKruskalAlgorithm external = new ExternalKruskalAlgorithm(tempDir, 150);
+        MSTResult spilled = external.findMST(graph);
+        assertEquals(expected, spilled.getEdges());
+        assertEquals(1, external.getMergePasses());
+        assertEquals(200, external.getSpillCount());
+        assertTrue(external.getBytesWritten() >= 2 * 16L * graph.getEdgeCount());
+        // The same I/O figures travel with the result
+        CountingMetrics io = spilled.getMetrics();
+        assertEquals(1, io.get(MSTMetrics.Counter.MERGE_PASSES));
+        assertEquals(200, io.get(MSTMetrics.Counter.SPILL_RUNS));
+        assertEquals(external.getBytesWritten(), io.get(MSTMetrics.Counter.BYTES_WRITTEN));
+        assertEquals(external.getBytesRead(), io.get(MSTMetrics.Counter.BYTES_READ));
+        assertTrue(new KruskalAlgorithm(KruskalAlgorithm.Mode.EXTERNAL).findMST(graph).getMetrics()
+                .get(MSTMetrics.Counter.BYTES_WRITTEN) >= 16L * graph.getEdgeCount());
+
+        Path binary = tempDir.resolve("gnm.mstg");
+        generator.writeBinary(binary);
+        assertEquals(expected, new ExternalKruskalAlgorithm(tempDir, 4_096).findMST(binary).getEdges());
+        assertEquals(expected, new ExternalKruskalAlgorithm(tempDir, 1 << 20).findMST(generator).getEdges());
+
+        // Equal weights spread over runs come out in input order
+        Graph tied = new Graph(4, List.of(new Edge(0, 1, 1), new Edge(1, 2, 1), new Edge(0, 2, 1), new Edge(2, 3, 1)));
+        assertEquals(new KruskalAlgorithm().findMST(tied).getEdges(),
+                new ExternalKruskalAlgorithm(tempDir, 1).findMST(tied).getEdges());
+
+        // Only the temp directory itself is left behind
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(List.of(binary), files.collect(Collectors.toList()));
+        }
+    }
+
+    private static List<Graph> readAll(String json) {
+        List<Graph> graphs = new ArrayList<>();
+        try (JsonGraphReader reader = new JsonGraphReader(new StringReader(json))) {
+            reader.forEachRemaining(graphs::add);
+        }
+        return graphs;
+    }
+}
@@ -1,7 +1,16 @@
 package mst;
 
 import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 import static org.junit.jupiter.api.Assertions.*;
 
 
@@ -14,8 +23,8 @@ class MSTAlgorithmsTest {
         PrimAlgorithm prim = new PrimAlgorithm();
         KruskalAlgorithm kruskal = new KruskalAlgorithm();
 
-        PrimAlgorithm.MSTResult primResult = prim.findMST(graph);
-        KruskalAlgorithm.MSTResult kruskalResult = kruskal.findMST(graph);
+        MSTResult primResult = prim.findMST(graph);
+        MSTResult kruskalResult = kruskal.findMST(graph);
 
         // Both algorithms should find same total weight
         assertEquals(primResult.getTotalWeight(), kruskalResult.getTotalWeight(), 0.001);
@@ -34,7 +43,7 @@ class MSTAlgorithmsTest {
         Graph graph = createTestGraph();
 
         PrimAlgorithm prim = new PrimAlgorithm();
-        PrimAlgorithm.MSTResult result = prim.findMST(graph);
+        MSTResult result = prim.findMST(graph);
 
         // Check MST properties
         assertEquals(graph.getVertices() - 1, result.getEdges().size());
@@ -66,14 +75,715 @@ class MSTAlgorithmsTest {
         Graph graph = createTestGraph();
 
         PrimAlgorithm prim = new PrimAlgorithm();
-        PrimAlgorithm.MSTResult result1 = prim.findMST(graph);
-        PrimAlgorithm.MSTResult result2 = prim.findMST(graph);
+        MSTResult result1 = prim.findMST(graph);
+        MSTResult result2 = prim.findMST(graph);
 
         // Same algorithm should produce same results on same input
         assertEquals(result1.getTotalWeight(), result2.getTotalWeight(), 0.001);
         assertEquals(result1.getEdges().size(), result2.getEdges().size());
     }
 
+    @Test
+    void testCsrAdjacency() {
+        Graph graph = createTestGraph();
+        List<List<Edge>> adjacency = graph.getAdjacencyList();
+
+        // Every undirected edge is stored once per endpoint
+        assertEquals(2 * graph.getEdgeCount(), graph.getNeighborEnd(graph.getVertices() - 1));
+
+        for (int u = 0; u < graph.getVertices(); u++) {
+            assertEquals(adjacency.get(u).size(), graph.getDegree(u));
+            int slot = graph.getNeighborStart(u);
+            for (Edge edge : adjacency.get(u)) {
+                assertEquals(u, edge.getSource());
+                assertEquals(edge.getDestination(), graph.getNeighbor(slot));
+                assertEquals(edge.getWeight(), graph.getNeighborWeight(slot), 0.0);
+                slot++;
+            }
+        }
+    }
+
+    @Test
+    void testGraphBuilder() {
+        Graph expected = createTestGraph();
+        GraphBuilder builder = new GraphBuilder();
+        int[] sources = new int[expected.getEdgeCount()];
+        int[] destinations = new int[expected.getEdgeCount()];
+        double[] weights = new double[expected.getEdgeCount()];
+        for (int edge = 0; edge < expected.getEdgeCount(); edge++) {
+            sources[edge] = expected.getEdgeSource(edge);
+            destinations[edge] = expected.getEdgeDestination(edge);
+            weights[edge] = expected.getEdgeWeight(edge);
+        }
+        builder.addEdge(sources[0], destinations[0], weights[0]);
+        builder.addEdges(sources, destinations, weights, 1, sources.length - 1);
+        assertEquals(expected.getEdgeCount(), builder.getEdgeCount());
+
+        Graph graph = builder.build(expected.getVertices());
+        assertEquals(expected.getEdges(), graph.getEdges());
+        assertEquals(expected.getFingerprint(), graph.getFingerprint());
+        assertThrows(IllegalStateException.class, () -> builder.addEdge(0, 1, 1.0));
+
+        // Without a vertex count the highest endpoint decides
+        GraphBuilder sized = new GraphBuilder(2);
+        GraphGenerator.randomGnm(50, 200, 1).generate(sized);
+        assertEquals(200, sized.getEdgeCount());
+        assertTrue(sized.getVertices() <= 50);
+
+        GraphBuilder invalid = new GraphBuilder();
+        invalid.addEdge(0, 9, 1.0);
+        assertThrows(IllegalArgumentException.class, () -> invalid.build(5));
+        assertThrows(IllegalArgumentException.class, () -> invalid.addEdge(-1, 2, 1.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> invalid.addEdges(new int[2], new int[2], new double[1]));
+    }
+
+    @Test
+    void testIndexedHeapPrim() {
+        Graph graph = createTestGraph();
+
+        MSTResult lazyResult = new PrimAlgorithm().findMST(graph);
+        PrimAlgorithm indexed = new PrimAlgorithm(PrimAlgorithm.Mode.INDEXED_HEAP);
+        MSTResult indexedResult = indexed.findMST(graph);
+
+        assertEquals(lazyResult.getTotalWeight(), indexedResult.getTotalWeight(), 0.001);
+        assertEquals(graph.getVertices() - 1, indexedResult.getEdges().size());
+
+        // Indexed heap holds each vertex at most once
+        assertTrue(indexedResult.getHeapPeakSize() <= graph.getVertices());
+        assertTrue(indexedResult.getDecreaseKeyCount() > 0);
+
+        for (int arity = 2; arity <= 8; arity++) {
+            MSTResult result = new PrimAlgorithm(PrimAlgorithm.Mode.INDEXED_HEAP, arity).findMST(graph);
+            assertEquals(lazyResult.getTotalWeight(), result.getTotalWeight(), 0.001);
+        }
+    }
+
+    @Test
+    void testDensePrim() {
+        Graph graph = createTestGraph();
+        PrimAlgorithm dense = new PrimAlgorithm(PrimAlgorithm.Mode.DENSE);
+        assertEquals("prim-dense", dense.getName());
+        assertEquals(new PrimAlgorithm().findMST(graph).getTotalWeight(), dense.findMST(graph).getTotalWeight(), 0.001);
+
+        Graph complete = GraphGenerator.complete(300, 4).toGraph();
+        MSTResult expected = new KruskalAlgorithm().findMST(complete);
+        MSTResult result = dense.findMST(complete);
+        assertEquals(expected.getTotalWeight(), result.getTotalWeight(), 1e-9);
+        assertEquals(complete.getVertices() - 1, result.getEdges().size());
+        assertEquals(0, result.getHeapPeakSize());
+
+        // Same tree from an adjacency matrix, with a missing edge as infinity
+        double[][] matrix = new double[300][300];
+        for (double[] row : matrix) Arrays.fill(row, Double.POSITIVE_INFINITY);
+        for (int edge = 0; edge < complete.getEdgeCount(); edge++) {
+            int u = complete.getEdgeSource(edge);
+            int v = complete.getEdgeDestination(edge);
+            matrix[u][v] = matrix[v][u] = complete.getEdgeWeight(edge);
+        }
+        MSTResult fromMatrix = dense.findMST(300, WeightFunction.ofMatrix(matrix));
+        assertEquals(expected.getTotalWeight(), fromMatrix.getTotalWeight(), 1e-9);
+        assertEquals(300L * 299 / 2, fromMatrix.getMetrics().get(MSTMetrics.Counter.EDGES_SCANNED));
+
+        // Like the heap modes, every component gets its tree
+        Graph islands = new Graph(4, List.of(new Edge(0, 1, 1.0), new Edge(2, 3, 1.0)));
+        assertEquals(2, dense.findMST(islands).getEdges().size());
+    }
+
+    @Test
+    void testEuclideanMST() {
+        // Against Kruskal on the materialized complete distance graph
+        PointSet points = PointSet.random(300, 3, 8);
+        List<Edge> edges = new ArrayList<>();
+        for (int u = 0; u < points.size(); u++) {
+            for (int v = u + 1; v < points.size(); v++) {
+                edges.add(new Edge(u, v, points.distance(u, v)));
+            }
+        }
+        double expected = new KruskalAlgorithm().findMST(new Graph(points.size(), edges)).getTotalWeight();
+        for (EuclideanMST.Mode mode : EuclideanMST.Mode.values()) {
+            MSTResult result = new EuclideanMST(mode).findMST(points);
+            assertEquals(expected, result.getTotalWeight(), 1e-9, mode.name());
+            assertEquals(points.size() - 1, result.getEdges().size(), mode.name());
+        }
+
+        // Larger set with duplicate points and a lattice full of tied distances
+        double[] coordinates = new double[2 * 5_000];
+        Random random = new Random(21);
+        for (int i = 0; i < 5_000; i++) {
+            coordinates[2 * i] = i < 2_500 ? random.nextInt(40) : random.nextDouble() * 40;
+            coordinates[2 * i + 1] = i < 2_500 ? random.nextInt(40) : random.nextDouble() * 40;
+        }
+        PointSet mixed = new PointSet(2, coordinates);
+        EuclideanMST kdTree = new EuclideanMST();
+        MSTResult tree = kdTree.findMST(mixed);
+        assertEquals(new EuclideanMST(EuclideanMST.Mode.DENSE).findMST(mixed).getTotalWeight(),
+                tree.getTotalWeight(), 1e-6);
+        assertEquals(mixed.size() - 1, tree.getEdges().size());
+        assertTrue(kdTree.getRounds() <= 32 - Integer.numberOfLeadingZeros(mixed.size()));
+
+        assertEquals(0, new EuclideanMST().findMST(new PointSet(2, new double[0])).getEdges().size());
+        assertThrows(IllegalArgumentException.class, () -> new PointSet(3, new double[4]));
+    }
+
+    @Test
+    void testRadixSortKruskal() {
+        Graph graph = createTestGraph();
+
+        MSTResult sorted = new KruskalAlgorithm().findMST(graph);
+        MSTResult radix = new KruskalAlgorithm(KruskalAlgorithm.Mode.RADIX_SORT).findMST(graph);
+
+        // Radix sort is stable, so the accepted edges match the comparison sort exactly
+        assertEquals(sorted.getEdges(), radix.getEdges());
+        assertEquals(sorted.getTotalWeight(), radix.getTotalWeight(), 0.0);
+
+        double[] weights = {3.5, -0.0, 0.0, -2.25, Double.MAX_VALUE, -Double.MAX_VALUE, 1e-300, 7.0};
+        long[] keys = new long[weights.length];
+        int[] order = new int[weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            keys[i] = RadixSort.sortableBits(weights[i]);
+            order[i] = i;
+        }
+        RadixSort.sort(keys, order, 0, weights.length);
+        for (int i = 1; i < order.length; i++) {
+            assertTrue(Double.compare(weights[order[i - 1]], weights[order[i]]) <= 0);
+        }
+
+        // Sizes on both sides of the switch from 8-bit to 16-bit digits stay stable
+        Random random = new Random(3);
+        for (int n : new int[]{100, 5_000, 20_000}) {
+            long[] tied = new long[n];
+            int[] indices = new int[n];
+            for (int i = 0; i < n; i++) {
+                tied[i] = RadixSort.sortableBits(random.nextInt(50) - 25.5);
+                indices[i] = i;
+            }
+            long[] original = tied.clone();
+            RadixSort.sort(tied, indices, 0, n);
+            for (int i = 1; i < n; i++) {
+                int cmp = Long.compareUnsigned(tied[i - 1], tied[i]);
+                assertTrue(cmp < 0 || (cmp == 0 && indices[i - 1] < indices[i]));
+                assertEquals(original[indices[i]], tied[i]);
+            }
+        }
+    }
+
+    @Test
+    void testFilterKruskal() {
+        Graph graph = createTestGraph();
+        KruskalAlgorithm filter = new KruskalAlgorithm(KruskalAlgorithm.Mode.FILTER);
+        assertEquals(new KruskalAlgorithm().findMST(graph).getEdges(), filter.findMST(graph).getEdges());
+
+        // Large enough to recurse past the base case, with many tied weights
+        Random random = new Random(7);
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            edges.add(new Edge(random.nextInt(2_000), random.nextInt(2_000), random.nextInt(50)));
+        }
+        Graph large = new Graph(2_000, edges);
+        assertEquals(new KruskalAlgorithm().findMST(large).getEdges(), filter.findMST(large).getEdges());
+    }
+
+    @Test
+    void testParallelBoruvka() {
+        Graph graph = createTestGraph();
+        BoruvkaAlgorithm boruvka = new BoruvkaAlgorithm(4);
+        assertEquals(new KruskalAlgorithm().findMST(graph).getEdges(), boruvka.findMST(graph).getEdges());
+
+        // Disconnected, with self-loops and tied weights: still the same forest as Kruskal
+        Random random = new Random(11);
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            int u = random.nextInt(10_000);
+            int v = random.nextInt(10_000);
+            edges.add(new Edge(u, v, random.nextInt(20)));
+            edges.add(new Edge(10_000 + u % 500, 10_000 + v % 500, random.nextInt(20)));
+        }
+        Graph large = new Graph(10_600, edges);
+        List<Edge> expected = new KruskalAlgorithm().findMST(large).getEdges();
+        for (int parallelism = 1; parallelism <= 4; parallelism++) {
+            assertEquals(expected, new BoruvkaAlgorithm(parallelism).findMST(large).getEdges());
+        }
+
+        // Repeated runs reuse the engine's pool; a caller's pool is left running
+        assertEquals(expected, boruvka.findMST(large).getEdges());
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            BoruvkaAlgorithm shared = new BoruvkaAlgorithm(pool, MSTMetrics.NOOP);
+            assertEquals(3, shared.getParallelism());
+            assertEquals(expected, shared.findMST(large).getEdges());
+            assertFalse(pool.isShutdown());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testSpanningForest() {
+        // Two components, an isolated vertex and a self-loop
+        Graph graph = new Graph(7, List.of(
+                new Edge(0, 1, 4.0), new Edge(1, 2, 1.0), new Edge(0, 2, 2.0),
+                new Edge(4, 5, 3.0), new Edge(5, 6, 5.0), new Edge(4, 6, 1.0), new Edge(6, 6, 0.5)));
+        MSTResult expected = new KruskalAlgorithm().findMST(graph);
+        assertEquals(4, expected.getEdges().size());
+        for (PrimAlgorithm.Mode mode : PrimAlgorithm.Mode.values()) {
+            MSTResult result = new PrimAlgorithm(mode).findMST(graph);
+            assertEquals(expected.getTotalWeight(), result.getTotalWeight(), 1e-9, mode.name());
+            assertEquals(4, result.getEdges().size(), mode.name());
+        }
+
+        SpanningForest forest = new SpanningForest(graph, expected);
+        assertEquals(3, forest.getComponentCount());
+        assertFalse(forest.isSpanningTree());
+        assertEquals(forest.getComponent(0), forest.getComponent(2));
+        assertEquals(1, forest.getComponent(3));
+        assertEquals(3.0, forest.getComponentWeight(0), 1e-9);
+        assertEquals(0.0, forest.getComponentWeight(1), 1e-9);
+        assertEquals(4.0, forest.getComponentWeight(2), 1e-9);
+        assertEquals(1, forest.getComponentSize(1));
+        assertEquals(2, forest.getTree(2).size());
+        assertTrue(forest.getTree(1).isEmpty());
+        assertTrue(new SpanningForest(createTestGraph(), new KruskalAlgorithm().findMST(createTestGraph())).isSpanningTree());
+
+        assertThrows(IllegalArgumentException.class, () -> new SpanningForest(3,
+                List.of(new Edge(0, 1, 1.0), new Edge(1, 2, 1.0), new Edge(2, 0, 1.0))));
+    }
+
+    @Test
+    void testGraphAnalysis() {
+        // Triangle with a repeated edge and a self-loop, a path, and an isolated vertex
+        Graph graph = new Graph(7, List.of(
+                new Edge(0, 1, 1.0), new Edge(1, 2, 1.0), new Edge(2, 0, 1.0), new Edge(1, 0, 2.0),
+                new Edge(2, 2, 1.0), new Edge(4, 5, 1.0), new Edge(5, 6, 1.0)));
+        GraphAnalysis analysis = new GraphAnalysis(graph);
+        assertEquals(3, analysis.getComponentCount());
+        assertFalse(analysis.isConnected());
+        assertEquals(1, analysis.getIsolatedVertices());
+        assertEquals(1, analysis.getSelfLoops());
+        assertEquals(1, analysis.getParallelEdges());
+        assertEquals(0, analysis.getMinDegree());
+        assertEquals(4, analysis.getMaxDegree());
+        assertEquals(3, analysis.getLargestComponentSize());
+        assertEquals(2.0, analysis.getAverageDegree(), 1e-9);
+        assertEquals(7.0 / 21, analysis.getDensity(), 1e-9);
+        // Degrees 3, 3, 4, 0, 1, 2, 1
+        assertArrayEquals(new long[]{1, 2, 3, 1}, analysis.getDegreeHistogram());
+        assertEquals(List.of(0, 0, 0, 1, 2, 2, 2), List.of(analysis.getComponent(0), analysis.getComponent(1),
+                analysis.getComponent(2), analysis.getComponent(3), analysis.getComponent(4),
+                analysis.getComponent(5), analysis.getComponent(6)));
+        assertEquals(5, analysis.getComponentEdgeCount(0));
+        assertEquals(0, analysis.getComponentEdgeCount(1));
+        assertEquals(2, analysis.getComponentEdgeCount(2));
+        assertEquals(3, analysis.getComponentSize(2));
+
+        GraphAnalysis counts = analysis.withoutLabels();
+        assertEquals(analysis.getParallelEdges(), counts.getParallelEdges());
+        assertThrows(IllegalStateException.class, () -> counts.getComponent(0));
+
+        // The parallel passes agree with the sequential ones, and with the spanning forest
+        Random random = new Random(17);
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            int u = random.nextInt(150_000);
+            edges.add(new Edge(u, random.nextInt(10) == 0 ? u : random.nextInt(150_000), 1.0));
+        }
+        for (int i = 0; i < 5_000; i++) {
+            Edge edge = edges.get(random.nextInt(edges.size()));
+            edges.add(new Edge(edge.getDestination(), edge.getSource(), 2.0));
+        }
+        Graph large = new Graph(150_000, edges);
+        HashSet<Long> pairs = new HashSet<>();
+        long nonLoops = 0;
+        for (Edge edge : edges) {
+            if (edge.getSource() == edge.getDestination()) continue;
+            nonLoops++;
+            pairs.add((long) Math.min(edge.getSource(), edge.getDestination()) * 150_000
+                    + Math.max(edge.getSource(), edge.getDestination()));
+        }
+        GraphAnalysis sequential = new GraphAnalysis(large);
+        GraphAnalysis parallel = new GraphAnalysis(large, 4);
+        assertEquals(nonLoops - pairs.size(), sequential.getParallelEdges());
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            assertEquals(sequential.toString(), new GraphAnalysis(large, pool).toString());
+            assertFalse(pool.isShutdown());
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(new SpanningForest(large, new KruskalAlgorithm().findMST(large)).getComponentCount(),
+                sequential.getComponentCount());
+        assertEquals(sequential.toString(), parallel.toString());
+        assertArrayEquals(sequential.getDegreeHistogram(), parallel.getDegreeHistogram());
+        long componentEdges = 0;
+        for (int v = 0; v < large.getVertices(); v += 997) {
+            assertEquals(sequential.getComponent(v), parallel.getComponent(v));
+        }
+        for (int c = 0; c < parallel.getComponentCount(); c++) {
+            componentEdges += parallel.getComponentEdgeCount(c);
+        }
+        assertEquals(large.getEdgeCount(), componentEdges);
+    }
+
+    @Test
+    void testComponentParallelMST() {
+        // Many components of varied size, with ties and isolated vertices
+        Random random = new Random(13);
+        List<Edge> edges = new ArrayList<>();
+        int vertices = 0;
+        for (int component = 0; component < 200; component++) {
+            int size = 1 + random.nextInt(component == 0 ? 2_000 : 60);
+            for (int i = 1; i < size; i++) {
+                edges.add(new Edge(vertices + random.nextInt(i), vertices + i, random.nextInt(10)));
+                edges.add(new Edge(vertices + random.nextInt(size), vertices + random.nextInt(size), random.nextInt(10)));
+            }
+            vertices += size;
+        }
+        Collections.shuffle(edges, random);
+        Graph graph = new Graph(vertices, edges);
+        MSTResult expected = new KruskalAlgorithm().findMST(graph);
+        int components = new SpanningForest(graph, expected).getComponentCount();
+
+        for (int parallelism = 1; parallelism <= 4; parallelism++) {
+            ComponentParallelMST parallel = new ComponentParallelMST(
+                    () -> new PrimAlgorithm(PrimAlgorithm.Mode.INDEXED_HEAP), parallelism);
+            assertEquals("components-prim-indexed", parallel.getName());
+            MSTResult result = parallel.findMST(graph);
+            assertEquals(expected.getTotalWeight(), result.getTotalWeight(), 1e-9);
+            assertEquals(vertices - components, result.getEdges().size());
+            assertEquals(components, new SpanningForest(graph, result).getComponentCount());
+        }
+        // Same edges as Kruskal when it is the inner engine, since input order is kept
+        assertEquals(new HashSet<>(expected.getEdges()),
+                new HashSet<>(new ComponentParallelMST(KruskalAlgorithm::new, 3).findMST(graph).getEdges()));
+        assertTrue(new ComponentParallelMST(KruskalAlgorithm::new).findMST(new Graph(5, List.of())).getEdges().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new ComponentParallelMST(KruskalAlgorithm::new, 0));
+
+        // Repeated runs reuse one pool; a caller's pool is left running
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            ComponentParallelMST shared = new ComponentParallelMST(KruskalAlgorithm::new, pool);
+            assertEquals(2, shared.getParallelism());
+            for (int run = 0; run < 2; run++) {
+                assertEquals(expected.getTotalWeight(), shared.findMST(graph).getTotalWeight(), 1e-9);
+            }
+            assertFalse(pool.isShutdown());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testRunMetrics() {
+        Graph graph = GraphGenerator.randomGnm(500, 3_000, 5).toGraph();
+        CountingMetrics total = new CountingMetrics();
+
+        MSTResult lazy = new PrimAlgorithm(PrimAlgorithm.Mode.LAZY_HEAP,
+                IndexedDaryHeap.DEFAULT_ARITY, total).findMST(graph);
+        CountingMetrics metrics = lazy.getMetrics();
+        // Every push is popped once, by the tree or as a stale entry
+        assertEquals(metrics.get(MSTMetrics.Counter.HEAP_PUSHES), metrics.get(MSTMetrics.Counter.HEAP_POPS));
+        assertEquals(graph.getVertices(), metrics.get(MSTMetrics.Counter.HEAP_POPS)
+                - metrics.get(MSTMetrics.Counter.STALE_POPS));
+        assertEquals(2L * graph.getEdgeCount(), metrics.get(MSTMetrics.Counter.EDGES_SCANNED));
+        assertEquals(metrics.getOperationsCount(), lazy.getOperationsCount());
+        assertTrue(metrics.getPhaseTime(MSTMetrics.Phase.MAIN_LOOP) > 0);
+
+        MSTResult indexed = new PrimAlgorithm(PrimAlgorithm.Mode.INDEXED_HEAP).findMST(graph);
+        assertEquals(0, indexed.getMetrics().get(MSTMetrics.Counter.STALE_POPS));
+        assertEquals(indexed.getDecreaseKeyCount(), indexed.getMetrics().get(MSTMetrics.Counter.DECREASE_KEYS));
+
+        for (KruskalAlgorithm.Mode mode : KruskalAlgorithm.Mode.values()) {
+            MSTResult result = new KruskalAlgorithm(mode, total).findMST(graph);
+            CountingMetrics kruskal = result.getMetrics();
+            assertEquals(graph.getVertices() - 1, kruskal.get(MSTMetrics.Counter.UNIONS), mode.name());
+            // Two finds per scanned edge, none repeated to link the roots
+            if (mode != KruskalAlgorithm.Mode.FILTER) {
+                assertEquals(2 * kruskal.get(MSTMetrics.Counter.EDGES_SCANNED),
+                        kruskal.get(MSTMetrics.Counter.FIND_CALLS), mode.name());
+            }
+            assertEquals(kruskal.getOperationsCount(), result.getOperationsCount());
+        }
+
+        BoruvkaAlgorithm boruvkaEngine = new BoruvkaAlgorithm(3, total);
+        MSTResult boruvka = boruvkaEngine.findMST(graph);
+        CountingMetrics rounds = boruvka.getMetrics();
+        assertEquals(graph.getVertices() - 1, rounds.get(MSTMetrics.Counter.UNIONS));
+        assertEquals(boruvkaEngine.getRounds(), rounds.get(MSTMetrics.Counter.ROUNDS));
+        assertTrue(rounds.get(MSTMetrics.Counter.EDGES_SCANNED) >= graph.getEdgeCount());
+        assertTrue(rounds.get(MSTMetrics.Counter.FIND_CALLS) >= 2 * rounds.get(MSTMetrics.Counter.UNIONS));
+        assertTrue(rounds.getPhaseTime(MSTMetrics.Phase.MAIN_LOOP) > 0);
+        assertEquals(rounds.getOperationsCount(), boruvka.getOperationsCount());
+
+        // The shared sink sees the lazy Prim run, every Kruskal run and the Boruvka run
+        assertEquals((KruskalAlgorithm.Mode.values().length + 1) * (graph.getVertices() - 1L),
+                total.get(MSTMetrics.Counter.UNIONS));
+    }
+
+    @Test
+    void testAlgorithmRegistry() {
+        Graph graph = createTestGraph();
+        MSTAlgorithmRegistry registry = MSTAlgorithmRegistry.defaults();
+        assertEquals(List.of("prim", "prim-indexed", "prim-dense", "kruskal", "kruskal-radix", "kruskal-filter",
+                "kruskal-external", "boruvka", "components-prim-indexed", "auto"), new ArrayList<>(registry.getNames()));
+
+        double expected = new KruskalAlgorithm().findMST(graph).getTotalWeight();
+        for (String name : registry.getNames()) {
+            MSTAlgorithm algorithm = registry.create(name);
+            assertEquals(name, algorithm.getName());
+            assertEquals(expected, algorithm.findMST(graph).getTotalWeight(), 1e-9, name);
+        }
+        assertThrows(IllegalArgumentException.class, () -> registry.create("dijkstra"));
+        assertThrows(IllegalArgumentException.class, () -> registry.register(KruskalAlgorithm::new));
+        assertEquals("prim-indexed-d8", new PrimAlgorithm(PrimAlgorithm.Mode.INDEXED_HEAP, 8).getName());
+        assertEquals("KruskalRadix", MSTAlgorithm.displayName("kruskal-radix"));
+
+        // Any number of engines side by side, reported in the order given
+        List<String> names = List.of("kruskal-filter", "boruvka", "prim-indexed");
+        MSTComparison.ComparisonResult result = new BatchComparisonRunner(2)
+                .run(List.of(graph), registry.getFactories(names)).get(0);
+        assertEquals(names, result.getAlgorithmNames());
+        assertEquals(0.0, result.getWeightDifference(), 1e-9);
+        assertTrue(names.contains(result.getFastestAlgorithm()));
+
+        // The memory estimate follows the selected engines
+        Graph large = GraphGenerator.randomGnm(10_000, 80_000, 2).toGraph();
+        long pair = BatchComparisonRunner.estimateJobBytes(large);
+        assertEquals(pair, BatchComparisonRunner.estimateJobBytes(large, List.of("prim", "kruskal")));
+        assertTrue(BatchComparisonRunner.estimateJobBytes(large, List.of("prim-dense")) < pair);
+        assertTrue(BatchComparisonRunner.estimateJobBytes(large, new ArrayList<>(registry.getNames())) > pair);
+        assertTrue(BatchComparisonRunner.estimateJobBytes(large, List.of("components-kruskal"))
+                > BatchComparisonRunner.estimateJobBytes(large, List.of("kruskal")));
+    }
+
+    @Test
+    void testAdaptiveAlgorithm() {
+        Graph graph = GraphGenerator.randomGnm(500, 4_000, 3).toGraph();
+        double expected = new KruskalAlgorithm().findMST(graph).getTotalWeight();
+
+        AdaptiveMSTAlgorithm auto = new AdaptiveMSTAlgorithm();
+        assertEquals(expected, auto.findMST(graph).getTotalWeight(), 1e-9);
+        assertTrue(auto.getModel().getAlgorithms().contains(auto.getLastChoice()));
+
+        // Only modelled engines are candidates
+        MSTCostModel model = new MSTCostModel();
+        model.put("kruskal-filter", new MSTCostModel.Estimate(MSTCostModel.Complexity.E_LOG_E, 1.0, 1.0));
+        model.put("dijkstra", new MSTCostModel.Estimate(MSTCostModel.Complexity.LINEAR, 0.001, 1.0));
+        auto = new AdaptiveMSTAlgorithm(MSTAlgorithmRegistry.defaults(), model, 1);
+        assertEquals("kruskal-filter", auto.choose(graph));
+        assertEquals(expected, auto.findMST(graph).getTotalWeight(), 1e-9);
+
+        MSTCostModel unrelated = new MSTCostModel();
+        unrelated.put("dijkstra", new MSTCostModel.Estimate(MSTCostModel.Complexity.LINEAR, 1.0, 1.0));
+        assertThrows(IllegalStateException.class,
+                () -> new AdaptiveMSTAlgorithm(MSTAlgorithmRegistry.defaults(), unrelated, 1).choose(graph));
+    }
+
+    @Test
+    void testCostModelCalibration() {
+        MSTCostModel.Complexity complexity = MSTCostModel.Complexity.E_PLUS_V_LOG_V;
+        List<MSTComparison.ComparisonResult> results = new ArrayList<>();
+        int[][] sizes = {{1_000, 4_000}, {10_000, 80_000}, {100_000, 400_000}, {200_000, 3_000_000}};
+        for (int i = 0; i < sizes.length; i++) {
+            long time = Math.round(3.0 * Math.pow(complexity.work(sizes[i][0], sizes[i][1], 1), 1.1));
+            results.add(new MSTComparison.ComparisonResult(i + 1, sizes[i][0], sizes[i][1],
+                    Map.of("prim-indexed", new MSTResult(List.of(), 0.0, 0, time))));
+        }
+
+        MSTCostModel calibrated = MSTCostModel.defaults().calibrate(results, 1);
+        MSTCostModel.Estimate estimate = calibrated.get("prim-indexed");
+        assertEquals(3.0, estimate.getScaleNs(), 0.01);
+        assertEquals(1.1, estimate.getExponent(), 1e-4);
+        // Engines without measurements keep their fit
+        assertEquals(MSTCostModel.defaults().get("boruvka").getScaleNs(), calibrated.get("boruvka").getScaleNs());
+    }
+
+    @Test
+    void testBatchRunnerKeepsInputOrder() {
+        List<Graph> graphs = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            graphs.add(GraphGenerator.randomGnm(200 + 50 * i, 2_000, i).toGraph());
+        }
+
+        // Tiny budget forces jobs to wait for each other's memory
+        BatchComparisonRunner runner = new BatchComparisonRunner(
+                BatchComparisonRunner.ExecutorKind.PLATFORM, 4, 64 * 1024, true, 1);
+        List<MSTComparison.ComparisonResult> results = runner.run(graphs,
+                List.of(() -> new PrimAlgorithm(PrimAlgorithm.Mode.INDEXED_HEAP), KruskalAlgorithm::new));
+
+        assertEquals(graphs.size(), results.size());
+        for (int i = 0; i < graphs.size(); i++) {
+            MSTComparison.ComparisonResult result = results.get(i);
+            assertEquals(i + 1, result.graphId);
+            assertEquals(graphs.get(i).getVertices(), result.vertices);
+            assertEquals(new KruskalAlgorithm().findMST(graphs.get(i)).getTotalWeight(),
+                    result.getResult("kruskal").getTotalWeight(), 1e-9);
+        }
+    }
+
+    @Test
+    void testBatchRunnerCountsWaitingResultsAgainstBudget() {
+        List<Graph> graphs = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            graphs.add(GraphGenerator.randomGnm(500, 2_000, i).toGraph());
+        }
+        Graph first = graphs.get(0);
+        // The first job is slow, so the later ones finish and wait behind it
+        Supplier<MSTAlgorithm> slowFirst = () -> new MSTAlgorithm() {
+            @Override
+            public String getName() {
+                return "kruskal";
+            }
+
+            @Override
+            public MSTResult findMST(Graph graph) {
+                if (graph == first) {
+                    try {
+                        Thread.sleep(200);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return new KruskalAlgorithm().findMST(graph);
+            }
+        };
+
+        // Room for two jobs; a third graph may be loaded while waiting for memory
+        long jobBytes = BatchComparisonRunner.estimateJobBytes(first, List.of("kruskal"));
+        BatchComparisonRunner runner = new BatchComparisonRunner(
+                BatchComparisonRunner.ExecutorKind.PLATFORM, 4, jobBytes * 5 / 2, false, 0);
+        int[] loaded = {0};
+        int[] consumed = {0};
+        Iterable<Graph> source = () -> new Iterator<Graph>() {
+            @Override
+            public boolean hasNext() {
+                return loaded[0] < graphs.size();
+            }
+
+            @Override
+            public Graph next() {
+                assertTrue(loaded[0] - consumed[0] <= 2, "results waiting beyond the budget");
+                return graphs.get(loaded[0]++);
+            }
+        };
+        runner.run(source, List.of(slowFirst), null, result -> {
+            assertEquals(++consumed[0], result.graphId);
+        });
+        assertEquals(graphs.size(), consumed[0]);
+    }
+
+    @Test
+    void testIncrementalMSTMatchesRecompute() {
+        Random random = new Random(13);
+        int vertices = 300;
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            edges.add(new Edge(random.nextInt(vertices), random.nextInt(vertices), random.nextInt(100)));
+        }
+        IncrementalMST incremental = new IncrementalMST(new Graph(vertices, edges));
+
+        for (int step = 0; step < 2_000; step++) {
+            if (step % 3 == 0 && !edges.isEmpty()) {
+                // Cheaper copy of an existing edge
+                int index = random.nextInt(edges.size());
+                Edge old = edges.get(index);
+                Edge cheaper = new Edge(old.getSource(), old.getDestination(), old.getWeight() - random.nextInt(20));
+                edges.set(index, cheaper);
+                incremental.decreaseWeight(cheaper.getSource(), cheaper.getDestination(), cheaper.getWeight());
+            } else {
+                Edge edge = new Edge(random.nextInt(vertices), random.nextInt(vertices), random.nextInt(100));
+                edges.add(edge);
+                incremental.insertEdge(edge.getSource(), edge.getDestination(), edge.getWeight());
+            }
+
+            if (step % 100 == 0) {
+                MSTResult expected = new KruskalAlgorithm().findMST(new Graph(vertices, edges));
+                assertEquals(expected.getTotalWeight(), incremental.getTotalWeight(), 1e-6);
+                assertEquals(expected.getEdges().size(), incremental.getTreeEdgeCount());
+                assertEquals(incremental.getTotalWeight(),
+                        incremental.getTreeEdges().stream().mapToDouble(Edge::getWeight).sum(), 1e-6);
+            }
+        }
+        assertEquals(vertices - 1, incremental.getTreeEdgeCount());
+    }
+
+    @Test
+    void testDynamicMSTMatchesKruskal() {
+        Random random = new Random(17);
+        int vertices = 200;
+        Graph graph = GraphGenerator.randomGnm(vertices, 600, 17).toGraph();
+        DynamicMST dynamic = new DynamicMST(graph);
+
+        // Mirror of the live edges, by id
+        List<Edge> live = new ArrayList<>();
+        for (int i = 0; i < graph.getEdgeCount(); i++) {
+            live.add(new Edge(graph.getEdgeSource(i), graph.getEdgeDestination(i), graph.getEdgeWeight(i)));
+        }
+        assertDynamicMatches(dynamic, vertices, live);
+
+        for (int round = 0; round < 300; round++) {
+            // Single updates on even rounds, batches of up to 20 on odd ones
+            int size = round % 2 == 0 ? 1 : 1 + random.nextInt(20);
+            List<DynamicMST.Update> batch = new ArrayList<>();
+            List<Edge> inserted = new ArrayList<>();
+            for (int k = 0; k < size; k++) {
+                int id = random.nextInt(live.size());
+                int choice = random.nextInt(4);
+                if (choice == 0) {
+                    Edge edge = new Edge(random.nextInt(vertices), random.nextInt(vertices), random.nextInt(1000));
+                    batch.add(DynamicMST.Update.insert(edge.getSource(), edge.getDestination(), edge.getWeight()));
+                    inserted.add(edge);
+                } else if (live.get(id) != null && batch.stream().noneMatch(u -> u.getEdgeId() == id)) {
+                    Edge old = live.get(id);
+                    if (choice == 1) {
+                        batch.add(DynamicMST.Update.delete(id));
+                        live.set(id, null);
+                    } else {
+                        double weight = random.nextInt(1000);
+                        batch.add(DynamicMST.Update.setWeight(id, weight));
+                        live.set(id, new Edge(old.getSource(), old.getDestination(), weight));
+                    }
+                }
+            }
+
+            int[] ids = dynamic.applyBatch(batch);
+            int next = 0;
+            for (int i = 0; i < ids.length; i++) {
+                if (batch.get(i).getKind() == DynamicMST.UpdateKind.INSERT) {
+                    assertEquals(live.size(), ids[i]);
+                    live.add(inserted.get(next++));
+                }
+            }
+            assertDynamicMatches(dynamic, vertices, live);
+        }
+        assertThrows(IllegalArgumentException.class, () -> dynamic.deleteEdge(live.indexOf(null)));
+
+        // A bridge is recognised after walking its smaller side, not every non-tree edge
+        List<Edge> edges = new ArrayList<>();
+        for (int v = 1; v < 2_000; v++) {
+            edges.add(new Edge(v - 1, v, 1.0));
+            if (v > 1) edges.add(new Edge(v - 2, v, 5.0));
+        }
+        edges.add(new Edge(2_000, 1_999, 1.0));
+        DynamicMST bridged = new DynamicMST(new Graph(2_001, edges));
+        int bridge = edges.size() - 1;
+        assertTrue(bridged.isTreeEdge(bridge));
+        bridged.deleteEdge(bridge);
+        assertFalse(bridged.connected(2_000, 0));
+        assertEquals(0, bridged.getReplacementScanCount());
+        assertEquals(1_999, bridged.getTreeEdgeCount());
+    }
+
+    private void assertDynamicMatches(DynamicMST dynamic, int vertices, List<Edge> live) {
+        List<Edge> edges = new ArrayList<>();
+        for (Edge edge : live) {
+            if (edge != null) edges.add(edge);
+        }
+        MSTResult expected = new KruskalAlgorithm().findMST(new Graph(vertices, edges));
+        assertEquals(expected.getTotalWeight(), dynamic.getTotalWeight(), 1e-6);
+        assertEquals(expected.getEdges().size(), dynamic.getTreeEdgeCount());
+        assertEquals(edges.size(), dynamic.getEdgeCount());
+    }
+
     private Graph createSmallGraph() {
         List<Edge> edges = List.of(
                 new Edge(0, 1, 2.0),
@@ -0,0 +1,77 @@
+package mst;
+
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class UnionFindTest {
+
+    @Test
+    void testLongChainDoesNotOverflow() {
+        int size = 2_000_000;
+        UnionFind uf = new UnionFind(size);
+        for (int i = 1; i < size; i++) {
+            assertTrue(uf.union(i - 1, i));
+        }
+        assertFalse(uf.union(0, size - 1));
+        assertTrue(uf.connected(0, size - 1));
+        assertEquals(1, uf.getSetCount());
+    }
+
+    @Test
+    void testLinkSkipsFinds() {
+        UnionFind uf = new UnionFind(4);
+        int root1 = uf.find(0);
+        int root2 = uf.find(1);
+        uf.link(root1, root2);
+        assertEquals(2, uf.getFindCount());
+        assertTrue(uf.connected(0, 1));
+        assertEquals(3, uf.getSetCount());
+    }
+
+    @Test
+    void testConcurrentMatchesSequential() throws InterruptedException {
+        int size = 100_000;
+        int operations = 200_000;
+        int[] xs = new int[operations];
+        int[] ys = new int[operations];
+        Random random = new Random(3);
+        for (int i = 0; i < operations; i++) {
+            xs[i] = random.nextInt(size);
+            ys[i] = random.nextInt(size);
+        }
+
+        UnionFind expected = new UnionFind(size);
+        for (int i = 0; i < operations; i++) {
+            expected.union(xs[i], ys[i]);
+        }
+
+        ConcurrentUnionFind concurrent = new ConcurrentUnionFind(size);
+        AtomicInteger successfulUnions = new AtomicInteger();
+        Thread[] workers = new Thread[4];
+        for (int t = 0; t < workers.length; t++) {
+            int offset = t;
+            workers[t] = new Thread(() -> {
+                for (int i = offset; i < operations; i += workers.length) {
+                    if (concurrent.union(xs[i], ys[i])) {
+                        successfulUnions.incrementAndGet();
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        // Each successful union removes exactly one set
+        assertEquals(size - expected.getSetCount(), successfulUnions.get());
+        for (int i = 0; i < 10_000; i++) {
+            int x = random.nextInt(size);
+            int y = random.nextInt(size);
+            assertEquals(expected.connected(x, y), concurrent.connected(x, y));
+        }
+    }
+}